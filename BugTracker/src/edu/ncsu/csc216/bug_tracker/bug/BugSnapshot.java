@@ -0,0 +1,189 @@
+package edu.ncsu.csc216.bug_tracker.bug;
+
+import java.util.List;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+import edu.ncsu.csc216.bug_tracker.xml.Bug;
+import edu.ncsu.csc216.bug_tracker.xml.NoteList;
+
+/**
+ * Unchangeable copy of a {@link TrackedBug} at one version.  Copies are
+ * only made when asked for or while a snapshot of the bug's list is
+ * being taken, so an idle bug holds none.  The list of notes is shared
+ * with the bug, which replaces the list rather than changing it.
+ *
+ * @author Josh Stetson
+ */
+public class BugSnapshot {
+
+	/** ID number of bug */
+	private int bugId;
+	/** Version of the bug that was copied */
+	private int version;
+	/** Name of the state of bug */
+	private String stateName;
+	/** Bug summary */
+	private String summary;
+	/** Bug reporter */
+	private String reporter;
+	/** Bug owner */
+	private String owner;
+	/** Number of votes for bug */
+	private int votes;
+	/** Confirmation status of bug */
+	private boolean confirmed;
+	/** Resolution status of bug */
+	private Resolution resolution;
+	/** Name of the resolution of bug, null unless resolved or closed */
+	private String resolutionString;
+	/** Notes for bug */
+	private List<String> notes;
+
+	/**
+	 * Constructor for BugSnapshot
+	 * Copies a bug that is not being updated
+	 * @param b TrackedBug to copy
+	 */
+	BugSnapshot(TrackedBug b) {
+		bugId = b.getBugId();
+		version = b.getVersion();
+		stateName = b.getState().getStateName();
+		summary = b.getSummary();
+		reporter = b.getReporter();
+		owner = b.getOwner();
+		votes = b.getVotes();
+		confirmed = b.isConfirmed();
+		resolution = b.getResolution();
+		resolutionString = b.getResolutionString();
+		notes = b.getNotes();
+	}
+
+	/**
+	 * Gets the ID of the bug
+	 * @return ID of bug
+	 */
+	public int getBugId() {
+		return bugId;
+	}
+
+	/**
+	 * Gets the version of the bug that was copied
+	 * @return Version of bug
+	 */
+	public int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Gets the name of the state of the bug
+	 * @return Name of state of bug
+	 */
+	public String getStateName() {
+		return stateName;
+	}
+
+	/**
+	 * Gets the summary of the bug
+	 * @return Summary of bug
+	 */
+	public String getSummary() {
+		return summary;
+	}
+
+	/**
+	 * Gets the reporter of the bug
+	 * @return Reporter of bug
+	 */
+	public String getReporter() {
+		return reporter;
+	}
+
+	/**
+	 * Gets the owner of the bug
+	 * @return Owner of bug
+	 */
+	public String getOwner() {
+		return owner;
+	}
+
+	/**
+	 * Gets the number of votes for the bug
+	 * @return Votes for bug
+	 */
+	public int getVotes() {
+		return votes;
+	}
+
+	/**
+	 * Gets the confirmation status of the bug
+	 * @return Confirmation status of bug
+	 */
+	public boolean isConfirmed() {
+		return confirmed;
+	}
+
+	/**
+	 * Gets the resolution of the bug (object)
+	 * @return Resolution of bug
+	 */
+	public Resolution getResolution() {
+		return resolution;
+	}
+
+	/**
+	 * Gets the name of the resolution of the bug (string)
+	 * @return Resolution of bug, or null unless the bug is resolved or closed
+	 */
+	public String getResolutionString() {
+		return resolutionString;
+	}
+
+	/**
+	 * Gets the notes for the bug (list)
+	 * @return Notes for bug, which cannot be changed
+	 */
+	public List<String> getNotes() {
+		return notes;
+	}
+
+	/**
+	 * Gets the string form of notes for the bug (string)
+	 * @return Notes for bug
+	 */
+	public String getNotesString() {
+		StringBuilder s = new StringBuilder();
+		for (String element : notes) {
+			s.append(element).append("\n------\n");
+		}
+		return s.toString();
+	}
+
+	/**
+	 * Converts the copy to an XML bug format
+	 * @return Bug in XML format
+	 */
+	public Bug getXMLBug() {
+		Bug b = new Bug();
+		b.setId(bugId);
+		b.setState(stateName);
+		if (summary != null) {
+			b.setSummary(summary);
+		}
+		if (reporter != null) {
+			b.setReporter(reporter);
+		}
+		if (owner != null) {
+			b.setOwner(owner);
+		}
+		b.setVotes(votes);
+		b.setConfirmed(confirmed);
+		if (resolutionString != null) {
+			b.setResolution(resolutionString);
+		}
+		NoteList n = new NoteList();
+		n.getNote().addAll(notes);
+		b.setNoteList(n);
+		return b;
+	}
+
+}
@@ -3,6 +3,11 @@ package edu.ncsu.csc216.bug_tracker.bug;
 /**
  * Interface for states in the Bug State Pattern.  All 
  * concrete bug states must implement the BugState interface.
+ * <p>
+ * One instance of each state is shared by every bug in it, so the state
+ * is told which bug to update.  This replaces the earlier
+ * {@code updateState(Command)}, which could not name the bug; callers of
+ * it must now pass the bug as well.
  * 
  * @author Dr. Sarah Heckman (sarah_heckman@ncsu.edu) 
  */
@@ -12,12 +17,14 @@ public interface BugState {
 	 * Update the {@link TrackedBug} based on the given {@link Command}.
 	 * An {@link UnsupportedOperationException} is throw if the {@link CommandValue}
 	 * is not a valid action for the given state.  
+	 * @param bug {@link TrackedBug} in this state that will be updated
 	 * @param c {@link Command} describing the action that will update the {@link TrackedBug}'s
 	 * state.
 	 * @throws UnsupportedOperationException if the {@link CommandValue} is not a valid action
 	 * for the given state.
+	 * @throws IllegalArgumentException if the bug is not in this state
 	 */
-	void updateState(Command c);
+	void updateState(TrackedBug bug, Command c);
 	
 	/**
 	 * Returns the name of the current state as a String.
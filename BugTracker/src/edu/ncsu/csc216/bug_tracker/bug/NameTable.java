@@ -0,0 +1,125 @@
+package edu.ncsu.csc216.bug_tracker.bug;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Gives each owner and reporter name a small int ID, so a bug stores
+ * two ints instead of two strings and bugs can be compared by owner
+ * without comparing strings.  Each name is kept once however many bugs
+ * use it.  A name keeps its ID for the life of the table, since a list
+ * has far fewer people than bugs.  Names can be read from any thread
+ * while new ones are added.
+ *
+ * @author Josh Stetson
+ */
+public class NameTable {
+
+	/** ID standing for no name */
+	public static final int NONE = -1;
+	/** IDs of the names, in order of name so names can be found by prefix */
+	private ConcurrentNavigableMap<String, Integer> ids;
+	/** Names by ID, followed by unused slots */
+	private volatile String[] names;
+	/** Number of names in the table */
+	private int size;
+
+	/**
+	 * Constructor for NameTable
+	 * Creates an empty table
+	 */
+	public NameTable() {
+		ids = new ConcurrentSkipListMap<String, Integer>();
+		names = new String[16];
+	}
+
+	/**
+	 * Gets the ID of a name, giving it the next ID if it is new
+	 * @param name name to look up, may be null
+	 * @return ID of the name, or {@link #NONE} if the name is null
+	 */
+	public int idOf(String name) {
+		if (name == null) {
+			return NONE;
+		}
+		Integer id = ids.get(name);
+		if (id != null) {
+			return id;
+		}
+		synchronized (this) {
+			id = ids.get(name);
+			if (id != null) {
+				return id;
+			}
+			String[] current = names;
+			if (size == current.length) {
+				current = Arrays.copyOf(current, size * 2);
+			}
+			current[size] = name;
+			names = current;
+			ids.put(name, size);
+			return size++;
+		}
+	}
+
+	/**
+	 * Gets the ID of a name without adding it
+	 * @param name name to look up, may be null
+	 * @return ID of the name, or {@link #NONE} if the name is null or
+	 * not in the table
+	 */
+	public int find(String name) {
+		if (name == null) {
+			return NONE;
+		}
+		Integer id = ids.get(name);
+		return id == null ? NONE : id;
+	}
+
+	/**
+	 * Gets the name with an ID
+	 * @param id ID of the name
+	 * @return name with the ID, or null if the ID is {@link #NONE}
+	 */
+	public String nameOf(int id) {
+		if (id == NONE) {
+			return null;
+		}
+		return names[id];
+	}
+
+	/**
+	 * Gets the IDs of every name starting with a prefix.  Only the names
+	 * that match are visited.
+	 * @param prefix start of the names
+	 * @return IDs of the names, in order of name
+	 */
+	public int[] idsWithPrefix(String prefix) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("Prefix cannot be null");
+		}
+		int[] found = new int[8];
+		int count = 0;
+		for (Map.Entry<String, Integer> entry : ids.tailMap(prefix).entrySet()) {
+			if (!entry.getKey().startsWith(prefix)) {
+				break;
+			}
+			if (count == found.length) {
+				found = Arrays.copyOf(found, count * 2);
+			}
+			found[count++] = entry.getValue();
+		}
+		return Arrays.copyOf(found, count);
+	}
+
+	/**
+	 * Gets the number of names in the table
+	 * @return number of names
+	 */
+	public int size() {
+		return ids.size();
+	}
+
+}
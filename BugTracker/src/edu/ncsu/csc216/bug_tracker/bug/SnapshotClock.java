@@ -0,0 +1,54 @@
+package edu.ncsu.csc216.bug_tracker.bug;
+
+/**
+ * Tells the bugs of a list whether a snapshot of the list is being taken.
+ * Each snapshot is given a new epoch while changes to the list are held
+ * off.  A bug that changes while the epoch is open first copies itself
+ * as it was, so the snapshot can still read the bug as it was when the
+ * epoch opened.  Bugs keep no copy while no snapshot is being taken.
+ *
+ * @author Josh Stetson
+ */
+public class SnapshotClock {
+
+	/** Epoch standing for no snapshot being taken */
+	public static final int NONE = 0;
+	/** Epoch of the snapshot being taken, or {@link #NONE} */
+	private volatile int open;
+	/** Last epoch handed out */
+	private int last;
+
+	/**
+	 * Opens a new epoch for a snapshot.  Only one epoch may be open at a
+	 * time, and changes to the bugs must be held off while it is opened.
+	 * @return epoch of the snapshot
+	 * @throws IllegalStateException if an epoch is already open
+	 */
+	public synchronized int open() {
+		if (open != NONE) {
+			throw new IllegalStateException("A snapshot is already being taken");
+		}
+		last++;
+		if (last == NONE) {
+			last++;
+		}
+		open = last;
+		return open;
+	}
+
+	/**
+	 * Closes the open epoch once every bug of the snapshot has been read
+	 */
+	public synchronized void close() {
+		open = NONE;
+	}
+
+	/**
+	 * Gets the epoch of the snapshot being taken
+	 * @return open epoch, or {@link #NONE} if no snapshot is being taken
+	 */
+	public int getOpenEpoch() {
+		return open;
+	}
+
+}
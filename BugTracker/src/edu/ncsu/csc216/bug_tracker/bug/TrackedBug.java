@@ -1,14 +1,22 @@
 package edu.ncsu.csc216.bug_tracker.bug;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
 import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
 import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
 import edu.ncsu.csc216.bug_tracker.xml.Bug;
-import edu.ncsu.csc216.bug_tracker.xml.NoteList;
 
 /**
  * Models a bug that is tracked by the system.  Contains all data 
- * related to a bugs status.
+ * related to a bugs status.  Updates are made one at a time while
+ * holding the bug's lock, and every field can be read from any thread
+ * without locking.  Each update that changes the bug increases its
+ * version, so a reader can tell whether the bug changed since it was read.
  * 
  * @author Josh Stetson
  */
@@ -17,21 +25,35 @@ public class TrackedBug {
 	/** ID number of bug */
 	private int bugId;
 	/** Current state of bug */
-	private BugState state;
+	private volatile State state;
 	/** Bug summary */
 	private String summary;
-	/** Bug reporter */
-	private String reporter;
-	/** Bug owner */
-	private String owner;
+	/** Table holding the names of the owner and reporter */
+	private NameTable names;
+	/** ID of the bug reporter in the name table */
+	private int reporter;
+	/** ID of the bug owner in the name table, or {@link NameTable#NONE} */
+	private volatile int owner;
 	/** Number of votes for bug */
-	private int votes;
+	private volatile int votes;
 	/** Confirmation status of bug */
-	private boolean confirmed;
+	private volatile boolean confirmed;
 	/** Resolution status of bug */
-	private Resolution resolution;
-	/** Notes for bug */
-	private ArrayList<String> notes;
+	private volatile Resolution resolution;
+	/** Notes for bug, replaced by a longer list when a note is added */
+	private volatile List<String> notes;
+	/** Listener notified of changes to the bug */
+	private volatile TrackedBugListener listener;
+	/** Number of updates that have changed the bug */
+	private volatile int version;
+	/** Whether the update in progress has changed the bug */
+	private boolean changed;
+	/** Clock of the snapshots of the bug's list, or null if it is in no list */
+	private volatile SnapshotClock clock;
+	/** Copy of the bug made by its first update after a snapshot's epoch opened */
+	private BugSnapshot preserved;
+	/** Epoch the bug was last copied or read for */
+	private int preservedEpoch;
 	/** Name of unconfirmed status */
 	public static final String UNCONFIRMED_NAME = "Unconfirmed";
 	/** Name of new status */
@@ -46,83 +68,78 @@ public class TrackedBug {
 	public static final String CLOSED_NAME = "Closed";
 	/** Number of votes needed for bug to exit unconfirmed status */
 	public static final int VOTE_THRESHOLD = 3;
-	/** Counter for number of bugs entered in list */
-	private static int counter = 0;
-	/** Unconfirmed state of bug */
-	private BugState unconfirmedState = new UnconfirmedState();
-	/** New state of bug */
-	private BugState newState = new NewState();
-	/** Assigned state of bug */
-	private BugState assignedState = new AssignedState();
-	/** Resolved state of bug */
-	private BugState resolvedState = new ResolvedState();
-	/** Reopened state of bug */
-	private BugState reopenState = new ReopenState();
-	/** Closed state of bug */
-	private BugState closedState = new ClosedState();
-	
-	/**
-	 * Constructor for a TrackedBug created by user
+	
+	/**
+	 * Constructor for a TrackedBug created by user, keeping its names in
+	 * the table of its list
+	 * @param bugId ID of the bug
 	 * @param summary summary entered by reporter
 	 * @param reporter person who reported the bug
+	 * @param names table holding the names of the list's bugs
+	 * @throws IllegalArgumentException if the name table is null
 	 */
-	public TrackedBug(String summary, String reporter) {
-		state = unconfirmedState;
+	public TrackedBug(int bugId, String summary, String reporter, NameTable names) {
+		if (names == null) {
+			throw new IllegalArgumentException("Name table cannot be null");
+		}
+		state = State.UNCONFIRMED;
 		votes = 1;
 		confirmed = false;
-		bugId = counter;
-		owner = null;
+		this.bugId = bugId;
+		this.names = names;
+		owner = NameTable.NONE;
 		this.summary = summary;
-		this.reporter = reporter;
+		this.reporter = names.idOf(reporter);
 		resolution = null;
-		notes = new ArrayList<String>();
+		notes = Collections.emptyList();
 	}
 	
 	/**
-	 * Constructor for a TrackedBug from an XML file
+	 * Constructor for a TrackedBug from an XML file, keeping its names in
+	 * the table of its list so the strings read from the file are dropped
 	 * @param b bug from XML file
+	 * @param idOffset amount added to the bug's ID in the file
+	 * @param names table holding the names of the list's bugs
+	 * @throws IllegalArgumentException if the name table is null
 	 */
-	public TrackedBug(Bug b) {
-		if (b.getState().equals(UNCONFIRMED_NAME)) {
-			state = unconfirmedState;
-		} else if (b.getState().equals(NEW_NAME)) {
-			state = newState;
-		} else if (b.getState().equals(ASSIGNED_NAME)) {
-			state = assignedState;
-		} else if (b.getState().equals(RESOLVED_NAME)) {
-			state = resolvedState;
-		} else if (b.getState().equals(REOPEN_NAME)) {
-			state = reopenState;
-		} else if (b.getState().equals(CLOSED_NAME)) {
-			state = closedState;
+	public TrackedBug(Bug b, int idOffset, NameTable names) {
+		if (names == null) {
+			throw new IllegalArgumentException("Name table cannot be null");
 		}
+		state = State.forName(b.getState());
 		votes = b.getVotes();
 		confirmed = b.isConfirmed();
-		bugId = b.getId() + counter;
-		owner = b.getOwner();
+		bugId = b.getId() + idOffset;
+		this.names = names;
+		owner = names.idOf(b.getOwner());
 		summary = b.getSummary();
-		reporter = b.getReporter();
-		b.setResolution(b.getResolution());
-		if (b.noteList != null) {
-			notes = (ArrayList<String>) b.getNoteList().getNote();
+		reporter = names.idOf(b.getReporter());
+		setResolution(b.getResolution());
+		if (b.noteList != null && !b.getNoteList().getNote().isEmpty()) {
+			notes = Collections.unmodifiableList(new ArrayList<String>(b.getNoteList().getNote()));
 		} else {
-			notes = new ArrayList<String>();
+			notes = Collections.emptyList();
 		}
 	}
 	
 	/**
-	 * Increments the TrackedBug counter
+	 * Sets the listener notified of changes to the bug
+	 * @param listener listener to notify, or null to stop notifying
 	 */
-	public static void incrementCounter() {
-		counter++;
+	public void setListener(TrackedBugListener listener) {
+		this.listener = listener;
 	}
 	
 	/**
-	 * Sets the TrackedBug counter to a value
-	 * @param counterValue value to set to counter
+	 * Sets the clock of the snapshots of the bug's list.  A bug added
+	 * while a snapshot is being taken is not in it, so it keeps no copy
+	 * for that snapshot.
+	 * @param clock clock of the list, or null if the bug is in no list
 	 */
-	public static void setCounter(int counterValue) {
-		counter = counterValue;
+	public synchronized void setSnapshotClock(SnapshotClock clock) {
+		this.clock = clock;
+		preserved = null;
+		preservedEpoch = clock == null ? SnapshotClock.NONE : clock.getOpenEpoch();
 	}
 	
 	/**
@@ -133,6 +150,15 @@ public class TrackedBug {
 		return bugId;
 	}
 	
+	/**
+	 * Gets the version of a bug.  The version starts at 0 and increases
+	 * by one for every update that changes the bug.
+	 * @return Version of bug
+	 */
+	public int getVersion() {
+		return version;
+	}
+	
 	/**
 	 * Gets the state of a bug
 	 * @return State of bug
@@ -154,7 +180,7 @@ public class TrackedBug {
 	 * @return Resolution of bug
 	 */
 	public String getResolutionString() {
-		if (state == closedState || state == resolvedState) {
+		if (state == State.CLOSED || state == State.RESOLVED) {
 			if (resolution.equals(Resolution.FIXED)) {
 				return Command.R_FIXED;
 			} else if (resolution.equals(Resolution.DUPLICATE)) {
@@ -173,6 +199,15 @@ public class TrackedBug {
 	 * @return Owner of bug
 	 */
 	public String getOwner() {
+		return names.nameOf(owner);
+	}
+	
+	/**
+	 * Gets the ID of the owner of a bug in its name table, so owners can
+	 * be compared without comparing strings
+	 * @return ID of the owner, or {@link NameTable#NONE} if there is none
+	 */
+	public int getOwnerId() {
 		return owner;
 	}
 	
@@ -189,14 +224,23 @@ public class TrackedBug {
 	 * @return Reporter of bug
 	 */
 	public String getReporter() {
+		return names.nameOf(reporter);
+	}
+	
+	/**
+	 * Gets the ID of the reporter of a bug in its name table
+	 * @return ID of the reporter, or {@link NameTable#NONE} if there is none
+	 */
+	public int getReporterId() {
 		return reporter;
 	}
 	
 	/**
-	 * Gets the notes for a bug (array list)
+	 * Gets the notes for a bug (list).  The list cannot be changed, and
+	 * adding a note replaces it, so it may be read while notes are added.
 	 * @return Notes for bug
 	 */
-	public ArrayList<String> getNotes() {
+	public List<String> getNotes() {
 		return notes;
 	}
 	
@@ -229,60 +273,212 @@ public class TrackedBug {
 	}
 	
 	/**
-	 * Gets a TrackedBug and converts it to an XML bug format
+	 * Gets an unchangeable copy of the bug at its current version
+	 * @return copy of the bug
+	 */
+	public synchronized BugSnapshot getSnapshot() {
+		return new BugSnapshot(this);
+	}
+	
+	/**
+	 * Gets an unchangeable copy of the bug as it was when a snapshot's
+	 * epoch opened.  If the bug has changed since, the copy it made before
+	 * the first change is returned and dropped.  Each bug is read once
+	 * for each epoch.
+	 * @param epoch epoch of the snapshot being taken
+	 * @return copy of the bug when the epoch opened
+	 */
+	public synchronized BugSnapshot getSnapshot(int epoch) {
+		BugSnapshot s = preserved;
+		if (s == null || preservedEpoch != epoch) {
+			s = new BugSnapshot(this);
+		}
+		preserved = null;
+		preservedEpoch = epoch;
+		return s;
+	}
+	
+	/**
+	 * Gets a TrackedBug and converts it to an XML bug format.  The bug
+	 * is not updated while it is converted.
 	 * @return Bug in XML format
 	 */
 	public Bug getXMLBug() {
-		Bug b = new Bug();
-		b.setId(this.getBugId());
-		b.setState(this.getState().getStateName());
-		if (this.getSummary() != null) {
-			b.setSummary(this.getSummary());
+		return getSnapshot().getXMLBug();
+	}
+	
+	/**
+	 * Updates the bug based on its current state and the user action.
+	 * Updates to the same bug from different threads run one at a time.
+	 * @param command Command sent from the GUI 
+	 */
+	public synchronized void update(Command command) {
+		preserve();
+		State oldState = state;
+		int oldOwner = owner;
+		int oldVotes = votes;
+		boolean wasConfirmed = confirmed;
+		Resolution oldResolution = resolution;
+		List<String> oldNotes = notes;
+		changed = false;
+		try {
+			state.apply(this, command);
+		} finally {
+			if (changed) {
+				version++;
+				notifyListener(oldState, oldOwner, oldVotes, wasConfirmed, oldResolution, oldNotes);
+			}
+		}
+	}
+	
+	/**
+	 * Tells the listener of each change an update made, once every field
+	 * of the bug has been written, so the listener never sees the bug
+	 * part way through a change
+	 * @param oldState state before the update
+	 * @param oldOwner ID of the owner before the update
+	 * @param oldVotes votes before the update
+	 * @param wasConfirmed whether the bug was confirmed before the update
+	 * @param oldResolution resolution before the update
+	 * @param oldNotes notes before the update
+	 */
+	private void notifyListener(State oldState, int oldOwner, int oldVotes, boolean wasConfirmed,
+			Resolution oldResolution, List<String> oldNotes) {
+		TrackedBugListener current = listener;
+		if (current == null) {
+			return;
+		}
+		for (int i = oldNotes.size(); i < notes.size(); i++) {
+			current.noteAdded(this, notes.get(i));
+		}
+		if (votes != oldVotes) {
+			current.votesChanged(this, oldVotes);
 		}
-		if (this.getReporter() != null) {
-			b.setReporter(this.getReporter());
+		if (owner != oldOwner) {
+			current.ownerChanged(this, names.nameOf(oldOwner));
 		}
-		if (this.getOwner() != null) {
-			b.setOwner(this.getOwner());
+		if (state != oldState) {
+			current.stateChanged(this, oldState);
 		}
-		b.setVotes(this.getVotes());
-		b.setConfirmed(this.isConfirmed());
-		if (this.getResolutionString() != null) {
-			b.setResolution(this.getResolutionString());
+		if (confirmed && !wasConfirmed) {
+			current.confirmedChanged(this);
 		}
-		NoteList n = new NoteList();
-		for (int i = 0; i < this.getNotes().size(); i++) {
-			n.getNote().add(this.getNotes().get(i));
+		if (resolution != oldResolution) {
+			current.resolutionChanged(this, oldResolution);
 		}
-		b.setNoteList(n);
-		return b;
 	}
 	
 	/**
-	 * Updates the bug based on its current state and the user action
-	 * @param command Command sent from the GUI 
+	 * Copies the bug as it is before its first update since a snapshot's
+	 * epoch opened, unless the snapshot has already read it
 	 */
-	public void update(Command command) {
-		state.updateState(command);
+	private void preserve() {
+		SnapshotClock current = clock;
+		int open = current == null ? SnapshotClock.NONE : current.getOpenEpoch();
+		if (open != SnapshotClock.NONE && preservedEpoch != open) {
+			preserved = new BugSnapshot(this);
+			preservedEpoch = open;
+		}
+	}
+	
+	/**
+	 * Updates the bug only if it has not changed since it was read at a
+	 * version.  The check and the update are made together, so no other
+	 * update can come between them.
+	 * @param command Command sent from the GUI
+	 * @param expectedVersion version of the bug when it was read
+	 * @return true if the bug was updated, false if its version has changed
+	 */
+	public synchronized boolean update(Command command, int expectedVersion) {
+		if (version != expectedVersion) {
+			return false;
+		}
+		update(command);
+		return true;
+	}
+	
+	/**
+	 * Checks whether a command can be applied to the bug in its current
+	 * state, without applying it.  The check never throws and allocates
+	 * nothing, so it can be used to filter many commands cheaply.  Another
+	 * update may change the state before the command is applied.  The
+	 * state's table decides whether the kind of command is accepted, and
+	 * a possession or resolution must also name a developer or resolution.
+	 * @param command command to check, may be null
+	 * @return true if {@link #update(Command)} would apply the command
+	 */
+	public boolean canApply(Command command) {
+		State current = state;
+		if (command == null || current == null || !current.accepts(command.getCommand())) {
+			return false;
+		}
+		switch (command.getCommand()) {
+		case POSSESSION:
+			return command.getDeveloperId() != null && !command.getDeveloperId().isEmpty();
+		case RESOLVED:
+			return command.getResolution() != null;
+		default:
+			return true;
+		}
+	}
+	
+	/**
+	 * Gets the kinds of command the bug accepts in its current state.  The
+	 * set is shared by every bug in the state and cannot be changed.
+	 * @return kinds of command accepted
+	 */
+	public Set<CommandValue> getAvailableCommands() {
+		State current = state;
+		if (current != null) {
+			return current.available;
+		}
+		return Collections.emptySet();
 	}
 	
 	/**
 	 * Sets the state of a bug
-	 * @param stateString Name of the state to which the bug is assigned
-	 */
-	private void setState(String stateString) {
-		if (stateString.equals(UNCONFIRMED_NAME)) {
-			state = unconfirmedState;
-		} else if (stateString.equals(NEW_NAME)) {
-			state = newState;
-		} else if (stateString.equals(ASSIGNED_NAME)) {
-			state = assignedState;
-		} else if (stateString.equals(RESOLVED_NAME)) {
-			state = resolvedState;
-		} else if (stateString.equals(REOPEN_NAME)) {
-			state = reopenState;
-		} else if (stateString.equals(CLOSED_NAME)) {
-			state = closedState;
+	 * @param newState State to which the bug is moved
+	 */
+	private void setState(State newState) {
+		state = newState;
+		changed = true;
+	}
+	
+	/**
+	 * Sets the owner of a bug
+	 * @param ownerString Name of the developer who owns the bug
+	 */
+	private void setOwner(String ownerString) {
+		owner = names.idOf(ownerString);
+		changed = true;
+	}
+	
+	/**
+	 * Adds a note to a bug
+	 * @param note Text of the note
+	 */
+	private void addNote(String note) {
+		String[] added = notes.toArray(new String[notes.size() + 1]);
+		added[added.length - 1] = note;
+		notes = Collections.unmodifiableList(Arrays.asList(added));
+		changed = true;
+	}
+	
+	/**
+	 * Adds a vote to a bug
+	 */
+	private void addVote() {
+		votes++;
+		changed = true;
+	}
+	
+	/**
+	 * Marks a bug as confirmed
+	 */
+	private void confirm() {
+		if (!confirmed) {
+			confirmed = true;
+			changed = true;
 		}
 	}
 	
@@ -302,221 +498,186 @@ public class TrackedBug {
 			} else if (resolutionString.equals(Command.R_WORKSFORME)) {
 				resolution = Resolution.WORKSFORME;
 			}
+			changed = true;
 	}
 	
 	/**
-	 * Inner class that handles transitions starting from the UnconfirmedState
+	 * States of a bug.  Each state holds no data of its own and works on
+	 * the bug passed to it, so every bug shares the same six states.  The
+	 * lifecycle is a table: each state lists the commands it accepts, and
+	 * each command does the same thing from every state that accepts it,
+	 * with guards on the votes, owner and resolution picking the state
+	 * the bug moves to.
 	 * 
 	 * @author Josh Stetson
 	 */
-	private class UnconfirmedState implements BugState {
-
-		public void updateState(Command c) {
-			if (c.getCommand() != CommandValue.VOTE && c.getCommand() != CommandValue.CONFIRM) {
-				throw new UnsupportedOperationException();
-			}
-			if (c.getNote() != null) {
-				notes.add(c.getNote());
-			}
-			if (c.getCommand() == CommandValue.VOTE) {
-				votes++;
-				if (votes >= VOTE_THRESHOLD) {
-					if (owner == null) {
-						setState(NEW_NAME);
-					} else {
-						setState(ASSIGNED_NAME);			
-					}
-				}
-			}
-			if (c.getCommand() == CommandValue.CONFIRM) {
-				if (owner == null) {
-					setState(NEW_NAME);	
-				} else {
-					if (c.getDeveloperId() != null) {
-						setState(ASSIGNED_NAME);
-					}
-				}
-				confirmed = true;
+	private enum State implements BugState {
+		
+		/** Waiting for votes or confirmation */
+		UNCONFIRMED(UNCONFIRMED_NAME, CommandValue.VOTE, CommandValue.CONFIRM),
+		/** Confirmed and waiting for an owner */
+		NEW(NEW_NAME, CommandValue.POSSESSION),
+		/** Owned by a developer */
+		ASSIGNED(ASSIGNED_NAME, CommandValue.RESOLVED),
+		/** Fixed and waiting to be verified */
+		RESOLVED(RESOLVED_NAME, CommandValue.VERIFIED, CommandValue.REOPEN),
+		/** Reopened after being resolved or closed */
+		REOPEN(REOPEN_NAME, CommandValue.POSSESSION, CommandValue.RESOLVED),
+		/** Verified or closed without a fix */
+		CLOSED(CLOSED_NAME, CommandValue.REOPEN);
+		
+		/** Name of the state */
+		private final String stateName;
+		/** Commands the state accepts, as bits indexed by {@link CommandValue} ordinal */
+		private final int accepted;
+		/** Commands the state accepts, which cannot be changed */
+		private final Set<CommandValue> available;
+		
+		/**
+		 * Constructor for State
+		 * @param stateName name of the state
+		 * @param commands commands the state accepts
+		 */
+		private State(String stateName, CommandValue... commands) {
+			this.stateName = stateName;
+			int bits = 0;
+			for (CommandValue cv : commands) {
+				bits |= 1 << cv.ordinal();
 			}
+			accepted = bits;
+			available = Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(commands)));
 		}
-
+		
 		public String getStateName() {
-			return UNCONFIRMED_NAME;
-		}
-	}
-	
-	/**
-	 * Inner class that handles transitions starting from the NewState
-	 * 
-	 * @author Josh Stetson
-	 */
-	private class NewState implements BugState {
-
-		public void updateState(Command c) {
-			if (c.getCommand() != CommandValue.POSSESSION) {
-				throw new UnsupportedOperationException();
-			}
-			if (c.getNote() != null) {
-				notes.add(c.getNote());
-			}
-			if (c.getCommand() == CommandValue.POSSESSION && c.getDeveloperId() != null) {
-				owner = c.getDeveloperId();
-				setState(ASSIGNED_NAME);
-			} else {
-				throw new IllegalArgumentException("Developer ID cannot be null");
-			}
+			return stateName;
 		}
-
-		public String getStateName() {
-			return NEW_NAME;
+		
+		/**
+		 * Checks whether the state accepts a kind of command
+		 * @param cv kind of command
+		 * @return true if the state accepts it
+		 */
+		private boolean accepts(CommandValue cv) {
+			return (accepted & (1 << cv.ordinal())) != 0;
 		}
-	}
-	
-	/**
-	 * Inner class that handles transitions starting from the AssignedState
-	 * 
-	 * @author Josh Stetson
-	 */
-	private class AssignedState implements BugState {
-
-		public void updateState(Command c) {
-			if (c.getCommand() != CommandValue.RESOLVED) {
-				throw new UnsupportedOperationException();
-			}
-			if (c.getNote() != null) {
-				notes.add(c.getNote());
-			}
-			Resolution r = c.getResolution();
-			if (c.getCommand() == CommandValue.RESOLVED) {
-				if (r == null) {
-					throw new IllegalArgumentException("Resolution cannot be null");
-				} else {
-					if (r == Resolution.FIXED) {
-						setState(RESOLVED_NAME);
-						setResolution(Command.R_FIXED);
-					} else {
-						setState(CLOSED_NAME);
-						if (r == Resolution.DUPLICATE) {
-							setResolution(Command.R_DUPLICATE);
-						} else if (r == Resolution.WONTFIX) {
-							setResolution(Command.R_WONTFIX);
-						} else if (r == Resolution.WORKSFORME) {
-							setResolution(Command.R_WORKSFORME);
-						}
-					}
+		
+		/**
+		 * Updates a bug in this state through {@link TrackedBug#update(Command)},
+		 * so the bug is locked, versioned and its listener told as usual
+		 * @param bug TrackedBug in this state that will be updated
+		 * @param c command describing the action
+		 * @throws UnsupportedOperationException if the state does not accept
+		 * the command
+		 * @throws IllegalArgumentException if the bug is not in this state
+		 */
+		public void updateState(TrackedBug bug, Command c) {
+			synchronized (bug) {
+				if (bug.state != this) {
+					throw new IllegalArgumentException("Bug is not in the " + stateName + " state");
 				}
+				bug.update(c);
 			}
 		}
-
-		public String getStateName() {
-			return ASSIGNED_NAME;
-		}
-	}
-	
-	/**
-	 * Inner class that handles transitions starting from the ResolvedState
-	 * 
-	 * @author Josh Stetson
-	 */
-	private class ResolvedState implements BugState {
-
-		public void updateState(Command c) {
-			if (c.getCommand() != CommandValue.VERIFIED && c.getCommand() != CommandValue.REOPEN) {
+		
+		/**
+		 * Updates a bug in this state based on a command.  Called by
+		 * {@link TrackedBug#update(Command)} while it holds the bug's lock.
+		 * @param bug TrackedBug in this state that will be updated
+		 * @param c command describing the action
+		 * @throws UnsupportedOperationException if the state does not accept
+		 * the command
+		 * @throws IllegalArgumentException if the command lacks the developer
+		 * or resolution it needs
+		 */
+		private void apply(TrackedBug bug, Command c) {
+			if (!accepts(c.getCommand())) {
 				throw new UnsupportedOperationException();
 			}
-			if (c.getNote() != null) {
-				notes.add(c.getNote());
+			if (!bug.canApply(c)) {
+				throw new IllegalArgumentException(c.getCommand() == CommandValue.POSSESSION
+						? "Developer ID cannot be null" : "Resolution cannot be null");
 			}
-			if (c.getCommand() == CommandValue.VERIFIED) {
-				setState(CLOSED_NAME);
+			if (c.getNote() != null) {
+				bug.addNote(c.getNote());
 			}
-			if (c.getCommand() == CommandValue.REOPEN) {
-				if (isConfirmed()) {
-					setState(REOPEN_NAME);
-				} else {
-					setState(UNCONFIRMED_NAME);
+			switch (c.getCommand()) {
+			case VOTE:
+				bug.addVote();
+				if (bug.votes >= VOTE_THRESHOLD) {
+					bug.setState(bug.owner == NameTable.NONE ? NEW : ASSIGNED);
+				}
+				break;
+			case CONFIRM:
+				if (bug.owner == NameTable.NONE) {
+					bug.setState(NEW);
+				} else if (c.getDeveloperId() != null) {
+					bug.setState(ASSIGNED);
 				}
-				setResolution(null);
+				bug.confirm();
+				break;
+			case POSSESSION:
+				bug.setOwner(c.getDeveloperId());
+				bug.setState(ASSIGNED);
+				break;
+			case RESOLVED:
+				resolve(bug, c.getResolution());
+				break;
+			case VERIFIED:
+				bug.setState(CLOSED);
+				break;
+			default:
+				reopen(bug);
+				break;
 			}
 		}
-
-		public String getStateName() {
-			return RESOLVED_NAME;
-		}
-	}
-	
-	/**
-	 * Inner class that handles transitions starting from the ReopenState
-	 * 
-	 * @author Josh Stetson
-	 */
-	private class ReopenState implements BugState {
-
-		public void updateState(Command c) {
-			if (c.getCommand() != CommandValue.POSSESSION && c.getCommand() != CommandValue.RESOLVED) {
-				throw new UnsupportedOperationException();
-			}
-			if (c.getNote() != null) {
-				notes.add(c.getNote());
-			}
-			Resolution r = c.getResolution();
-			if (c.getCommand() == CommandValue.POSSESSION) {
-				setState(ASSIGNED_NAME);
-				owner = c.getDeveloperId();
-			}
-			if (c.getCommand() == CommandValue.RESOLVED) {
-				if(r == Resolution.FIXED) {
-					setState(RESOLVED_NAME);
-					setResolution(Command.R_FIXED);
-				} else {
-					setState(CLOSED_NAME);
-					if (r == Resolution.DUPLICATE) {
-						setResolution(Command.R_DUPLICATE);
-					} else if (r == Resolution.WONTFIX) {
-						setResolution(Command.R_WONTFIX);
-					} else if (r == Resolution.WORKSFORME) {
-						setResolution(Command.R_WORKSFORME);
-					}
+		
+		/**
+		 * Finds the state with a name
+		 * @param name name of the state
+		 * @return state with the name, or null if there is none
+		 */
+		private static State forName(String name) {
+			for (State s : values()) {
+				if (s.stateName.equals(name)) {
+					return s;
 				}
 			}
+			return null;
 		}
-
-		public String getStateName() {
-			return REOPEN_NAME;
-		}
-	}
-	
-	/**
-	 * Inner class that handles transitions starting from the ClosedState
-	 * 
-	 * @author Josh Stetson
-	 */
-	private class ClosedState implements BugState {
-
-		public void updateState(Command c) {
-			if (c.getCommand() != CommandValue.REOPEN) {
-				throw new UnsupportedOperationException();
-			}
-			if (c.getNote() != null) {
-				notes.add(c.getNote());
-			}
-			if (c.getCommand() == CommandValue.REOPEN) {
-				if (isConfirmed()) {
-					setState(REOPEN_NAME);
-				} else {
-					setState(UNCONFIRMED_NAME);
+		
+		/**
+		 * Resolves a bug, closing it unless it was fixed
+		 * @param bug bug to resolve
+		 * @param r resolution of the bug
+		 */
+		private static void resolve(TrackedBug bug, Resolution r) {
+			if (r == Resolution.FIXED) {
+				bug.setState(RESOLVED);
+				bug.setResolution(Command.R_FIXED);
+			} else {
+				bug.setState(CLOSED);
+				if (r == Resolution.DUPLICATE) {
+					bug.setResolution(Command.R_DUPLICATE);
+				} else if (r == Resolution.WONTFIX) {
+					bug.setResolution(Command.R_WONTFIX);
+				} else if (r == Resolution.WORKSFORME) {
+					bug.setResolution(Command.R_WORKSFORME);
 				}
-				setResolution(null);
 			}
 		}
-
-		public String getStateName() {
-			return CLOSED_NAME;
+		
+		/**
+		 * Reopens a bug, sending it back to be confirmed if it never was
+		 * @param bug bug to reopen
+		 */
+		private static void reopen(TrackedBug bug) {
+			if (bug.isConfirmed()) {
+				bug.setState(REOPEN);
+			} else {
+				bug.setState(UNCONFIRMED);
+			}
+			bug.setResolution(null);
 		}
 	}
 	
-}
-
-
-
-
+}
\ No newline at end of file
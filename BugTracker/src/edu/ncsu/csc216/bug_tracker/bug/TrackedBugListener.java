@@ -0,0 +1,56 @@
+package edu.ncsu.csc216.bug_tracker.bug;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+
+/**
+ * Interface for objects that keep track of changes made to a
+ * {@link TrackedBug} while it moves through its states.  A
+ * {@link TrackedBug} notifies its listener of each change once the
+ * update that made it has finished writing the bug.
+ *
+ * @author Josh Stetson
+ */
+public interface TrackedBugListener {
+
+	/**
+	 * Called after the owner of a {@link TrackedBug} has changed.
+	 * @param bug {@link TrackedBug} whose owner changed
+	 * @param oldOwner owner of the bug before the change, may be null
+	 */
+	void ownerChanged(TrackedBug bug, String oldOwner);
+	
+	/**
+	 * Called after a {@link TrackedBug} has moved to a new state.
+	 * @param bug {@link TrackedBug} whose state changed
+	 * @param oldState state of the bug before the change
+	 */
+	void stateChanged(TrackedBug bug, BugState oldState);
+	
+	/**
+	 * Called after a note has been added to a {@link TrackedBug}.
+	 * @param bug {@link TrackedBug} the note was added to
+	 * @param note text of the new note
+	 */
+	void noteAdded(TrackedBug bug, String note);
+	
+	/**
+	 * Called after the number of votes for a {@link TrackedBug} has changed.
+	 * @param bug {@link TrackedBug} that was voted for
+	 * @param oldVotes number of votes before the change
+	 */
+	void votesChanged(TrackedBug bug, int oldVotes);
+	
+	/**
+	 * Called after a {@link TrackedBug} has been confirmed.
+	 * @param bug {@link TrackedBug} that was confirmed
+	 */
+	void confirmedChanged(TrackedBug bug);
+	
+	/**
+	 * Called after the resolution of a {@link TrackedBug} has changed.
+	 * @param bug {@link TrackedBug} whose resolution changed
+	 * @param oldResolution resolution of the bug before the change, may be null
+	 */
+	void resolutionChanged(TrackedBug bug, Resolution oldResolution);
+
+}
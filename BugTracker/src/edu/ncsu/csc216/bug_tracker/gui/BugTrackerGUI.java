@@ -7,7 +7,21 @@ import java.awt.Dimension;
 import java.awt.GridLayout;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JButton;
 import javax.swing.JComboBox;
@@ -24,22 +38,36 @@ import javax.swing.JTable;
 import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.ProgressMonitor;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.AbstractTableModel;
 
+import edu.ncsu.csc216.bug_tracker.bug.BugSnapshot;
 import edu.ncsu.csc216.bug_tracker.bug.Command;
 import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
 import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+import edu.ncsu.csc216.bug_tracker.tracker.BugEvent;
+import edu.ncsu.csc216.bug_tracker.tracker.BugIdList;
+import edu.ncsu.csc216.bug_tracker.tracker.BugOrder;
 import edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel;
+import edu.ncsu.csc216.bug_tracker.tracker.CommandBatch;
+import edu.ncsu.csc216.bug_tracker.tracker.ProgressListener;
 
 /**
  * Container for the BugTracker that has the menu options for new bug 
  * tracking files, loading existing files, saving files and quitting.
  * Depending on user actions, other {@link JPanel}s are loaded for the
- * different ways users interact with the UI.
+ * different ways users interact with the UI.  The class is final, as
+ * its constructor shows the frame and hands it to listeners before a
+ * subclass could finish setting itself up.
  * 
  * @author Dr. Sarah Heckman (heckman@csc.ncsu.edu)
  */
-public class BugTrackerGUI extends JFrame implements ActionListener {
+public final class BugTrackerGUI extends JFrame implements ActionListener {
 	
 	/** ID number used for object serialization. */
 	private static final long serialVersionUID = 1L;
@@ -178,7 +206,7 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 	 * @param e user event that triggers an action.
 	 */
 	public void actionPerformed(ActionEvent e) {
-		//Use BugTrackerModel's singleton to create/get the sole instance.
+		//Use the default BugTrackerModel of the application's registry.
 		BugTrackerModel model = BugTrackerModel.getInstance();
 		if (e.getSource() == itemNewBugXML) {
 			//Create a new bug list
@@ -189,41 +217,46 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 			validate();
 			repaint();			
 		} else if (e.getSource() == itemLoadBugXML) {
-			//Load an existing bug list
+			//Load an existing bug list in the background.  The table
+			//shows the bugs as each batch is added.
 			try {
-				model.loadBugsFromFile(getFileName());
-				itemSaveBugXML.setEnabled(true);
-				pnlBugList.updateTable(null);
+				String fileName = getFileName();
 				cardLayout.show(panel, BUG_LIST_PANEL);
 				validate();
 				repaint();
-			} catch (IllegalArgumentException exp) {
-				JOptionPane.showMessageDialog(this, "Unable to load bug file.");
+				new FileWorker(fileName, true, false).execute();
 			} catch (IllegalStateException exp) {
 				//Don't do anything - user canceled (or error)
 			}
 		} else if (e.getSource() == itemSaveBugXML) {
-			//Save current bug list
+			//Save current bug list in the background
 			try {
-				model.saveBugsToFile(getFileName());
-			} catch (IllegalArgumentException exp) {
-				JOptionPane.showMessageDialog(this, "Unable to save bug file.");
+				new FileWorker(getFileName(), false, false).execute();
 			} catch (IllegalStateException exp) {
 				//Don't do anything - user canceled (or error)
 			}
 		} else if (e.getSource() == itemQuit) {
-			//Quit the program
+			//Quit the program once the bug list is saved
 			try {
-				model.saveBugsToFile(getFileName());
-				System.exit(0);  //Ignore FindBugs warning here - this is the only place to quit the program!
-			} catch (IllegalArgumentException exp) {
-				JOptionPane.showMessageDialog(this, "Unable to save bug file.");
+				new FileWorker(getFileName(), false, true).execute();
 			} catch (IllegalStateException exp) {
 				//Don't do anything - user canceled (or error)
 			}
 		}
 	}
 	
+	/**
+	 * Enables or disables the menu items that start or need a load or save
+	 * @param enabled true to enable the items
+	 * @param saveEnabled true to enable the save item as well
+	 */
+	private void setFileItemsEnabled(boolean enabled, boolean saveEnabled) {
+		itemNewBugXML.setEnabled(enabled);
+		itemLoadBugXML.setEnabled(enabled);
+		itemSaveBugXML.setEnabled(enabled && saveEnabled);
+		itemQuit.setEnabled(enabled);
+	}
+	
 	/**
 	 * Returns a file name generated through interactions with a {@link JFileChooser}
 	 * object.
@@ -240,6 +273,145 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 		return gameFile.getAbsolutePath();
 	}
 
+	/**
+	 * Executes a batch of commands and tells the user about the first
+	 * command that could not be applied.
+	 * @param batch commands to execute
+	 */
+	private void executeCommands(CommandBatch batch) {
+		BugTrackerModel.getInstance().executeCommands(batch);
+		for (int i = 0; i < batch.size(); i++) {
+			if (batch.getOutcome(i) == CommandBatch.Outcome.NOT_FOUND) {
+				JOptionPane.showMessageDialog(this, "Invalid bug id");
+				return;
+			} else if (batch.getOutcome(i) == CommandBatch.Outcome.INVALID_TRANSITION) {
+				JOptionPane.showMessageDialog(this, "Invalid state transition");
+				return;
+			} else if (batch.getOutcome(i) == CommandBatch.Outcome.INVALID_COMMAND) {
+				JOptionPane.showMessageDialog(this, "Invalid command");
+				return;
+			} else if (batch.getOutcome(i) == CommandBatch.Outcome.CONFLICT) {
+				JOptionPane.showMessageDialog(this, "Bug was changed by another user");
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Loads or saves a bug file off the event dispatch thread, showing how
+	 * far it has got in a {@link ProgressMonitor}.  The monitor is checked
+	 * for a cancel on a timer, so a cancel is seen even while no progress
+	 * is being reported.  Cancelling closes the monitor at once and stops
+	 * the work at the next batch: a load removes the bugs it added and a
+	 * save writes no file.  The File menu is disabled until the work is
+	 * done or cancelled.
+	 *
+	 * @author Josh Stetson
+	 */
+	private class FileWorker extends SwingWorker<Boolean, Void> implements ProgressListener {
+		
+		/** Milliseconds between checks of whether the user has cancelled */
+		private static final int CANCEL_POLL = 100;
+		/** File to load or save */
+		private String fileName;
+		/** Whether the file is loaded rather than saved */
+		private boolean load;
+		/** Whether to quit the program once the file is saved */
+		private boolean quit;
+		/** Whether the save menu item was enabled before the work started */
+		private boolean saveEnabled;
+		/** Shows the progress and lets the user cancel */
+		private ProgressMonitor monitor;
+		/** Set once the user cancels the monitor */
+		private volatile boolean stopped;
+		/** Checks the monitor for a cancel until the work is done */
+		private Timer cancelPoll;
+		
+		/**
+		 * Constructor for FileWorker
+		 * @param fileName file to load or save
+		 * @param load true to load the file, false to save it
+		 * @param quit true to quit the program once the file is saved
+		 */
+		public FileWorker(String fileName, boolean load, boolean quit) {
+			this.fileName = fileName;
+			this.load = load;
+			this.quit = quit;
+			saveEnabled = itemSaveBugXML.isEnabled();
+			setFileItemsEnabled(false, saveEnabled);
+			monitor = new ProgressMonitor(BugTrackerGUI.this, (load ? "Loading " : "Saving ") + fileName, null, 0, 100);
+			addPropertyChangeListener(new PropertyChangeListener() {
+				public void propertyChange(PropertyChangeEvent evt) {
+					if ("progress".equals(evt.getPropertyName())) {
+						monitor.setProgress(getProgress());
+					}
+				}
+			});
+			cancelPoll = new Timer(CANCEL_POLL, new ActionListener() {
+				public void actionPerformed(ActionEvent e) {
+					if (monitor.isCanceled() && !stopped) {
+						stopped = true;
+						cancel(true);
+					}
+				}
+			});
+			cancelPoll.start();
+		}
+		
+		/**
+		 * Loads or saves the file
+		 * @return true if the work was done, false if it was stopped
+		 */
+		@Override
+		protected Boolean doInBackground() {
+			if (load) {
+				BugTrackerModel.getInstance().loadBugsFromFile(fileName, this);
+				return !stopped;
+			}
+			return BugTrackerModel.getInstance().saveBugsToFile(fileName, this);
+		}
+		
+		/**
+		 * Reports the progress to the monitor
+		 * @param done number of bugs handled so far
+		 * @param total number of bugs to handle
+		 * @return false once the user has cancelled
+		 */
+		public boolean progress(int done, int total) {
+			setProgress(total == 0 ? 100 : (int) (done * 100L / total));
+			return !stopped;
+		}
+		
+		/**
+		 * Closes the monitor, enables the menu again and tells the user
+		 * if the file could not be loaded or saved.  Called as soon as the
+		 * user cancels, while the work still stops in the background.
+		 */
+		@Override
+		protected void done() {
+			cancelPoll.stop();
+			monitor.close();
+			boolean finished = false;
+			try {
+				finished = get();
+			} catch (CancellationException e) {
+				//Cancelled by the user - the work stops at its next batch
+			} catch (InterruptedException e) {
+				//Not interrupted - done() is only called once the work has ended
+			} catch (ExecutionException e) {
+				JOptionPane.showMessageDialog(BugTrackerGUI.this, load ? "Unable to load bug file." : "Unable to save bug file.");
+			}
+			setFileItemsEnabled(true, saveEnabled || (load && finished));
+			if (finished && load) {
+				pnlBugList.updateTable(null);
+				validate();
+				repaint();
+			} else if (finished && quit) {
+				System.exit(0);  //Ignore FindBugs warning here - this is the only place to quit the program!
+			}
+		}
+	}
+
 	/**
 	 * Starts the GUI for the BugTracker application.
 	 * @param args command line arguments
@@ -263,8 +435,14 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 		private JButton btnDeleteBug;
 		/** Button for editing the selected bug in the list */
 		private JButton btnEditBug;
-		/** Text field for a user to enter an owner name to filter bug list */
+		/** Milliseconds to wait after the last keystroke before filtering */
+		private static final int FILTER_DELAY = 150;
+		/** Text field for a user to enter the start of an owner name to filter bug list */
 		private JTextField txtFilterByOwner;
+		/** Filters the list once the user stops typing for a moment */
+		private Timer filterTimer;
+		/** Lookup of the bugs for the latest filter, or null if none is running */
+		private SwingWorker<int[], Void> filterQuery;
 		/** Button for starting filter of list by owner */
 		private JButton btnFilterByOwner;
 		/** Button that will show all bugs that are currently tracked */
@@ -288,6 +466,23 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 			btnEditBug = new JButton("Edit Selected Bug");
 			btnEditBug.addActionListener(this);
 			txtFilterByOwner = new JTextField(10);
+			filterTimer = new Timer(FILTER_DELAY, new ActionListener() {
+				public void actionPerformed(ActionEvent e) {
+					filterByOwner();
+				}
+			});
+			filterTimer.setRepeats(false);
+			txtFilterByOwner.getDocument().addDocumentListener(new DocumentListener() {
+				public void insertUpdate(DocumentEvent e) {
+					filterTimer.restart();
+				}
+				public void removeUpdate(DocumentEvent e) {
+					filterTimer.restart();
+				}
+				public void changedUpdate(DocumentEvent e) {
+					filterTimer.restart();
+				}
+			});
 			btnFilterByOwner = new JButton("Filter List by Owner");
 			btnFilterByOwner.addActionListener(this);
 			btnShowAllBugs = new JButton("Show All Bugs");
@@ -308,6 +503,16 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 			table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
 			table.setPreferredScrollableViewportSize(new Dimension(500, 500));
 			table.setFillsViewportHeight(true);
+			table.getTableHeader().addMouseListener(new MouseAdapter() {
+				public void mouseClicked(MouseEvent e) {
+					int col = table.convertColumnIndexToModel(table.columnAtPoint(e.getPoint()));
+					if (col >= 0) {
+						bugTableModel.sortBy(col);
+						updateSortHeader();
+					}
+				}
+			});
+			updateSortHeader();
 			
 			JScrollPane listScrollPane = new JScrollPane(table);
 			
@@ -377,9 +582,8 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 					}
 				}
 			} else if (e.getSource() == btnFilterByOwner) {
-				String owner = txtFilterByOwner.getText();
-				txtFilterByOwner.setText("");
-				updateTable(owner);
+				filterTimer.stop();
+				filterByOwner();
 			} else if (e.getSource() == btnShowAllBugs) {
 				updateTable(null);
 			}
@@ -387,34 +591,121 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 			BugTrackerGUI.this.validate();
 		}
 		
+		/**
+		 * Shows every bug, or only the bugs whose owner starts with some
+		 * text, and puts that text in the filter field.  The table follows
+		 * changes to the bugs on its own, so it is only rebuilt when the
+		 * bugs it shows are changed to a different owner or to all bugs.
+		 * @param owner start of the owner names shown, or null for all bugs
+		 */
 		public void updateTable(String owner) {
-			if (owner == null) {
+			txtFilterByOwner.setText(owner == null ? "" : owner);
+			filterTimer.stop();
+			filterByOwner();
+		}
+		
+		/**
+		 * Marks the header of the column the table is sorted by with the
+		 * direction of the sort.
+		 */
+		private void updateSortHeader() {
+			for (int col = 0; col < bugTableModel.getColumnCount(); col++) {
+				String name = bugTableModel.getColumnName(col);
+				if (col == bugTableModel.getSortColumn()) {
+					name += bugTableModel.isSortDescending() ? " \u25BC" : " \u25B2";
+				}
+				table.getColumnModel().getColumn(table.convertColumnIndexToView(col)).setHeaderValue(name);
+			}
+			table.getTableHeader().repaint();
+		}
+		
+		/**
+		 * Filters the table by the text in the filter field.  The bugs are
+		 * looked up in the owner index off the event thread, and a lookup
+		 * still running for earlier text is cancelled so that only the
+		 * latest text is shown.  An empty field shows every bug.
+		 */
+		private void filterByOwner() {
+			if (filterQuery != null) {
+				filterQuery.cancel(true);
+				filterQuery = null;
+			}
+			final String prefix = txtFilterByOwner.getText();
+			if (prefix.isEmpty()) {
 				bugTableModel.updateBugData();
-			} else {
-				bugTableModel.updateBugDataWithOwner(owner);
+				return;
 			}
+			filterQuery = new SwingWorker<int[], Void>() {
+				@Override
+				protected int[] doInBackground() {
+					return BugTrackerModel.getInstance().getBugIdsByOwnerPrefix(prefix);
+				}
+				
+				@Override
+				protected void done() {
+					if (isCancelled() || filterQuery != this) {
+						return;
+					}
+					filterQuery = null;
+					try {
+						bugTableModel.updateBugDataWithOwner(prefix, get());
+					} catch (InterruptedException e) {
+						//Not interrupted - done() is only called once the lookup has ended
+					} catch (ExecutionException e) {
+						bugTableModel.updateBugData();
+					}
+				}
+			};
+			filterQuery.execute();
 		}
 		
 		/**
 		 * {@link BugTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link TrackedBug}s to the user.
+		 * the list of {@link TrackedBug}s to the user.  It only keeps the IDs of the bugs shown
+		 * and reads each value from the {@link BugTrackerModel} when the table asks for it.
+		 * It subscribes to the changes made to the {@link BugTrackerModel} and applies each one
+		 * to the row of the bug that changed, so editing one bug updates one row instead of the
+		 * whole table.  Rows can be sorted by any column.  The order for a column is built the
+		 * first time the table is sorted by it and then kept up to date as bugs change, so
+		 * sorting by it again or reversing the sort does not sort the bugs again.
 		 * @author Dr. Sarah Heckman (heckman@csc.ncsu.edu)
 		 */
-		private class BugTableModel extends AbstractTableModel {
+		private class BugTableModel extends AbstractTableModel implements Flow.Subscriber<BugEvent> {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
+			/** Number of waiting changes above which the table is rebuilt instead */
+			private static final int REBUILD_THRESHOLD = 1000;
 			/** Column names for the table */
 			private String [] columnNames = {"Bug ID", "Bug State", "Bug Summary"};
-			/** Data stored in the table */
-			private Object [][] data;
+			/** Value each column after the first is sorted by */
+			private final BugOrder.Key[] sortKeys = {null, BugOrder.Key.STATE, BugOrder.Key.SUMMARY};
+			/** IDs of the bugs shown in the table in order of bug ID */
+			private BugIdList rows;
+			/** Orders of the bugs shown by the columns they have been sorted by */
+			private Map<BugOrder.Key, BugOrder> orders;
+			/** Column the rows are sorted by */
+			private int sortColumn;
+			/** Whether the rows are sorted from last to first */
+			private boolean descending;
+			/** Start of the owner names whose bugs are shown, or null for all bugs */
+			private String owner;
+			/** Changes received and not yet applied to the table */
+			private Queue<BugEvent> changes;
+			/** Whether applying the waiting changes has been scheduled on the event thread */
+			private AtomicBoolean applyScheduled;
 			
 			/**
 			 * Constructs the {@link BugTableModel} by requesting the latest information
-			 * from the {@link BugTrackedModel}.
+			 * from the {@link BugTrackedModel} and subscribing to its changes.
 			 */
 			public BugTableModel() {
-				updateBugData();
+				rows = new BugIdList();
+				orders = new EnumMap<BugOrder.Key, BugOrder>(BugOrder.Key.class);
+				changes = new ConcurrentLinkedQueue<BugEvent>();
+				applyScheduled = new AtomicBoolean();
+				BugTrackerModel.getInstance().getEvents().subscribe(this);
+				rebuild();
 			}
 
 			/**
@@ -430,9 +721,8 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 			 * @return the number of rows in the table.
 			 */
 			public int getRowCount() {
-				if (data == null) 
-					return 0;
-				return data.length;
+				BugOrder.Key key = sortKeys[sortColumn];
+				return key == null ? rows.size() : orders.get(key).size();
 			}
 			
 			/**
@@ -444,45 +734,268 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 			}
 
 			/**
-			 * Returns the data at the given {row, col} index.
-			 * @return the data at the given location.
+			 * Returns the data at the given {row, col} index, read from the bug
+			 * in the {@link BugTrackerModel}.
+			 * @return the data at the given location, or null if the bug was just deleted.
 			 */
 			public Object getValueAt(int row, int col) {
-				if (data == null)
+				int bugId = getBugIdAt(row);
+				if (col == 0) {
+					return bugId;
+				}
+				TrackedBug b = BugTrackerModel.getInstance().getBugById(bugId);
+				if (b == null) {
 					return null;
-				return data[row][col];
+				}
+				return col == 1 ? b.getState().getStateName() : b.getSummary();
+			}
+			
+			/**
+			 * Gets the column the rows are sorted by
+			 * @return index of the column
+			 */
+			public int getSortColumn() {
+				return sortColumn;
+			}
+			
+			/**
+			 * Gets the direction of the sort
+			 * @return true if the rows are sorted from last to first
+			 */
+			public boolean isSortDescending() {
+				return descending;
+			}
+			
+			/**
+			 * Sorts the rows by a column, or reverses the sort if they are
+			 * already sorted by it.  Only the first sort by a column sorts the
+			 * bugs; after that its order is kept up to date as bugs change.
+			 * @param col index of the column to sort by
+			 */
+			public void sortBy(int col) {
+				if (col == sortColumn) {
+					descending = !descending;
+				} else {
+					sortColumn = col;
+					descending = false;
+					BugOrder.Key key = sortKeys[col];
+					if (key != null && !orders.containsKey(key)) {
+						orders.put(key, new BugOrder(key, getShownBugs()));
+					}
+				}
+				fireTableDataChanged();
+			}
+			
+			/**
+			 * Gets the ID of the bug shown in a row
+			 * @param row row of the table
+			 * @return ID of the bug
+			 */
+			private int getBugIdAt(int row) {
+				int index = getRow(row);
+				BugOrder.Key key = sortKeys[sortColumn];
+				return key == null ? rows.get(index) : orders.get(key).get(index);
+			}
+			
+			/**
+			 * Gets the row shown for a position in the order of the sort
+			 * column, which is also the position shown in a row
+			 * @param index position in the order of the sort column
+			 * @return row of the table
+			 */
+			private int getRow(int index) {
+				return descending ? getRowCount() - 1 - index : index;
 			}
 			
 			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param column location to modify the data.
+			 * Gets the position of a bug in the order of the sort column
+			 * @param bugId ID of the bug
+			 * @return position of the bug, or a negative number if it is not shown
 			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
+			private int getIndex(int bugId) {
+				BugOrder.Key key = sortKeys[sortColumn];
+				return key == null ? rows.indexOf(bugId) : orders.get(key).indexOf(bugId);
 			}
 			
 			/**
-			 * Updates the given model with {@link TrackedBug} information from the {@link BugTrackerModel}.
+			 * Gets the bugs shown in the table from the {@link BugTrackerModel}
+			 * @return bugs shown, leaving out any deleted since
+			 */
+			private List<TrackedBug> getShownBugs() {
+				List<TrackedBug> bugs = new ArrayList<TrackedBug>(rows.size());
+				for (int i = 0; i < rows.size(); i++) {
+					TrackedBug b = BugTrackerModel.getInstance().getBugById(rows.get(i));
+					if (b != null) {
+						bugs.add(b);
+					}
+				}
+				return bugs;
+			}
+			
+			/**
+			 * Replaces the rows with new IDs.  The orders of the other columns
+			 * are dropped, except the one the rows are sorted by, which is
+			 * built again.
+			 * @param bugIds IDs of the bugs shown, in increasing order
+			 */
+			private void setRows(int[] bugIds) {
+				rows = new BugIdList(bugIds);
+				orders.clear();
+				BugOrder.Key key = sortKeys[sortColumn];
+				if (key != null) {
+					orders.put(key, new BugOrder(key, getShownBugs()));
+				}
+				fireTableDataChanged();
+			}
+			
+			/**
+			 * Shows every bug from the {@link BugTrackerModel}.
 			 */
 			private void updateBugData() {
-				BugTrackerModel m = BugTrackerModel.getInstance();
-				data = m.getBugListAsArray();
+				if (owner != null) {
+					owner = null;
+					rebuild();
+				}
 			}
 			
 			/**
-			 * Updates the given model with {@link TrackedBug} information for the 
-			 * given owner from the {@link BugTrackerModel}.
-			 * @param owner developer id to search for.
+			 * Shows the {@link TrackedBug}s whose owner starts with the given text.
+			 * @param owner start of the developer ids to show.
+			 * @param bugIds IDs of the bugs found for the text, in increasing order
 			 */
-			private void updateBugDataWithOwner(String owner) {
-				try {
-					BugTrackerModel m = BugTrackerModel.getInstance();
-					data = m.getBugListByOwnerAsArray(owner);
-				} catch (IllegalArgumentException e) {
-					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid owner");
+			private void updateBugDataWithOwner(String owner, int[] bugIds) {
+				this.owner = owner;
+				setRows(bugIds);
+			}
+			
+			/**
+			 * Replaces every row with the IDs of the bugs currently shown from the
+			 * {@link BugTrackerModel}.
+			 */
+			private void rebuild() {
+				if (owner == null) {
+					setRows(BugTrackerModel.getInstance().getBugIds(null));
+				} else {
+					setRows(BugTrackerModel.getInstance().getBugIdsByOwnerPrefix(owner));
+				}
+			}
+
+			/**
+			 * Asks for every change made to the {@link BugTrackerModel}.
+			 * @param s subscription to the changes
+			 */
+			public void onSubscribe(Flow.Subscription s) {
+				s.request(Long.MAX_VALUE);
+			}
+
+			/**
+			 * Queues a change and schedules the waiting changes to be applied
+			 * on the event thread, where they are applied together.
+			 * @param event change made to the {@link BugTrackerModel}
+			 */
+			public void onNext(BugEvent event) {
+				changes.add(event);
+				if (applyScheduled.compareAndSet(false, true)) {
+					SwingUtilities.invokeLater(new Runnable() {
+						public void run() {
+							applyChanges();
+						}
+					});
+				}
+			}
+
+			/**
+			 * Rebuilds the table if the changes stop arriving.
+			 * @param t reason the changes stopped
+			 */
+			public void onError(Throwable t) {
+				SwingUtilities.invokeLater(new Runnable() {
+					public void run() {
+						rebuild();
+					}
+				});
+			}
+
+			/**
+			 * Nothing to do, since the {@link BugTrackerModel} never stops sending changes.
+			 */
+			public void onComplete() {
+				// Changes never complete
+			}
+			
+			/**
+			 * Applies the waiting changes to the rows they affect.  When many
+			 * changes are waiting, such as after a file is loaded, the table is
+			 * rebuilt once instead.
+			 */
+			private void applyChanges() {
+				applyScheduled.set(false);
+				if (changes.size() > REBUILD_THRESHOLD) {
+					changes.clear();
+					rebuild();
+					return;
+				}
+				BugEvent event = changes.poll();
+				while (event != null) {
+					if (event.getType() == BugEvent.Type.CLEARED) {
+						setRows(new int[0]);
+					} else if (event.getType() == BugEvent.Type.DELETED) {
+						removeRow(event.getBugId());
+					} else if (event.getType() == BugEvent.Type.CREATED
+							|| event.getType() == BugEvent.Type.OWNER_CHANGED
+							|| event.getType() == BugEvent.Type.STATE_CHANGED) {
+						refreshRow(event.getBug());
+					}
+					event = changes.poll();
+				}
+			}
+			
+			/**
+			 * Brings the row of a bug up to date, adding it if the bug is now
+			 * shown, removing it if it no longer is and moving it if the value
+			 * the rows are sorted by changed.
+			 * @param bug bug that was added or whose state or owner changed
+			 */
+			private void refreshRow(TrackedBug bug) {
+				boolean shown = owner == null || (bug.getOwner() != null && bug.getOwner().startsWith(owner));
+				boolean wasShown = rows.indexOf(bug.getBugId()) >= 0;
+				if (!wasShown && shown) {
+					rows.add(bug.getBugId());
+					for (BugOrder order : orders.values()) {
+						order.add(bug);
+					}
+					int row = getRow(getIndex(bug.getBugId()));
+					fireTableRowsInserted(row, row);
+				} else if (wasShown && !shown) {
+					removeRow(bug.getBugId());
+				} else if (wasShown && getIndex(bug.getBugId()) >= 0) {
+					int oldRow = getRow(getIndex(bug.getBugId()));
+					for (BugOrder order : orders.values()) {
+						order.update(bug);
+					}
+					int row = getRow(getIndex(bug.getBugId()));
+					if (row == oldRow) {
+						fireTableRowsUpdated(row, row);
+					} else {
+						fireTableRowsDeleted(oldRow, oldRow);
+						fireTableRowsInserted(row, row);
+					}
+				}
+			}
+			
+			/**
+			 * Removes the row of a bug if it is shown
+			 * @param bugId ID of the bug
+			 */
+			private void removeRow(int bugId) {
+				int index = getIndex(bugId);
+				int row = index < 0 ? -1 : getRow(index);
+				rows.remove(bugId);
+				for (BugOrder order : orders.values()) {
+					order.remove(bugId);
+				}
+				if (row >= 0) {
+					fireTableRowsDeleted(row, row);
 				}
 			}
 		}
@@ -565,21 +1078,17 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 				//Try a command.  If command fails, go back to bug list.
 				try {
 					Command c = new Command(Command.CommandValue.VOTE, null, null, note);
-					BugTrackerModel.getInstance().executeCommand(bugId, c);
+					executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-				} catch (UnsupportedOperationException uoe) {
-					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 				}
 			} else if (e.getSource() == btnConfirm) {
 				//Try a command.  If command fails, go back to bug list.
 				try {
 					Command c = new Command(Command.CommandValue.CONFIRM, null, null, note);
-					BugTrackerModel.getInstance().executeCommand(bugId, c);
+					executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-				} catch (UnsupportedOperationException uoe) {
-					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 				}
 			} 
 			//Add buttons lead to back bug list
@@ -683,11 +1192,9 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 					//Otherwise, try a Command.  If command fails, go back to bug list
 					try {
 						Command c = new Command(Command.CommandValue.POSSESSION, developerId, null, note);
-						BugTrackerModel.getInstance().executeCommand(bugId, c);
+						executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 					} catch (IllegalArgumentException iae) {
 						JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-					} catch (UnsupportedOperationException uoe) {
-						JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 					}
 					
 				}
@@ -819,11 +1326,9 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 					//Try a command.  If problem, go back to bug list.
 					try {
 						Command c = new Command(Command.CommandValue.RESOLVED, null, r, note);
-						BugTrackerModel.getInstance().executeCommand(bugId, c);
+						executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 					} catch (IllegalArgumentException iae) {
 						JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-					} catch (UnsupportedOperationException uoe) {
-						JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 					}
 				}
 			} 
@@ -920,21 +1425,17 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 				//Try command.  If problem, go to bug list.
 				try {
 					Command c = new Command(Command.CommandValue.VERIFIED, null, null, note);
-					BugTrackerModel.getInstance().executeCommand(bugId, c);
+					executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-				} catch (UnsupportedOperationException uoe) {
-					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 				}
 			} else if (e.getSource() == btnReopen) {
 				//Try command.  If problem, go to bug list.
 				try {
 					Command c = new Command(Command.CommandValue.REOPEN, null, null, note);
-					BugTrackerModel.getInstance().executeCommand(bugId, c);
+					executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-				} catch (UnsupportedOperationException uoe) {
-					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 				}
 			}
 			//All buttons lead to back bug list
@@ -1057,11 +1558,9 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 					//Try command.  If problem, return to bug list.
 					try {
 						Command c = new Command(Command.CommandValue.POSSESSION, developerId, null, note);
-						BugTrackerModel.getInstance().executeCommand(bugId, c);
+						executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 					} catch (IllegalArgumentException iae) {
 						JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-					} catch (UnsupportedOperationException uoe) {
-						JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 					}
 				}
 			} else if (e.getSource() == btnResolve) {
@@ -1091,11 +1590,9 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 					//Try command.  If problem, return to bug list
 					try {
 						Command c = new Command(Command.CommandValue.RESOLVED, null, r, note);
-						BugTrackerModel.getInstance().executeCommand(bugId, c);
+						executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 					}  catch (IllegalArgumentException iae) {
 						JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-					} catch (UnsupportedOperationException uoe) {
-						JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 					}
 				}
 			}
@@ -1187,11 +1684,9 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 				//Try command.  If problem, go back to bug list
 				try {
 					Command c = new Command(Command.CommandValue.REOPEN, null, null, note);
-					BugTrackerModel.getInstance().executeCommand(bugId, c);
+					executeCommands(new CommandBatch().add(bugId, pnlBugInfo.getVersion(), c));
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid command");
-				} catch (UnsupportedOperationException uoe) {
-					JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid state transition");
 				}
 			}
 			//All buttons lead to back bug list
@@ -1211,6 +1706,8 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 	private class BugInfoPanel extends JPanel {
 		/** ID number used for object serialization. */
 		private static final long serialVersionUID = 1L;
+		/** Version of the bug shown in the panel */
+		private int version;
 		/** Label for title */
 		private JLabel lblTitle;
 		/** Label for id */
@@ -1338,17 +1835,19 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 		 */
 		public void setBugInfo(int bugId) {
 			//Get the bug from the model
-			TrackedBug b = BugTrackerModel.getInstance().getBugById(bugId);
-			if (b == null) {
+			TrackedBug bug = BugTrackerModel.getInstance().getBugById(bugId);
+			if (bug == null) {
 				//If the bug doesn't exist for the given id, show an error message
 				JOptionPane.showMessageDialog(BugTrackerGUI.this, "Invalid bug id");
 				cardLayout.show(panel, BUG_LIST_PANEL);
 				BugTrackerGUI.this.repaint();
 				BugTrackerGUI.this.validate();
 			} else {
-				//Otherwise, set all of the fields with the information
+				//Otherwise, set all of the fields from one copy of the bug
+				BugSnapshot b = bug.getSnapshot();
+				version = b.getVersion();
 				txtId.setText("" + b.getBugId());
-				txtState.setText(b.getState().getStateName());
+				txtState.setText(b.getStateName());
 				txtSummary.setText(b.getSummary());
 				txtReporter.setText(b.getReporter());
 				txtOwner.setText(b.getOwner());
@@ -1363,6 +1862,15 @@ public class BugTrackerGUI extends JFrame implements ActionListener {
 				txtNotes.setText(b.getNotesString());
 			}
 		}
+		
+		/**
+		 * Gets the version of the bug shown in the panel, so commands are
+		 * only applied if the bug has not changed since it was shown
+		 * @return version of the bug when it was shown
+		 */
+		public int getVersion() {
+			return version;
+		}
 	}
 	
 	/**
@@ -0,0 +1,267 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.locks.StampedLock;
+
+import edu.ncsu.csc216.bug_tracker.bug.BugState;
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Keeps a {@link CompressedBitmap} of bug IDs for each state, for each
+ * {@link Resolution} and for confirmed bugs.  The state, confirmed and
+ * resolution conditions of a {@link BugQuery} are answered by combining
+ * these bitmaps instead of reading the fields of every bug.  Changes
+ * take a write lock and reads take a read lock, so the index may be used
+ * from any thread.  Both only hold the lock for a few word operations,
+ * except while a query's bitmaps are combined.
+ *
+ * @author Josh Stetson
+ */
+public class BitmapIndex {
+
+	/** IDs of every bug in the index */
+	private CompressedBitmap all;
+	/** IDs of the bugs in each state, by state name */
+	private Map<String, CompressedBitmap> states;
+	/** IDs of the bugs with each resolution */
+	private Map<Resolution, CompressedBitmap> resolutions;
+	/** IDs of the confirmed bugs */
+	private CompressedBitmap confirmed;
+	/** Lock held while the bitmaps are read or changed */
+	private StampedLock lock;
+
+	/**
+	 * Constructor for BitmapIndex
+	 * Creates an empty index
+	 */
+	public BitmapIndex() {
+		all = new CompressedBitmap();
+		states = new HashMap<String, CompressedBitmap>();
+		states.put(TrackedBug.UNCONFIRMED_NAME, new CompressedBitmap());
+		states.put(TrackedBug.NEW_NAME, new CompressedBitmap());
+		states.put(TrackedBug.ASSIGNED_NAME, new CompressedBitmap());
+		states.put(TrackedBug.RESOLVED_NAME, new CompressedBitmap());
+		states.put(TrackedBug.REOPEN_NAME, new CompressedBitmap());
+		states.put(TrackedBug.CLOSED_NAME, new CompressedBitmap());
+		resolutions = new EnumMap<Resolution, CompressedBitmap>(Resolution.class);
+		for (Resolution r : Resolution.values()) {
+			resolutions.put(r, new CompressedBitmap());
+		}
+		confirmed = new CompressedBitmap();
+		lock = new StampedLock();
+	}
+
+	/**
+	 * Adds a bug to the bitmaps for its state, resolution and confirmation
+	 * @param b TrackedBug to add
+	 */
+	public void addBug(TrackedBug b) {
+		long stamp = lock.writeLock();
+		try {
+			int id = b.getBugId();
+			all.add(id);
+			if (b.getState() != null) {
+				states.get(b.getState().getStateName()).add(id);
+			}
+			if (b.getResolution() != null) {
+				resolutions.get(b.getResolution()).add(id);
+			}
+			if (b.isConfirmed()) {
+				confirmed.add(id);
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes a bug from every bitmap
+	 * @param b TrackedBug to remove
+	 */
+	public void removeBug(TrackedBug b) {
+		long stamp = lock.writeLock();
+		try {
+			int id = b.getBugId();
+			all.remove(id);
+			if (b.getState() != null) {
+				states.get(b.getState().getStateName()).remove(id);
+			}
+			if (b.getResolution() != null) {
+				resolutions.get(b.getResolution()).remove(id);
+			}
+			confirmed.remove(id);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Moves a bug to the bitmap for its new state
+	 * @param b TrackedBug whose state changed
+	 * @param oldState state of the bug before the change
+	 */
+	public void stateChanged(TrackedBug b, BugState oldState) {
+		long stamp = lock.writeLock();
+		try {
+			if (oldState != null) {
+				states.get(oldState.getStateName()).remove(b.getBugId());
+			}
+			states.get(b.getState().getStateName()).add(b.getBugId());
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Moves a bug to the bitmap for its new resolution
+	 * @param b TrackedBug whose resolution changed
+	 * @param oldResolution resolution of the bug before the change, may be null
+	 */
+	public void resolutionChanged(TrackedBug b, Resolution oldResolution) {
+		long stamp = lock.writeLock();
+		try {
+			if (oldResolution != null) {
+				resolutions.get(oldResolution).remove(b.getBugId());
+			}
+			if (b.getResolution() != null) {
+				resolutions.get(b.getResolution()).add(b.getBugId());
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Adds a bug to the confirmed bitmap
+	 * @param b TrackedBug that was confirmed
+	 */
+	public void confirmedChanged(TrackedBug b) {
+		long stamp = lock.writeLock();
+		try {
+			if (b.isConfirmed()) {
+				confirmed.add(b.getBugId());
+			} else {
+				confirmed.remove(b.getBugId());
+			}
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Gets the number of bugs in the index
+	 * @return number of bugs
+	 */
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return all.cardinality();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Gets the ID of a bug by its position in ID order
+	 * @param rank number of bugs with a smaller ID, starting at 0
+	 * @return ID of the bug
+	 */
+	public int idAt(int rank) {
+		long stamp = lock.readLock();
+		try {
+			return all.select(rank);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Gets the IDs of the bugs in the index in order, starting at an ID
+	 * @param from first ID to return if it is in the index
+	 * @param max largest number of IDs to return
+	 * @return array of at most max IDs
+	 */
+	public int[] ids(int from, int max) {
+		long stamp = lock.readLock();
+		try {
+			int[] found = new int[Math.min(max, all.cardinality())];
+			PrimitiveIterator.OfInt it = all.iterator(from);
+			int count = 0;
+			while (count < found.length && it.hasNext()) {
+				int id = it.nextInt();
+				if (id < from) {
+					break;
+				}
+				found[count++] = id;
+			}
+			return count == found.length ? found : Arrays.copyOf(found, count);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Checks whether a query has any condition the bitmaps can answer
+	 * @param q query to check
+	 * @return true if the query has a state, confirmed or resolution condition
+	 */
+	public boolean canAnswer(BugQuery q) {
+		return q.getStates() != null || q.getConfirmed() != null || q.hasResolution()
+				|| !q.getExcludedResolutions().isEmpty();
+	}
+
+	/**
+	 * Gets the IDs of the bugs matching the state, confirmed and resolution
+	 * conditions of a query.  Other conditions of the query are ignored.
+	 * @param q query to answer
+	 * @return new bitmap of the IDs of the matching bugs
+	 */
+	public CompressedBitmap match(BugQuery q) {
+		long stamp = lock.readLock();
+		try {
+			CompressedBitmap result = all;
+			if (q.getStates() != null) {
+				CompressedBitmap inStates = new CompressedBitmap();
+				for (String stateName : q.getStates()) {
+					CompressedBitmap inState = states.get(stateName);
+					if (inState == null) {
+						throw new IllegalArgumentException("Invalid state name");
+					}
+					inStates = inStates.or(inState);
+				}
+				result = result.and(inStates);
+			}
+			if (q.getConfirmed() != null) {
+				if (q.getConfirmed()) {
+					result = result.and(confirmed);
+				} else {
+					result = result.andNot(confirmed);
+				}
+			}
+			if (q.hasResolution()) {
+				if (q.getResolution() != null) {
+					result = result.and(resolutions.get(q.getResolution()));
+				} else {
+					for (CompressedBitmap resolved : resolutions.values()) {
+						result = result.andNot(resolved);
+					}
+				}
+			}
+			for (Resolution r : q.getExcludedResolutions()) {
+				result = result.andNot(resolutions.get(r));
+			}
+			if (result == all) {
+				result = all.or(new CompressedBitmap());
+			}
+			return result;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+}
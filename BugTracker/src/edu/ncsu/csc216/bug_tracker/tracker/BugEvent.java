@@ -0,0 +1,128 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Describes one change to a {@link BugList}.  Events are published by a
+ * {@link BugEventPublisher} in the order the changes were made, so a
+ * subscriber can keep its own view of the list up to date without
+ * reading the whole list again.  Each event names the list it came
+ * from, so events from a list that has since been replaced can be told
+ * apart from those of the list that replaced it.
+ *
+ * @author Josh Stetson
+ */
+public class BugEvent {
+
+	/** Kind of change */
+	private Type type;
+	/** List the change was made to */
+	private BugList list;
+	/** Bug that changed, or null if the whole list changed */
+	private TrackedBug bug;
+	/** Value before the change */
+	private Object oldValue;
+	/** Value after the change */
+	private Object newValue;
+
+	/**
+	 * Constructor for BugEvent
+	 * @param type kind of change
+	 * @param list list the change was made to, which for {@link Type#CLEARED}
+	 * is the new list, or null if the change belongs to no list
+	 * @param bug bug that changed, or null if the whole list changed
+	 * @param oldValue value before the change, see {@link Type}
+	 * @param newValue value after the change, see {@link Type}
+	 */
+	public BugEvent(Type type, BugList list, TrackedBug bug, Object oldValue, Object newValue) {
+		if (type == null) {
+			throw new IllegalArgumentException("Event type cannot be null");
+		}
+		this.type = type;
+		this.list = list;
+		this.bug = bug;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+	}
+
+	/**
+	 * Gets the kind of change
+	 * @return type of event
+	 */
+	public Type getType() {
+		return type;
+	}
+
+	/**
+	 * Gets the list the change was made to
+	 * @return list of the change, or null if it belongs to no list
+	 */
+	public BugList getList() {
+		return list;
+	}
+
+	/**
+	 * Gets the bug that changed.  The bug may have changed again by the
+	 * time the event is read.
+	 * @return bug that changed, or null if the whole list changed
+	 */
+	public TrackedBug getBug() {
+		return bug;
+	}
+
+	/**
+	 * Gets the ID of the bug that changed
+	 * @return ID of the bug, or -1 if the whole list changed
+	 */
+	public int getBugId() {
+		return bug == null ? -1 : bug.getBugId();
+	}
+
+	/**
+	 * Gets the value before the change
+	 * @return old value, or null if the type has none
+	 */
+	public Object getOldValue() {
+		return oldValue;
+	}
+
+	/**
+	 * Gets the value after the change
+	 * @return new value, or null if the type has none
+	 */
+	public Object getNewValue() {
+		return newValue;
+	}
+
+	@Override
+	public String toString() {
+		return type + " " + getBugId() + ": " + oldValue + " -> " + newValue;
+	}
+
+	/**
+	 * Kind of change described by an event
+	 *
+	 * @author Josh Stetson
+	 */
+	public enum Type {
+		/** A bug was added to the list, with no values */
+		CREATED,
+		/** A bug was deleted from the list, with no values */
+		DELETED,
+		/** A bug moved to a new state, with the old and new state names */
+		STATE_CHANGED,
+		/** A bug has a new owner, with the old and new owner, either may be null */
+		OWNER_CHANGED,
+		/** A bug got a vote, with the old and new number of votes */
+		VOTE_ADDED,
+		/** A note was added to a bug, with the text of the note as the new value */
+		NOTE_ADDED,
+		/** A bug was confirmed, with false and true as its values */
+		CONFIRMED,
+		/** A bug has a new resolution, with the old and new resolution, either may be null */
+		RESOLUTION_CHANGED,
+		/** Every bug was removed and a new list started, with the new list, no bug and no values */
+		CLEARED
+	}
+
+}
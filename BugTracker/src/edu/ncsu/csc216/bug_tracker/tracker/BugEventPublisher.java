@@ -0,0 +1,216 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes {@link BugEvent}s to any number of {@link Flow.Subscriber}s.
+ * Publishing never blocks, so events can be published while the
+ * {@link BugList} holds its locks.  Each subscriber has its own queue of
+ * events, which is delivered in order on a shared {@link Executor} as
+ * the subscriber requests them.  A subscriber that falls behind keeps
+ * its events queued rather than losing them or slowing the list down.
+ * When there are no subscribers, publishing costs a single check.  A
+ * {@link BugEvent.Type#CLEARED} event names the list that replaces the
+ * old one, and events the old list publishes after it are dropped.
+ *
+ * @author Josh Stetson
+ */
+public class BugEventPublisher implements Flow.Publisher<BugEvent> {
+
+	/** Runs the tasks that deliver events */
+	private Executor executor;
+	/** Subscriptions that have not been cancelled */
+	private List<EventSubscription> subscriptions;
+	/** List named by the last CLEARED event, or null if there was none */
+	private volatile BugList current;
+
+	/**
+	 * Constructor for BugEventPublisher
+	 * @param executor runs the tasks that deliver events
+	 */
+	public BugEventPublisher(Executor executor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor cannot be null");
+		}
+		this.executor = executor;
+		subscriptions = new CopyOnWriteArrayList<EventSubscription>();
+	}
+
+	/**
+	 * Adds a subscriber.  Its onSubscribe method is called before this
+	 * method returns, and it receives every event published afterwards.
+	 * @param subscriber subscriber to add
+	 */
+	public void subscribe(Flow.Subscriber<? super BugEvent> subscriber) {
+		if (subscriber == null) {
+			throw new NullPointerException("Subscriber cannot be null");
+		}
+		EventSubscription s = new EventSubscription(subscriber, current);
+		subscriber.onSubscribe(s);
+		if (!s.cancelled) {
+			subscriptions.add(s);
+		}
+	}
+
+	/**
+	 * Checks whether anyone is subscribed, so callers can skip building
+	 * events nobody will read
+	 * @return true if there is at least one subscriber
+	 */
+	public boolean hasSubscribers() {
+		return !subscriptions.isEmpty();
+	}
+
+	/**
+	 * Gets the number of subscribers
+	 * @return number of subscribers that have not cancelled
+	 */
+	public int getSubscriberCount() {
+		return subscriptions.size();
+	}
+
+	/**
+	 * Queues an event for every subscriber
+	 * @param event event to publish
+	 */
+	public void publish(BugEvent event) {
+		if (event.getType() == BugEvent.Type.CLEARED) {
+			current = event.getList();
+		}
+		for (EventSubscription s : subscriptions) {
+			s.offer(event);
+		}
+	}
+
+	/**
+	 * Subscription of one subscriber, holding the events it has not
+	 * received yet
+	 *
+	 * @author Josh Stetson
+	 */
+	private class EventSubscription implements Flow.Subscription, Runnable {
+
+		/** Subscriber receiving the events */
+		private Flow.Subscriber<? super BugEvent> subscriber;
+		/** Events not yet delivered */
+		private Queue<BugEvent> events;
+		/** Number of events the subscriber has asked for and not received */
+		private AtomicLong demand;
+		/** Number of times delivery was asked for since the last delivery task checked */
+		private AtomicInteger pending;
+		/** Whether the subscription has been cancelled */
+		private volatile boolean cancelled;
+		/** List whose events are delivered, or null to deliver every list's */
+		private BugList list;
+
+		/**
+		 * Constructor for EventSubscription
+		 * @param subscriber subscriber receiving the events
+		 * @param list list whose events are delivered, or null for every list
+		 */
+		public EventSubscription(Flow.Subscriber<? super BugEvent> subscriber, BugList list) {
+			this.subscriber = subscriber;
+			this.list = list;
+			events = new ConcurrentLinkedQueue<BugEvent>();
+			demand = new AtomicLong();
+			pending = new AtomicInteger();
+		}
+
+		/**
+		 * Asks for more events
+		 * @param n number of events to add to the demand, which must be positive
+		 */
+		public void request(long n) {
+			if (cancelled) {
+				return;
+			}
+			if (n <= 0) {
+				cancel();
+				subscriber.onError(new IllegalArgumentException("Request must be positive"));
+				return;
+			}
+			long current;
+			long next;
+			do {
+				current = demand.get();
+				next = current + n < 0 ? Long.MAX_VALUE : current + n;
+			} while (!demand.compareAndSet(current, next));
+			schedule();
+		}
+
+		/**
+		 * Stops delivering events and drops the ones still queued
+		 */
+		public void cancel() {
+			cancelled = true;
+			subscriptions.remove(this);
+			events.clear();
+		}
+
+		/**
+		 * Queues an event for the subscriber
+		 * @param event event to queue
+		 */
+		public void offer(BugEvent event) {
+			events.add(event);
+			schedule();
+		}
+
+		/**
+		 * Starts a delivery task unless one is already running, in which
+		 * case that task checks again before it ends.  If the executor
+		 * rejects the task, the events stay queued and the next event or
+		 * request starts a task again.
+		 */
+		private void schedule() {
+			if (pending.getAndIncrement() == 0) {
+				try {
+					executor.execute(this);
+				} catch (RejectedExecutionException e) {
+					pending.set(0);
+				}
+			}
+		}
+
+		/**
+		 * Delivers queued events while the subscriber has demand, dropping
+		 * those of a list that has been replaced
+		 */
+		public void run() {
+			int missed = pending.get();
+			while (true) {
+				while (!cancelled && demand.get() > 0 && !events.isEmpty()) {
+					BugEvent event = events.poll();
+					if (event == null) {
+						break;
+					}
+					if (event.getType() == BugEvent.Type.CLEARED) {
+						list = event.getList();
+					} else if (list != null && event.getList() != list) {
+						continue;
+					}
+					demand.decrementAndGet();
+					try {
+						subscriber.onNext(event);
+					} catch (RuntimeException e) {
+						cancel();
+						subscriber.onError(e);
+					}
+				}
+				missed = pending.addAndGet(-missed);
+				if (missed == 0) {
+					return;
+				}
+			}
+		}
+	}
+
+}
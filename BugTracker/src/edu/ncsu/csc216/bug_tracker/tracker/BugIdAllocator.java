@@ -0,0 +1,96 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out unique bug IDs for one {@link BugList} without locking.  IDs
+ * are taken from a shared counter with compare-and-set, so a single thread
+ * gets IDs in order with no gaps.  A thread that loses a race for the
+ * counter leases a block of IDs instead and hands them out from the block
+ * without touching the counter again, so busy threads stop competing.
+ * IDs left in a block when it is no longer used are never handed out.
+ *
+ * @author Josh Stetson
+ */
+public class BugIdAllocator {
+
+	/** Number of IDs in a leased block */
+	private static final int BLOCK_SIZE = 64;
+	/** Smallest ID that has not been handed out, leased or reserved */
+	private AtomicInteger next;
+	/** Block leased by each thread, as the next ID and the end of the block */
+	private ThreadLocal<int[]> blocks;
+
+	/**
+	 * Constructor for BugIdAllocator
+	 * Creates an allocator whose first ID is 0
+	 */
+	public BugIdAllocator() {
+		next = new AtomicInteger();
+		blocks = new ThreadLocal<int[]>() {
+			@Override
+			protected int[] initialValue() {
+				return new int[2];
+			}
+		};
+	}
+
+	/**
+	 * Gets an ID that has not been handed out before
+	 * @return new bug ID
+	 */
+	public int nextId() {
+		int[] block = blocks.get();
+		if (block[0] < block[1]) {
+			return block[0]++;
+		}
+		int id = next.get();
+		if (id >= 0 && next.compareAndSet(id, id + 1)) {
+			return id;
+		}
+		id = lease(BLOCK_SIZE);
+		block[0] = id + 1;
+		block[1] = id + BLOCK_SIZE;
+		return id;
+	}
+
+	/**
+	 * Reserves a range of IDs that will not be handed out, such as IDs
+	 * for bugs loaded from a file
+	 * @param count number of IDs to reserve
+	 * @return first ID of the range
+	 */
+	public int reserve(int count) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Number of IDs cannot be negative");
+		}
+		return lease(count);
+	}
+
+	/**
+	 * Gets the smallest ID that has not been handed out, leased or
+	 * reserved.  Every ID in use is below it.
+	 * @return bound on the IDs in use
+	 */
+	public int getLimit() {
+		return next.get();
+	}
+
+	/**
+	 * Takes a range of IDs from the shared counter
+	 * @param count number of IDs to take
+	 * @return first ID of the range
+	 */
+	private int lease(int count) {
+		while (true) {
+			int start = next.get();
+			if (start > Integer.MAX_VALUE - count) {
+				throw new IllegalStateException("No bug IDs left");
+			}
+			if (next.compareAndSet(start, start + count)) {
+				return start;
+			}
+		}
+	}
+
+}
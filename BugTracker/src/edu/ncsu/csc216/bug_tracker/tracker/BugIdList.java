@@ -0,0 +1,105 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Arrays;
+
+/**
+ * Sorted list of bug IDs kept as plain ints, used to give each bug shown
+ * in a table its row.  Rows are found by position or by ID without
+ * boxing, and a bug's values are read from the {@link BugList} only when
+ * they are needed, so a table of millions of bugs costs four bytes a row.
+ * Adding an ID after every other ID takes constant time; adding or
+ * removing one elsewhere moves the IDs after it.
+ *
+ * @author Josh Stetson
+ */
+public class BugIdList {
+
+	/** IDs in increasing order, followed by unused slots */
+	private int[] ids;
+	/** Number of IDs in the list */
+	private int size;
+
+	/**
+	 * Constructor for BugIdList
+	 * Creates an empty list
+	 */
+	public BugIdList() {
+		ids = new int[16];
+	}
+
+	/**
+	 * Constructor for BugIdList
+	 * Creates a list holding IDs that are already in increasing order
+	 * @param sortedIds IDs in increasing order, which the list takes over
+	 */
+	public BugIdList(int[] sortedIds) {
+		ids = sortedIds;
+		size = sortedIds.length;
+	}
+
+	/**
+	 * Gets the number of IDs in the list
+	 * @return number of IDs
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the ID at a position
+	 * @param index position of the ID
+	 * @return ID at the position
+	 */
+	public int get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Invalid row " + index);
+		}
+		return ids[index];
+	}
+
+	/**
+	 * Finds the position of an ID
+	 * @param bugId ID to find
+	 * @return position of the ID, or -(position it would be added at) - 1
+	 * if it is not in the list
+	 */
+	public int indexOf(int bugId) {
+		return Arrays.binarySearch(ids, 0, size, bugId);
+	}
+
+	/**
+	 * Adds an ID in order
+	 * @param bugId ID to add
+	 * @return position the ID was added at, or -1 if it was already in the list
+	 */
+	public int add(int bugId) {
+		int index = indexOf(bugId);
+		if (index >= 0) {
+			return -1;
+		}
+		index = -index - 1;
+		if (size == ids.length) {
+			ids = Arrays.copyOf(ids, Math.max(16, size * 2));
+		}
+		System.arraycopy(ids, index, ids, index + 1, size - index);
+		ids[index] = bugId;
+		size++;
+		return index;
+	}
+
+	/**
+	 * Removes an ID
+	 * @param bugId ID to remove
+	 * @return position the ID was removed from, or -1 if it was not in the list
+	 */
+	public int remove(int bugId) {
+		int index = indexOf(bugId);
+		if (index < 0) {
+			return -1;
+		}
+		System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+		size--;
+		return index;
+	}
+
+}
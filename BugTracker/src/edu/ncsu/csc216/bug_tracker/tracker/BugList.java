@@ -1,29 +1,138 @@
 package edu.ncsu.csc216.bug_tracker.tracker;
 
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import edu.ncsu.csc216.bug_tracker.bug.BugSnapshot;
+import edu.ncsu.csc216.bug_tracker.bug.BugState;
 import edu.ncsu.csc216.bug_tracker.bug.Command;
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+import edu.ncsu.csc216.bug_tracker.bug.NameTable;
+import edu.ncsu.csc216.bug_tracker.bug.SnapshotClock;
 import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBugListener;
 import edu.ncsu.csc216.bug_tracker.xml.Bug;
 
 /**
- * Represents a list of bugs in the BugTrackerModel
+ * Represents a list of bugs in the BugTrackerModel.  The list may be used
+ * from any number of threads.  Commands and deletes hold one of a fixed
+ * set of locks picked by bug ID, so work on different bugs runs in
+ * parallel while work on the same bug runs in order.  The indexes are
+ * concurrent collections: changes to them are made one at a time under
+ * an index lock, and reads never take it.  A {@link BugListSnapshot} of
+ * the whole list can be taken at any time; changes only wait while the
+ * snapshot copies its references to the bugs, not while it is read.
+ * Every change is published as a {@link BugEvent} in the order it was
+ * made, for subscribers that keep their own view of the list.
  * 
  * @author Josh Stetson
  */
 public class BugList {
 	
-	/**List of TrackedBugs */
-	private List<TrackedBug> bugs;
+	/** Number of locks commands and deletes are spread across, a power of two */
+	private static final int STRIPES = 64;
+	/** Orders bugs by ID, which no two bugs in a list share */
+	private static final Comparator<TrackedBug> BY_ID = new Comparator<TrackedBug>() {
+		public int compare(TrackedBug a, TrackedBug b) {
+			return Integer.compare(a.getBugId(), b.getBugId());
+		}
+	};
+	
+	/** TrackedBugs in the order they were added, found by bug ID */
+	private BugStore bugs;
+	/** IDs of the owner and reporter names of the TrackedBugs */
+	private NameTable names;
+	/** Index of TrackedBugs by the ID of their owner's name */
+	private Map<Integer, Set<TrackedBug>> ownerIndex;
+	/** TrackedBugs grouped by the name of their current state */
+	private Map<String, Set<TrackedBug>> stateIndex;
+	/** Index of the words in the summary and notes of TrackedBugs */
+	private TextIndex textIndex;
+	/** TrackedBugs grouped by their number of votes, in order of votes */
+	private ConcurrentNavigableMap<Integer, Set<TrackedBug>> voteIndex;
+	/** Bitmaps of TrackedBug IDs by state, resolution and confirmation */
+	private BitmapIndex bitmapIndex;
+	/** Keeps the indexes up to date as bugs in the list change */
+	private TrackedBugListener indexer;
+	/** Hands out the IDs of new bugs */
+	private BugIdAllocator ids;
+	/** Locks held while a command or delete runs on a bug, picked by bug ID */
+	private ReentrantLock[] stripes;
+	/** Lock held while the indexes are changed */
+	private ReentrantLock indexLock;
+	/** Lock shared by changes to the list and held alone while a snapshot is opened */
+	private ReentrantReadWriteLock snapshotLock;
+	/** Lock held while a snapshot reads the bugs, so one is taken at a time */
+	private ReentrantLock snapshotReadLock;
+	/** Epoch of the snapshot being taken, read by the bugs before they change */
+	private SnapshotClock clock;
+	/** Publishes the changes made to the list */
+	private BugEventPublisher events;
 	
 	/**
 	 * Constructor for BugList
-	 * Creates a new list of TrackedBugs
+	 * Creates a new list of TrackedBugs whose events are delivered on the
+	 * common fork/join pool
 	 */
 	public BugList(){
-		TrackedBug.setCounter(0);
-		bugs = new ArrayList<TrackedBug>();
+		this(new BugEventPublisher(ForkJoinPool.commonPool()));
+	}
+	
+	/**
+	 * Constructor for BugList
+	 * Creates a new list of TrackedBugs that publishes its changes to the
+	 * subscribers of an existing publisher
+	 * @param events publisher of the changes made to the list
+	 */
+	public BugList(BugEventPublisher events) {
+		if (events == null) {
+			throw new IllegalArgumentException("Publisher cannot be null");
+		}
+		this.events = events;
+		ids = new BugIdAllocator();
+		bugs = new BugStore();
+		names = new NameTable();
+		ownerIndex = new ConcurrentHashMap<Integer, Set<TrackedBug>>();
+		stateIndex = new HashMap<String, Set<TrackedBug>>();
+		textIndex = new TextIndex();
+		voteIndex = new ConcurrentSkipListMap<Integer, Set<TrackedBug>>();
+		bitmapIndex = new BitmapIndex();
+		stateIndex.put(TrackedBug.UNCONFIRMED_NAME, new BugSet());
+		stateIndex.put(TrackedBug.NEW_NAME, new BugSet());
+		stateIndex.put(TrackedBug.ASSIGNED_NAME, new BugSet());
+		stateIndex.put(TrackedBug.RESOLVED_NAME, new BugSet());
+		stateIndex.put(TrackedBug.REOPEN_NAME, new BugSet());
+		stateIndex.put(TrackedBug.CLOSED_NAME, new BugSet());
+		indexer = new Indexer();
+		stripes = new ReentrantLock[STRIPES];
+		for (int i = 0; i < STRIPES; i++) {
+			stripes[i] = new ReentrantLock();
+		}
+		indexLock = new ReentrantLock();
+		snapshotLock = new ReentrantReadWriteLock();
+		snapshotReadLock = new ReentrantLock();
+		clock = new SnapshotClock();
 	}
 	
 	/**
@@ -33,44 +142,213 @@ public class BugList {
 	 * @return current size of BugList
 	 */
 	public int addBug(String summary, String reporter) {
-		TrackedBug b = new TrackedBug(summary, reporter);
-		bugs.add(b);
-		TrackedBug.incrementCounter();
+		TrackedBug b = new TrackedBug(ids.nextId(), summary, reporter, names);
+		snapshotLock.readLock().lock();
+		try {
+			add(b);
+		} finally {
+			snapshotLock.readLock().unlock();
+		}
 		return b.getBugId();
 	}
 	
 	/**
-	 * Adds bugs from an XML file to a BugList
+	 * Adds bugs from an XML file to a BugList.  The IDs in the file are
+	 * moved past every ID already handed out by reserving a range as
+	 * large as the largest ID in the file.  A snapshot sees either none
+	 * or all of the bugs from the file.
 	 * @param xmlBugs List of xmlBugs to be added to BugList
 	 */
 	public void addXMLBugs(List<Bug> xmlBugs) {
 		if (xmlBugs != null) {
-			for (int i = 0; i < xmlBugs.size(); i++) {
-				if (xmlBugs.get(i) != null) {
-					bugs.add(new TrackedBug(xmlBugs.get(i)));
+			addXMLBugs(xmlBugs, Math.max(1, xmlBugs.size()), null);
+		}
+	}
+	
+	/**
+	 * Adds bugs from an XML file to a BugList in batches, telling a
+	 * listener after each batch.  A snapshot sees either none or all of
+	 * a batch, and each batch is published before the next is added.  If
+	 * the listener stops the load, the bugs already added are deleted
+	 * again.  IDs are moved as in {@link #addXMLBugs(List)}.
+	 * @param xmlBugs List of xmlBugs to be added to BugList, may be null
+	 * @param batchSize number of bugs added between calls to the listener
+	 * @param listener listener told of each batch, or null
+	 * @return number of bugs added, or 0 if the load was stopped
+	 */
+	public int addXMLBugs(List<Bug> xmlBugs, int batchSize, ProgressListener listener) {
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException("Batch size must be positive");
+		}
+		if (xmlBugs == null) {
+			return 0;
+		}
+		int maxId = -1;
+		for (int i = 0; i < xmlBugs.size(); i++) {
+			if (xmlBugs.get(i) != null && xmlBugs.get(i).getId() > maxId) {
+				maxId = xmlBugs.get(i).getId();
+			}
+		}
+		int offset = ids.reserve(maxId + 1);
+		int added = 0;
+		for (int start = 0; start < xmlBugs.size(); start += batchSize) {
+			int end = Math.min(xmlBugs.size(), start + batchSize);
+			snapshotLock.readLock().lock();
+			try {
+				for (int i = start; i < end; i++) {
+					if (xmlBugs.get(i) != null && add(new TrackedBug(xmlBugs.get(i), offset, names))) {
+						added++;
+					}
 				}
+			} finally {
+				snapshotLock.readLock().unlock();
 			}
-			int maxId = 0;
-			for (TrackedBug element : bugs) {
-				int currentId = element.getBugId();
-				if (currentId > maxId) {
-					maxId = currentId;
+			if (listener != null && !listener.progress(end, xmlBugs.size())) {
+				for (int i = 0; i < end; i++) {
+					if (xmlBugs.get(i) != null) {
+						deleteBugById(xmlBugs.get(i).getId() + offset);
+					}
 				}
+				return 0;
 			}
-			TrackedBug.setCounter(maxId + 1);
 		}
+		return added;
 	}
 	
 	/**
-	 * Gets a list of TrackedBugs
+	 * Gets a list of TrackedBugs.  The list is a copy of the bugs in the
+	 * BugList when it was called and is not changed by later updates.
 	 * @return list of TrackedBugs
 	 */
 	public List<TrackedBug> getBugs() {
-		return bugs;
+		return Collections.unmodifiableList(new ArrayList<TrackedBug>(bugs));
+	}
+	
+	/**
+	 * Takes an unchangeable view of every bug in the list as it is now.
+	 * Changes wait only while the view collects references to the bugs
+	 * and opens a new epoch of the list's {@link SnapshotClock}.  The bugs
+	 * are copied after changes resume.  A bug that changes before it is
+	 * copied first keeps a copy of itself as it was, so no bug holds a
+	 * copy while no snapshot is being taken.
+	 * @return view of the list at this moment
+	 */
+	public BugListSnapshot snapshot() {
+		snapshotReadLock.lock();
+		try {
+			TrackedBug[] open;
+			int epoch;
+			snapshotLock.writeLock().lock();
+			try {
+				open = bugs.toArray(new TrackedBug[bugs.size()]);
+				epoch = clock.open();
+			} finally {
+				snapshotLock.writeLock().unlock();
+			}
+			try {
+				BugSnapshot[] copies = new BugSnapshot[open.length];
+				for (int i = 0; i < open.length; i++) {
+					copies[i] = open[i].getSnapshot(epoch);
+				}
+				return new BugListSnapshot(copies);
+			} finally {
+				clock.close();
+			}
+		} finally {
+			snapshotReadLock.unlock();
+		}
+	}
+	
+	/**
+	 * Gets the publisher of the changes made to the list.  Subscribers
+	 * receive one event per change, in the order the changes were made.
+	 * @return publisher of the list's events
+	 */
+	public Flow.Publisher<BugEvent> getEvents() {
+		return events;
+	}
+	
+	/**
+	 * Gets the number of TrackedBugs in the list
+	 * @return number of TrackedBugs
+	 */
+	public int size() {
+		return bugs.size();
+	}
+	
+	/**
+	 * Copies the TrackedBugs that have not been deleted into a new array,
+	 * dropping the tombstones left by deletes.  This also happens on its
+	 * own once tombstones outnumber the bugs in the list.
+	 */
+	public void compact() {
+		bugs.compact();
 	}
 	
 	/**
-	 * Filters the current BugList by owner specified by user input
+	 * Gets the IDs of the bugs in the list, or of the bugs of one owner,
+	 * in increasing order without copying the bugs themselves
+	 * @param owner owner of the bugs, or null for every bug
+	 * @return array of bug IDs in increasing order
+	 */
+	public int[] getBugIds(String owner) {
+		if (owner == null) {
+			return bitmapIndex.ids(0, Integer.MAX_VALUE);
+		}
+		Set<TrackedBug> owned = ownerIndex.get(names.find(owner));
+		if (owned == null) {
+			return new int[0];
+		}
+		int[] found = new int[owned.size()];
+		int count = 0;
+		for (TrackedBug b : owned) {
+			if (count == found.length) {
+				found = Arrays.copyOf(found, count * 2 + 1);
+			}
+			found[count++] = b.getBugId();
+		}
+		return count == found.length ? found : Arrays.copyOf(found, count);
+	}
+	
+	/**
+	 * Gets the IDs of the bugs whose owner starts with a prefix.  Only the
+	 * owners that match are visited, since the name table is kept in
+	 * order of name, so the cost depends on the number of bugs found
+	 * rather than the size of the list.
+	 * @param prefix start of the owners' names, where an empty prefix
+	 * matches every bug that has an owner
+	 * @return array of bug IDs in increasing order
+	 */
+	public int[] getBugIdsByOwnerPrefix(String prefix) {
+		if (prefix == null) {
+			throw new IllegalArgumentException("Must enter an owner's name");
+		}
+		int[] found = new int[16];
+		int count = 0;
+		int owners = 0;
+		for (int ownerId : names.idsWithPrefix(prefix)) {
+			Set<TrackedBug> owned = ownerIndex.get(ownerId);
+			if (owned == null) {
+				continue;
+			}
+			owners++;
+			for (TrackedBug b : owned) {
+				if (count == found.length) {
+					found = Arrays.copyOf(found, count * 2);
+				}
+				found[count++] = b.getBugId();
+			}
+		}
+		found = Arrays.copyOf(found, count);
+		if (owners > 1) {
+			Arrays.sort(found);
+		}
+		return found;
+	}
+	
+	/**
+	 * Filters the current BugList by owner specified by user input.
+	 * Bugs are returned in order of ID.
 	 * @param owner owner to filter the BugList by
 	 * @return List of TrackedBugs with the same owner specified
 	 */
@@ -78,14 +356,164 @@ public class BugList {
 		if (owner == null) {
 			throw new IllegalArgumentException("Must enter an owner's name");
 		}
-		List<TrackedBug> bugsByOwner = new ArrayList<TrackedBug>();
-		for (int i = 0; i < bugs.size(); i++) {
-			TrackedBug currentBug = bugs.get(i);
-			if (currentBug.getOwner() != null && currentBug.getOwner().equals(owner)) {
-				bugsByOwner.add(currentBug);	
+		Set<TrackedBug> owned = ownerIndex.get(names.find(owner));
+		if (owned == null) {
+			return new ArrayList<TrackedBug>();
+		}
+		return new ArrayList<TrackedBug>(owned);
+	}
+	
+	/**
+	 * Filters the current BugList by the name of the bugs' state.
+	 * Bugs are returned in order of ID.
+	 * @param stateName name of the state to filter the BugList by
+	 * @return List of TrackedBugs in the given state
+	 */
+	public List<TrackedBug> getBugsByState(String stateName) {
+		return new ArrayList<TrackedBug>(stateBucket(stateName));
+	}
+	
+	/**
+	 * Gets the number of bugs in a state
+	 * @param stateName name of the state to count
+	 * @return number of TrackedBugs in the given state
+	 */
+	public int getStateCount(String stateName) {
+		return stateBucket(stateName).size();
+	}
+	
+	/**
+	 * Searches the summary and notes of the bugs in the list for the
+	 * words in a query.  Bugs matching more of the rarer words come first.
+	 * @param query words to search for
+	 * @param maxResults largest number of bugs to return
+	 * @return List of TrackedBugs matching the query, best match first
+	 */
+	public List<TrackedBug> search(String query, int maxResults) {
+		return textIndex.search(query, maxResults);
+	}
+	
+	/**
+	 * Finds the bugs that match every condition of a query.  The bugs are
+	 * read from the most selective index the query can use and are only
+	 * checked against the other conditions as the iterator is advanced,
+	 * so no list of results is built.  The order of the bugs depends on
+	 * the index used.  Changes made to the list while the iterator is in
+	 * use may or may not be seen by it.
+	 * @param q query describing the bugs to find
+	 * @return iterator over the TrackedBugs matching the query
+	 */
+	public Iterator<TrackedBug> query(BugQuery q) {
+		if (q == null) {
+			throw new IllegalArgumentException("Must enter a query");
+		}
+		Matcher m = new Matcher(q);
+		return new QueryIterator(m, plan(q, m.words));
+	}
+	
+	/**
+	 * Counts the bugs that match every condition of a query.  A query with
+	 * only state, confirmed and resolution conditions is counted from the
+	 * bitmap index without visiting any bug.
+	 * @param q query describing the bugs to count
+	 * @return number of TrackedBugs matching the query
+	 */
+	public int count(BugQuery q) {
+		if (q == null) {
+			throw new IllegalArgumentException("Must enter a query");
+		}
+		if (q.getOwner() == null && q.getReporter() == null && q.getText() == null
+				&& q.getMinVotes() == Integer.MIN_VALUE && q.getMaxVotes() == Integer.MAX_VALUE) {
+			return bitmapIndex.match(q).cardinality();
+		}
+		int count = 0;
+		Iterator<TrackedBug> it = query(q);
+		while (it.hasNext()) {
+			it.next();
+			count++;
+		}
+		return count;
+	}
+	
+	/**
+	 * Gets the bugs with the most votes, most votes first.  Bugs with
+	 * the same number of votes are in order of ID.
+	 * Only the vote groups holding the returned bugs are visited.
+	 * @param maxResults largest number of bugs to return
+	 * @param q query the bugs must match, or null for any bug
+	 * @return List of the most voted TrackedBugs matching the query
+	 */
+	public List<TrackedBug> getMostVotedBugs(int maxResults, BugQuery q) {
+		if (maxResults < 0) {
+			throw new IllegalArgumentException("Number of results cannot be negative");
+		}
+		Matcher m = null;
+		if (q != null) {
+			m = new Matcher(q);
+			if (q.getStates() != null) {
+				for (String stateName : q.getStates()) {
+					stateBucket(stateName);
+				}
+			}
+		}
+		List<TrackedBug> mostVoted = new ArrayList<TrackedBug>();
+		Iterator<Set<TrackedBug>> groups = voteIndex.descendingMap().values().iterator();
+		while (mostVoted.size() < maxResults && groups.hasNext()) {
+			Iterator<TrackedBug> group = groups.next().iterator();
+			while (mostVoted.size() < maxResults && group.hasNext()) {
+				TrackedBug b = group.next();
+				if (m == null || m.matches(b)) {
+					mostVoted.add(b);
+				}
 			}
 		}
-		return bugsByOwner;
+		return mostVoted;
+	}
+	
+	/**
+	 * Gets one page of the bugs matching a query, in order of bug ID.
+	 * Without a query the first bug of the page is found from the ID
+	 * bitmap without visiting the bugs before it.  With a query the
+	 * skipped matches are still checked, so deep pages are cheaper to
+	 * read with {@link #getPageAfter(BugQuery, int, int)}.
+	 * @param q query the bugs must match, or null for any bug
+	 * @param offset number of matching bugs to skip
+	 * @param limit largest number of bugs to return
+	 * @return List of at most limit TrackedBugs
+	 */
+	public List<TrackedBug> getPage(BugQuery q, int offset, int limit) {
+		if (offset < 0) {
+			throw new IllegalArgumentException("Offset cannot be negative");
+		}
+		if (limit < 0) {
+			throw new IllegalArgumentException("Number of results cannot be negative");
+		}
+		if (q == null) {
+			if (offset >= bitmapIndex.size()) {
+				return new ArrayList<TrackedBug>();
+			}
+			return readPage(null, bitmapIndex.idAt(offset), 0, limit);
+		}
+		return readPage(q, 0, offset, limit);
+	}
+	
+	/**
+	 * Gets the page of bugs matching a query that follows a bug ID, in
+	 * order of bug ID.  Passing the ID of the last bug of one page gets
+	 * the next page, however deep it is.
+	 * @param q query the bugs must match, or null for any bug
+	 * @param afterBugId ID the bugs must be greater than, or -1 for the first page
+	 * @param limit largest number of bugs to return
+	 * @return List of at most limit TrackedBugs
+	 */
+	public List<TrackedBug> getPageAfter(BugQuery q, int afterBugId, int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Number of results cannot be negative");
+		}
+		if (afterBugId == Integer.MAX_VALUE) {
+			return new ArrayList<TrackedBug>();
+		}
+		return readPage(q, Math.max(0, afterBugId + 1), 0, limit);
 	}
 	
 	/**
@@ -94,12 +522,7 @@ public class BugList {
 	 * @return TrackedBug at given ID
 	 */
 	public TrackedBug getBugById(int bugId) {
-		for (int i = 0; i < bugs.size(); i++) {
-			if (bugs.get(i).getBugId() == bugId) {
-				return bugs.get(i);
-			}
-		}
-		return null;
+		return bugs.get(bugId);
 	}
 	
 	/**
@@ -108,22 +531,753 @@ public class BugList {
 	 * @param c command to be executed based on state of bug with ID passed to method
 	 */
 	public void executeCommand(int bugId, Command c) {
-		for (int i = 0; i < bugs.size(); i++) {
-			if (bugs.get(i).getBugId() == bugId) {
-				bugs.get(i).update(c);
+		snapshotLock.readLock().lock();
+		try {
+			ReentrantLock stripe = stripe(bugId);
+			stripe.lock();
+			try {
+				TrackedBug b = bugs.get(bugId);
+				if (b != null) {
+					b.update(c);
+				}
+			} finally {
+				stripe.unlock();
 			}
+		} finally {
+			snapshotLock.readLock().unlock();
 		}
 	}
 	
 	/**
-	 * Deletes a bug from a list by its given ID
+	 * Executes a command only if the bug has not changed since it was read.
+	 * The version is checked and the command applied without any other
+	 * command reaching the bug in between.
+	 * @param bugId ID of bug to be updated
+	 * @param expectedVersion version of the bug when it was read
+	 * @param c command to be executed based on state of bug with ID passed to method
+	 * @return true if the command was applied, false if there is no bug
+	 * with the ID or its version has changed
+	 */
+	public boolean executeCommand(int bugId, int expectedVersion, Command c) {
+		snapshotLock.readLock().lock();
+		try {
+			ReentrantLock stripe = stripe(bugId);
+			stripe.lock();
+			try {
+				TrackedBug b = bugs.get(bugId);
+				return b != null && b.update(c, expectedVersion);
+			} finally {
+				stripe.unlock();
+			}
+		} finally {
+			snapshotLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Executes every command in a batch.  Each bug is looked up once and
+	 * then receives its commands in the order they appear in the batch.
+	 * The outcome of each item is recorded in the batch rather than thrown.
+	 * A snapshot sees either none or all of the batch.
+	 * @param batch commands to execute
+	 */
+	public void executeCommands(CommandBatch batch) {
+		IntObjectMap<List<Integer>> itemsByBug = new IntObjectMap<List<Integer>>();
+		List<List<Integer>> groups = new ArrayList<List<Integer>>();
+		for (int i = 0; i < batch.size(); i++) {
+			List<Integer> items = itemsByBug.get(batch.getBugId(i));
+			if (items == null) {
+				items = new ArrayList<Integer>();
+				itemsByBug.put(batch.getBugId(i), items);
+				groups.add(items);
+			}
+			items.add(i);
+		}
+		snapshotLock.readLock().lock();
+		try {
+			for (List<Integer> items : groups) {
+				int bugId = batch.getBugId(items.get(0));
+				ReentrantLock stripe = stripe(bugId);
+				stripe.lock();
+				try {
+					executeGroup(batch, items, bugs.get(bugId));
+				} finally {
+					stripe.unlock();
+				}
+			}
+		} finally {
+			snapshotLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Executes the commands in a batch sent to one bug, in order.  Commands
+	 * the bug cannot accept are found with {@link TrackedBug#canApply(Command)}
+	 * rather than by catching the exception the update would throw.
+	 * @param batch batch holding the commands
+	 * @param items indexes of the bug's commands in the batch
+	 * @param b TrackedBug the commands are sent to, or null if there is none
+	 */
+	private void executeGroup(CommandBatch batch, List<Integer> items, TrackedBug b) {
+		for (int i : items) {
+			Command c = batch.getCommand(i);
+			int expected = batch.getExpectedVersion(i);
+			if (b == null) {
+				batch.setOutcome(i, CommandBatch.Outcome.NOT_FOUND);
+			} else if (expected != CommandBatch.ANY_VERSION && expected != b.getVersion()) {
+				batch.setOutcome(i, CommandBatch.Outcome.CONFLICT);
+			} else if (!b.canApply(c)) {
+				if (b.getAvailableCommands().contains(c.getCommand())) {
+					batch.setOutcome(i, CommandBatch.Outcome.INVALID_COMMAND);
+				} else {
+					batch.setOutcome(i, CommandBatch.Outcome.INVALID_TRANSITION);
+				}
+			} else {
+				try {
+					if (expected == CommandBatch.ANY_VERSION) {
+						b.update(c);
+						batch.setOutcome(i, CommandBatch.Outcome.APPLIED);
+					} else if (b.update(c, expected)) {
+						batch.setOutcome(i, CommandBatch.Outcome.APPLIED);
+					} else {
+						batch.setOutcome(i, CommandBatch.Outcome.CONFLICT);
+					}
+				} catch (UnsupportedOperationException e) {
+					batch.setOutcome(i, CommandBatch.Outcome.INVALID_TRANSITION);
+				} catch (IllegalArgumentException e) {
+					batch.setOutcome(i, CommandBatch.Outcome.INVALID_COMMAND);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Deletes a bug from a list by its given ID.  The bug's slot in the
+	 * list is left as a tombstone, so the rest of the list does not move.
 	 * @param bugId ID of bug to delete
 	 */
 	public void deleteBugById(int bugId) {
-		for (int i = 0; i < bugs.size(); i++) {
-			if (bugs.get(i).getBugId() == bugId) {
-				bugs.remove(i);
+		snapshotLock.readLock().lock();
+		try {
+			ReentrantLock stripe = stripe(bugId);
+			stripe.lock();
+			try {
+				indexLock.lock();
+				try {
+					TrackedBug b = bugs.remove(bugId);
+					if (b != null) {
+						b.setListener(null);
+						removeFromOwnerIndex(b, b.getOwnerId());
+						removeFromStateIndex(b, b.getState());
+						textIndex.removeBug(b);
+						removeFromVoteIndex(b, b.getVotes());
+						bitmapIndex.removeBug(b);
+						publish(BugEvent.Type.DELETED, b, null, null);
+					}
+				} finally {
+					indexLock.unlock();
+				}
+			} finally {
+				stripe.unlock();
+			}
+		} finally {
+			snapshotLock.readLock().unlock();
+		}
+	}
+	
+	/**
+	 * Adds a TrackedBug to the end of the list and indexes it by ID.
+	 * A bug whose ID is already in the list, as from a file listing an
+	 * ID twice, is not added.  The bug is in every other index before
+	 * it can be found by ID, so no command can change it half indexed.
+	 * @param b TrackedBug to add
+	 * @return true if the bug was added
+	 */
+	private boolean add(TrackedBug b) {
+		indexLock.lock();
+		try {
+			if (bugs.get(b.getBugId()) != null) {
+				return false;
+			}
+			addToOwnerIndex(b);
+			addToStateIndex(b);
+			textIndex.addBug(b);
+			addToVoteIndex(b);
+			bitmapIndex.addBug(b);
+			b.setListener(indexer);
+			b.setSnapshotClock(clock);
+			bugs.add(b);
+			publish(BugEvent.Type.CREATED, b, null, null);
+			return true;
+		} finally {
+			indexLock.unlock();
+		}
+	}
+	
+	/**
+	 * Gets the lock for commands and deletes on a bug
+	 * @param bugId ID of the bug
+	 * @return lock for the bug
+	 */
+	private ReentrantLock stripe(int bugId) {
+		return stripes[(bugId ^ (bugId >>> 16)) & (STRIPES - 1)];
+	}
+	
+	/**
+	 * Adds a TrackedBug to the index entry for its current owner
+	 * @param b TrackedBug to index
+	 */
+	private void addToOwnerIndex(TrackedBug b) {
+		int ownerId = b.getOwnerId();
+		if (ownerId != NameTable.NONE) {
+			Set<TrackedBug> owned = ownerIndex.get(ownerId);
+			if (owned == null) {
+				owned = new BugSet();
+				ownerIndex.put(ownerId, owned);
+			}
+			owned.add(b);
+		}
+	}
+	
+	/**
+	 * Removes a TrackedBug from the index entry for an owner
+	 * @param b TrackedBug to remove
+	 * @param ownerId ID of the owner the bug was indexed under, may be {@link NameTable#NONE}
+	 */
+	private void removeFromOwnerIndex(TrackedBug b, int ownerId) {
+		if (ownerId != NameTable.NONE) {
+			Set<TrackedBug> owned = ownerIndex.get(ownerId);
+			if (owned != null) {
+				owned.remove(b);
+				if (owned.isEmpty()) {
+					ownerIndex.remove(ownerId);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Gets the set of bugs in a state
+	 * @param stateName name of the state
+	 * @return TrackedBugs in the given state
+	 */
+	private Set<TrackedBug> stateBucket(String stateName) {
+		if (stateName == null) {
+			throw new IllegalArgumentException("Must enter a state name");
+		}
+		Set<TrackedBug> bucket = stateIndex.get(stateName);
+		if (bucket == null) {
+			throw new IllegalArgumentException("Invalid state name");
+		}
+		return bucket;
+	}
+	
+	/**
+	 * Adds a TrackedBug to the set of bugs in its current state
+	 * @param b TrackedBug to index
+	 */
+	private void addToStateIndex(TrackedBug b) {
+		if (b.getState() != null) {
+			stateIndex.get(b.getState().getStateName()).add(b);
+		}
+	}
+	
+	/**
+	 * Removes a TrackedBug from the set of bugs in a state
+	 * @param b TrackedBug to remove
+	 * @param state state the bug was indexed under, may be null
+	 */
+	private void removeFromStateIndex(TrackedBug b, BugState state) {
+		if (state != null) {
+			stateIndex.get(state.getStateName()).remove(b);
+		}
+	}
+	
+	/**
+	 * Publishes a change to the list if anyone is subscribed.  Called while
+	 * holding the index lock, so events go out in the order of the changes.
+	 * @param type kind of change
+	 * @param b TrackedBug that changed
+	 * @param oldValue value before the change
+	 * @param newValue value after the change
+	 */
+	private void publish(BugEvent.Type type, TrackedBug b, Object oldValue, Object newValue) {
+		if (events.hasSubscribers()) {
+			events.publish(new BugEvent(type, this, b, oldValue, newValue));
+		}
+	}
+	
+	/**
+	 * Adds a TrackedBug to the group of bugs with its number of votes
+	 * @param b TrackedBug to index
+	 */
+	private void addToVoteIndex(TrackedBug b) {
+		Set<TrackedBug> group = voteIndex.get(b.getVotes());
+		if (group == null) {
+			group = new BugSet();
+			voteIndex.put(b.getVotes(), group);
+		}
+		group.add(b);
+	}
+	
+	/**
+	 * Removes a TrackedBug from the group of bugs with a number of votes
+	 * @param b TrackedBug to remove
+	 * @param votes number of votes the bug was indexed under
+	 */
+	private void removeFromVoteIndex(TrackedBug b, int votes) {
+		Set<TrackedBug> group = voteIndex.get(votes);
+		if (group != null) {
+			group.remove(b);
+			if (group.isEmpty()) {
+				voteIndex.remove(votes);
+			}
+		}
+	}
+	
+	/**
+	 * Picks the smallest set of bugs that can hold every match of a query
+	 * out of the owner, state, text and bitmap indexes, falling back to the
+	 * whole list when the query cannot use an index.  A query on several
+	 * states uses the buckets of all of those states together.  The bitmaps
+	 * are only combined when the other indexes leave more bugs to check
+	 * than there are bitmap words to combine.
+	 * @param q query describing the bugs to find
+	 * @param words lower case words of the query's text condition
+	 * @return groups of TrackedBugs that together hold every bug to check against the query
+	 */
+	private List<Collection<TrackedBug>> plan(BugQuery q, List<String> words) {
+		List<Collection<TrackedBug>> best = Collections.<Collection<TrackedBug>>singletonList(bugs);
+		int bestSize = bugs.size();
+		if (q.getStates() != null) {
+			List<Collection<TrackedBug>> buckets = new ArrayList<Collection<TrackedBug>>();
+			int size = 0;
+			for (String stateName : q.getStates()) {
+				Set<TrackedBug> bucket = stateBucket(stateName);
+				buckets.add(bucket);
+				size += bucket.size();
+			}
+			if (size < bestSize) {
+				best = buckets;
+				bestSize = size;
+			}
+		}
+		List<Collection<TrackedBug>> single = new ArrayList<Collection<TrackedBug>>();
+		if (q.getOwner() != null) {
+			Set<TrackedBug> owned = ownerIndex.get(names.find(q.getOwner()));
+			if (owned == null) {
+				owned = Collections.emptySet();
+			}
+			single.add(owned);
+		}
+		for (String word : words) {
+			single.add(textIndex.getBugsWith(word));
+		}
+		for (Collection<TrackedBug> candidates : single) {
+			if (candidates.size() < bestSize) {
+				best = Collections.singletonList(candidates);
+				bestSize = candidates.size();
+			}
+		}
+		if (bitmapIndex.canAnswer(q) && bestSize > bugs.size() / 64) {
+			Collection<TrackedBug> matched = new BitmapBugs(bitmapIndex.match(q));
+			if (matched.size() < bestSize) {
+				best = Collections.singletonList(matched);
+			}
+		}
+		return best;
+	}
+	
+	/**
+	 * Reads a page of bugs in order of ID.  When the query's best index
+	 * holds few bugs compared to how far the ID bitmap would have to be
+	 * walked to fill the page, only those bugs are checked, keeping the
+	 * lowest IDs in a heap the size of the page.  Otherwise the ID bitmap
+	 * is walked from the first ID and stops as soon as the page is full.
+	 * @param q query the bugs must match, or null for any bug
+	 * @param fromId smallest ID a bug may have
+	 * @param skip number of matching bugs to skip
+	 * @param limit largest number of bugs to return
+	 * @return List of at most limit TrackedBugs
+	 */
+	private List<TrackedBug> readPage(BugQuery q, int fromId, int skip, int limit) {
+		List<TrackedBug> page = new ArrayList<TrackedBug>();
+		if (limit == 0) {
+			return page;
+		}
+		Matcher m = null;
+		if (q != null) {
+			m = new Matcher(q);
+			List<Collection<TrackedBug>> groups = plan(q, m.words);
+			long candidates = 0;
+			for (Collection<TrackedBug> group : groups) {
+				candidates += group.size();
+			}
+			long wanted = (long) skip + limit;
+			if (candidates * candidates < wanted * bugs.size()) {
+				return readCandidatePage(m, groups, fromId, (int) Math.min(Integer.MAX_VALUE, wanted), skip);
+			}
+		}
+		int next = fromId;
+		int batchSize = Math.min(1024, Math.max(64, limit));
+		while (page.size() < limit) {
+			int[] ids = bitmapIndex.ids(next, batchSize);
+			for (int i = 0; i < ids.length && page.size() < limit; i++) {
+				TrackedBug b = bugs.get(ids[i]);
+				if (b != null && (m == null || m.matches(b))) {
+					if (skip > 0) {
+						skip--;
+					} else {
+						page.add(b);
+					}
+				}
+			}
+			if (ids.length < batchSize || ids[ids.length - 1] == Integer.MAX_VALUE) {
+				break;
+			}
+			next = ids[ids.length - 1] + 1;
+		}
+		return page;
+	}
+	
+	/**
+	 * Reads a page of bugs in order of ID from the groups picked for a query
+	 * @param m conditions of the query the bugs must match
+	 * @param groups groups of bugs picked for the query
+	 * @param fromId smallest ID a bug may have
+	 * @param keep number of matching bugs with the lowest IDs to keep
+	 * @param skip number of the kept bugs to leave off the page
+	 * @return List of the kept TrackedBugs after the skipped ones
+	 */
+	private List<TrackedBug> readCandidatePage(Matcher m, List<Collection<TrackedBug>> groups,
+			int fromId, int keep, int skip) {
+		PriorityQueue<TrackedBug> lowest = new PriorityQueue<TrackedBug>(Math.min(keep, 64), new Comparator<TrackedBug>() {
+			public int compare(TrackedBug a, TrackedBug b) {
+				return Integer.compare(b.getBugId(), a.getBugId());
+			}
+		});
+		Iterator<TrackedBug> it = new QueryIterator(m, groups);
+		while (it.hasNext()) {
+			TrackedBug b = it.next();
+			if (b.getBugId() >= fromId && bugs.get(b.getBugId()) == b) {
+				if (lowest.size() < keep) {
+					lowest.add(b);
+				} else if (b.getBugId() < lowest.peek().getBugId()) {
+					lowest.poll();
+					lowest.add(b);
+				}
+			}
+		}
+		List<TrackedBug> page = new ArrayList<TrackedBug>(lowest.size());
+		while (!lowest.isEmpty()) {
+			page.add(lowest.poll());
+		}
+		Collections.reverse(page);
+		return new ArrayList<TrackedBug>(page.subList(Math.min(skip, page.size()), page.size()));
+	}
+	
+	/**
+	 * Inner class holding the conditions of a query in the form bugs are
+	 * checked against.  The owner and reporter are looked up in the name
+	 * table once, so each bug is checked by comparing ints.
+	 * 
+	 * @author Josh Stetson
+	 */
+	private class Matcher {
+		
+		/** Query describing the bugs to find */
+		private BugQuery q;
+		/** Lower case words of the query's text condition */
+		private List<String> words;
+		/** ID of the owner the bugs must have, or {@link NameTable#NONE} if no bug has it */
+		private int ownerId;
+		/** ID of the reporter the bugs must have, or {@link NameTable#NONE} if no bug has it */
+		private int reporterId;
+		
+		/**
+		 * Constructor for Matcher
+		 * @param q query describing the bugs to find
+		 */
+		public Matcher(BugQuery q) {
+			this.q = q;
+			words = TextIndex.tokenize(q.getText());
+			ownerId = names.find(q.getOwner());
+			reporterId = names.find(q.getReporter());
+		}
+		
+		/**
+		 * Checks a bug against every condition of the query
+		 * @param b TrackedBug to check
+		 * @return true if the bug matches the query
+		 */
+		public boolean matches(TrackedBug b) {
+			if (q.getStates() != null && (b.getState() == null || !q.getStates().contains(b.getState().getStateName()))) {
+				return false;
 			}
+			if (q.getOwner() != null && (ownerId == NameTable.NONE || ownerId != b.getOwnerId())) {
+				return false;
+			}
+			if (q.getReporter() != null && (reporterId == NameTable.NONE || reporterId != b.getReporterId())) {
+				return false;
+			}
+			if (b.getVotes() < q.getMinVotes() || b.getVotes() > q.getMaxVotes()) {
+				return false;
+			}
+			if (q.getConfirmed() != null && q.getConfirmed() != b.isConfirmed()) {
+				return false;
+			}
+			if (q.hasResolution() && q.getResolution() != b.getResolution()) {
+				return false;
+			}
+			if (b.getResolution() != null && q.getExcludedResolutions().contains(b.getResolution())) {
+				return false;
+			}
+			for (String word : words) {
+				if (!textIndex.contains(b, word)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+	
+	/**
+	 * Inner class that presents the IDs in a bitmap as the bugs with those IDs
+	 * 
+	 * @author Josh Stetson
+	 */
+	private class BitmapBugs extends AbstractCollection<TrackedBug> {
+		
+		/** IDs of the bugs */
+		private CompressedBitmap ids;
+		/** Number of IDs in the bitmap */
+		private int size;
+		
+		/**
+		 * Constructor for BitmapBugs
+		 * @param ids IDs of the bugs
+		 */
+		public BitmapBugs(CompressedBitmap ids) {
+			this.ids = ids;
+			this.size = ids.cardinality();
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public Iterator<TrackedBug> iterator() {
+			final PrimitiveIterator.OfInt it = ids.iterator();
+			return new Iterator<TrackedBug>() {
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				public TrackedBug next() {
+					return bugs.get(it.nextInt());
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+	
+	/**
+	 * Inner class that walks the bugs picked for a query and returns
+	 * the ones matching it
+	 * 
+	 * @author Josh Stetson
+	 */
+	private class QueryIterator implements Iterator<TrackedBug> {
+		
+		/** Conditions of the query describing the bugs to find */
+		private Matcher m;
+		/** Groups of bugs picked for the query */
+		private Iterator<Collection<TrackedBug>> groups;
+		/** Bugs of the group being walked */
+		private Iterator<TrackedBug> candidates;
+		/** Next matching bug, or null if it has not been found yet */
+		private TrackedBug next;
+		
+		/**
+		 * Constructor for QueryIterator
+		 * @param m conditions of the query describing the bugs to find
+		 * @param groups groups of bugs picked for the query
+		 */
+		public QueryIterator(Matcher m, List<Collection<TrackedBug>> groups) {
+			this.m = m;
+			this.groups = groups.iterator();
+			this.candidates = Collections.<TrackedBug>emptySet().iterator();
+		}
+
+		public boolean hasNext() {
+			while (next == null && (candidates.hasNext() || groups.hasNext())) {
+				if (!candidates.hasNext()) {
+					candidates = groups.next().iterator();
+				} else {
+					TrackedBug b = candidates.next();
+					if (b != null && m.matches(b)) {
+						next = b;
+					}
+				}
+			}
+			return next != null;
+		}
+
+		public TrackedBug next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			TrackedBug b = next;
+			next = null;
+			return b;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+	
+	/**
+	 * Inner class that moves bugs between index entries when they change
+	 * and publishes each change as an event
+	 * 
+	 * @author Josh Stetson
+	 */
+	private class Indexer implements TrackedBugListener {
+
+		public void ownerChanged(TrackedBug bug, String oldOwner) {
+			indexLock.lock();
+			try {
+				removeFromOwnerIndex(bug, names.find(oldOwner));
+				addToOwnerIndex(bug);
+				publish(BugEvent.Type.OWNER_CHANGED, bug, oldOwner, bug.getOwner());
+			} finally {
+				indexLock.unlock();
+			}
+		}
+
+		public void stateChanged(TrackedBug bug, BugState oldState) {
+			indexLock.lock();
+			try {
+				removeFromStateIndex(bug, oldState);
+				addToStateIndex(bug);
+				bitmapIndex.stateChanged(bug, oldState);
+				publish(BugEvent.Type.STATE_CHANGED, bug, oldState.getStateName(), bug.getState().getStateName());
+			} finally {
+				indexLock.unlock();
+			}
+		}
+
+		public void noteAdded(TrackedBug bug, String note) {
+			indexLock.lock();
+			try {
+				textIndex.addNote(bug, note);
+				publish(BugEvent.Type.NOTE_ADDED, bug, null, note);
+			} finally {
+				indexLock.unlock();
+			}
+		}
+
+		public void votesChanged(TrackedBug bug, int oldVotes) {
+			indexLock.lock();
+			try {
+				removeFromVoteIndex(bug, oldVotes);
+				addToVoteIndex(bug);
+				publish(BugEvent.Type.VOTE_ADDED, bug, oldVotes, bug.getVotes());
+			} finally {
+				indexLock.unlock();
+			}
+		}
+
+		public void confirmedChanged(TrackedBug bug) {
+			indexLock.lock();
+			try {
+				bitmapIndex.confirmedChanged(bug);
+				publish(BugEvent.Type.CONFIRMED, bug, false, true);
+			} finally {
+				indexLock.unlock();
+			}
+		}
+
+		public void resolutionChanged(TrackedBug bug, Resolution oldResolution) {
+			indexLock.lock();
+			try {
+				bitmapIndex.resolutionChanged(bug, oldResolution);
+				publish(BugEvent.Type.RESOLUTION_CHANGED, bug, oldResolution, bug.getResolution());
+			} finally {
+				indexLock.unlock();
+			}
+		}
+	}
+	
+	/**
+	 * Inner class that holds a set of bugs in order of ID.  It may be read
+	 * from any thread while it is changed, and its size is kept as a count
+	 * so the planner can weigh it without walking it.  Changes are only
+	 * made while holding the index lock.
+	 * 
+	 * @author Josh Stetson
+	 */
+	private static class BugSet extends AbstractSet<TrackedBug> {
+		
+		/** Bugs in the set */
+		private ConcurrentSkipListSet<TrackedBug> bugs;
+		/** Number of bugs in the set */
+		private volatile int size;
+		
+		/**
+		 * Constructor for BugSet
+		 * Creates an empty set
+		 */
+		public BugSet() {
+			bugs = new ConcurrentSkipListSet<TrackedBug>(BY_ID);
+		}
+		
+		@Override
+		public boolean add(TrackedBug b) {
+			if (bugs.add(b)) {
+				size++;
+				return true;
+			}
+			return false;
+		}
+		
+		@Override
+		public boolean remove(Object o) {
+			if (bugs.remove(o)) {
+				size--;
+				return true;
+			}
+			return false;
+		}
+		
+		@Override
+		public boolean contains(Object o) {
+			return bugs.contains(o);
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public Iterator<TrackedBug> iterator() {
+			final Iterator<TrackedBug> it = bugs.iterator();
+			return new Iterator<TrackedBug>() {
+				public boolean hasNext() {
+					return it.hasNext();
+				}
+
+				public TrackedBug next() {
+					return it.next();
+				}
+
+				public void remove() {
+					throw new UnsupportedOperationException();
+				}
+			};
 		}
 	}
 
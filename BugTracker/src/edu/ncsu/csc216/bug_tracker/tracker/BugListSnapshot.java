@@ -0,0 +1,76 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import edu.ncsu.csc216.bug_tracker.bug.BugSnapshot;
+
+/**
+ * Unchangeable view of every bug in a {@link BugList} at one moment.
+ * Each bug is held as the {@link BugSnapshot} it had at that moment, so
+ * the view can be read for as long as needed while the list goes on
+ * changing.
+ *
+ * @author Josh Stetson
+ */
+public class BugListSnapshot {
+
+	/** Orders copies of bugs by ID */
+	private static final Comparator<BugSnapshot> BY_ID = new Comparator<BugSnapshot>() {
+		public int compare(BugSnapshot a, BugSnapshot b) {
+			return Integer.compare(a.getBugId(), b.getBugId());
+		}
+	};
+
+	/** Copies of the bugs, in order of ID */
+	private BugSnapshot[] bugs;
+
+	/**
+	 * Constructor for BugListSnapshot
+	 * @param bugs copies of the bugs in the list, in any order
+	 */
+	BugListSnapshot(BugSnapshot[] bugs) {
+		Arrays.sort(bugs, BY_ID);
+		this.bugs = bugs;
+	}
+
+	/**
+	 * Gets the number of bugs in the view
+	 * @return number of bugs
+	 */
+	public int size() {
+		return bugs.length;
+	}
+
+	/**
+	 * Gets the copies of the bugs in the view
+	 * @return copies of the bugs in order of ID, which cannot be changed
+	 */
+	public List<BugSnapshot> getBugs() {
+		return Collections.unmodifiableList(Arrays.asList(bugs));
+	}
+
+	/**
+	 * Gets the copy of a bug by its ID
+	 * @param bugId ID of the bug
+	 * @return copy of the bug, or null if there was no bug with the ID
+	 */
+	public BugSnapshot getBugById(int bugId) {
+		int low = 0;
+		int high = bugs.length - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (bugs[mid].getBugId() < bugId) {
+				low = mid + 1;
+			} else if (bugs[mid].getBugId() > bugId) {
+				high = mid - 1;
+			} else {
+				return bugs[mid];
+			}
+		}
+		return null;
+	}
+
+}
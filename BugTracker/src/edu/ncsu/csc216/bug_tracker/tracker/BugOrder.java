@@ -0,0 +1,395 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * List of bug IDs kept in order of one of the bugs' values, used to give
+ * each bug shown in a table sorted by that value its row.  The list is
+ * sorted once when it is made.  The value each bug was sorted by is kept
+ * with it, so a bug that changes is found by binary search and moved to
+ * its new place without sorting the list again.  Bugs with the same value
+ * are in order of ID.  A table sorted by ID uses a {@link BugIdList}.
+ * <p>
+ * The IDs are held in blocks of at most {@value #BLOCK}, each with the
+ * values of its IDs in a parallel array, so a search compares values
+ * without looking them up.  Adding, removing or moving a bug shifts the
+ * IDs of one block and the start positions of the blocks after it, rather
+ * than the whole list.
+ *
+ * @author Josh Stetson
+ */
+public class BugOrder {
+
+	/** Largest number of IDs in a block */
+	private static final int BLOCK = 256;
+	/** Sorts shorter than this are done by insertion */
+	private static final int INSERTION_SORT = 16;
+	/** Value the bugs are sorted by */
+	private Key key;
+	/** Blocks of IDs in order of value, each followed by unused slots */
+	private int[][] ids;
+	/** Value of each ID, parallel to {@link #ids} */
+	private String[][] values;
+	/** Number of IDs in each block */
+	private int[] counts;
+	/** Position in the list of the first ID of each block */
+	private int[] starts;
+	/** Number of blocks, at least one even when the list is empty */
+	private int blockCount;
+	/** Number of IDs in the list */
+	private int size;
+	/** Value each bug was sorted by, by bug ID */
+	private IntObjectMap<String> valuesById;
+
+	/**
+	 * Constructor for BugOrder
+	 * Sorts a collection of bugs by one of their values
+	 * @param key value to sort the bugs by
+	 * @param bugs bugs to sort
+	 */
+	public BugOrder(Key key, Collection<TrackedBug> bugs) {
+		if (key == null) {
+			throw new IllegalArgumentException("Sort key cannot be null");
+		}
+		this.key = key;
+		valuesById = new IntObjectMap<String>();
+		int[] allIds = new int[bugs.size()];
+		String[] allValues = new String[bugs.size()];
+		int n = 0;
+		for (TrackedBug b : bugs) {
+			String value = key.valueOf(b);
+			if (valuesById.put(b.getBugId(), value) == null) {
+				allIds[n] = b.getBugId();
+				allValues[n] = value;
+				n++;
+			}
+		}
+		int[] order = new int[n];
+		for (int i = 0; i < n; i++) {
+			order[i] = i;
+		}
+		sort(order, new int[n], allIds, allValues, 0, n);
+		blockCount = Math.max(1, (n + BLOCK - 1) / BLOCK);
+		int capacity = Math.max(4, blockCount * 2);
+		ids = new int[capacity][];
+		values = new String[capacity][];
+		counts = new int[capacity];
+		starts = new int[capacity];
+		for (int b = 0; b < blockCount; b++) {
+			ids[b] = new int[BLOCK];
+			values[b] = new String[BLOCK];
+			starts[b] = b * BLOCK;
+			counts[b] = Math.min(BLOCK, n - starts[b]);
+			for (int i = 0; i < counts[b]; i++) {
+				ids[b][i] = allIds[order[starts[b] + i]];
+				values[b][i] = allValues[order[starts[b] + i]];
+			}
+		}
+		size = n;
+	}
+
+	/**
+	 * Gets the value the bugs are sorted by
+	 * @return sort key
+	 */
+	public Key getKey() {
+		return key;
+	}
+
+	/**
+	 * Gets the number of IDs in the list
+	 * @return number of IDs
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the ID at a position
+	 * @param index position of the ID
+	 * @return ID at the position
+	 */
+	public int get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Invalid row " + index);
+		}
+		int low = 0;
+		int high = blockCount - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (starts[mid] <= index) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return ids[low][index - starts[low]];
+	}
+
+	/**
+	 * Finds the position of a bug
+	 * @param bugId ID of the bug
+	 * @return position of the bug, or -1 if it is not in the list
+	 */
+	public int indexOf(int bugId) {
+		String value = valuesById.get(bugId);
+		if (value == null) {
+			return -1;
+		}
+		int block = findBlock(value, bugId);
+		int index = search(block, value, bugId);
+		return index < 0 ? -1 : starts[block] + index;
+	}
+
+	/**
+	 * Adds a bug at the place of its current value
+	 * @param b bug to add
+	 * @return position the bug was added at, or -1 if it was already in the list
+	 */
+	public int add(TrackedBug b) {
+		if (valuesById.get(b.getBugId()) != null) {
+			return -1;
+		}
+		String value = key.valueOf(b);
+		valuesById.put(b.getBugId(), value);
+		int block = findBlock(value, b.getBugId());
+		int index = -search(block, value, b.getBugId()) - 1;
+		if (counts[block] == BLOCK) {
+			split(block);
+			if (index > counts[block]) {
+				index -= counts[block];
+				block++;
+			}
+		}
+		int count = counts[block];
+		System.arraycopy(ids[block], index, ids[block], index + 1, count - index);
+		System.arraycopy(values[block], index, values[block], index + 1, count - index);
+		ids[block][index] = b.getBugId();
+		values[block][index] = value;
+		counts[block]++;
+		for (int i = block + 1; i < blockCount; i++) {
+			starts[i]++;
+		}
+		size++;
+		return starts[block] + index;
+	}
+
+	/**
+	 * Removes a bug
+	 * @param bugId ID of the bug to remove
+	 * @return position the bug was removed from, or -1 if it was not in the list
+	 */
+	public int remove(int bugId) {
+		String value = valuesById.remove(bugId);
+		if (value == null) {
+			return -1;
+		}
+		int block = findBlock(value, bugId);
+		int index = search(block, value, bugId);
+		int position = starts[block] + index;
+		int count = counts[block];
+		System.arraycopy(ids[block], index + 1, ids[block], index, count - index - 1);
+		System.arraycopy(values[block], index + 1, values[block], index, count - index - 1);
+		values[block][count - 1] = null;
+		counts[block]--;
+		for (int i = block + 1; i < blockCount; i++) {
+			starts[i]--;
+		}
+		size--;
+		if (counts[block] == 0 && blockCount > 1) {
+			dropBlock(block);
+		}
+		return position;
+	}
+
+	/**
+	 * Moves a bug to the place of its current value if the value it is
+	 * sorted by has changed
+	 * @param b bug that changed
+	 * @return true if the bug was moved, false if it kept its place or is
+	 * not in the list
+	 */
+	public boolean update(TrackedBug b) {
+		String old = valuesById.get(b.getBugId());
+		if (old == null || old.equals(key.valueOf(b))) {
+			return false;
+		}
+		remove(b.getBugId());
+		add(b);
+		return true;
+	}
+
+	/**
+	 * Finds the block a value and ID belong in: the first block whose last
+	 * ID comes at or after it, or the last block if there is none
+	 * @param value value to find
+	 * @param bugId ID to find
+	 * @return index of the block
+	 */
+	private int findBlock(String value, int bugId) {
+		int low = 0;
+		int high = blockCount - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			int last = counts[mid] - 1;
+			if (compare(values[mid][last], ids[mid][last], value, bugId) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Finds the position of a value and ID in a block by binary search
+	 * @param block index of the block
+	 * @param value value to find
+	 * @param bugId ID to find
+	 * @return position of the ID in the block, or -(position it would be
+	 * added at) - 1 if it is not in the block
+	 */
+	private int search(int block, String value, int bugId) {
+		int[] blockIds = ids[block];
+		String[] blockValues = values[block];
+		int low = 0;
+		int high = counts[block] - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			int c = compare(blockValues[mid], blockIds[mid], value, bugId);
+			if (c < 0) {
+				low = mid + 1;
+			} else if (c > 0) {
+				high = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(low + 1);
+	}
+
+	/**
+	 * Moves the second half of a full block into a new block after it
+	 * @param block index of the full block
+	 */
+	private void split(int block) {
+		if (blockCount == counts.length) {
+			ids = Arrays.copyOf(ids, blockCount * 2);
+			values = Arrays.copyOf(values, blockCount * 2);
+			counts = Arrays.copyOf(counts, blockCount * 2);
+			starts = Arrays.copyOf(starts, blockCount * 2);
+		}
+		int moved = block + 1;
+		System.arraycopy(ids, moved, ids, moved + 1, blockCount - moved);
+		System.arraycopy(values, moved, values, moved + 1, blockCount - moved);
+		System.arraycopy(counts, moved, counts, moved + 1, blockCount - moved);
+		System.arraycopy(starts, moved, starts, moved + 1, blockCount - moved);
+		blockCount++;
+		int half = BLOCK / 2;
+		ids[moved] = new int[BLOCK];
+		values[moved] = new String[BLOCK];
+		System.arraycopy(ids[block], half, ids[moved], 0, BLOCK - half);
+		System.arraycopy(values[block], half, values[moved], 0, BLOCK - half);
+		Arrays.fill(values[block], half, BLOCK, null);
+		counts[block] = half;
+		counts[moved] = BLOCK - half;
+		starts[moved] = starts[block] + half;
+	}
+
+	/**
+	 * Drops an empty block
+	 * @param block index of the block
+	 */
+	private void dropBlock(int block) {
+		int moved = blockCount - block - 1;
+		System.arraycopy(ids, block + 1, ids, block, moved);
+		System.arraycopy(values, block + 1, values, block, moved);
+		System.arraycopy(counts, block + 1, counts, block, moved);
+		System.arraycopy(starts, block + 1, starts, block, moved);
+		blockCount--;
+		ids[blockCount] = null;
+		values[blockCount] = null;
+	}
+
+	/**
+	 * Sorts positions in parallel arrays of IDs and values by value and
+	 * then by ID.  A merge sort of primitive positions, so nothing is boxed.
+	 * @param order positions to sort
+	 * @param scratch space as long as the positions
+	 * @param allIds IDs by position
+	 * @param allValues values by position
+	 * @param from first position in the range to sort
+	 * @param to end of the range to sort
+	 */
+	private void sort(int[] order, int[] scratch, int[] allIds, String[] allValues, int from, int to) {
+		if (to - from < INSERTION_SORT) {
+			for (int i = from + 1; i < to; i++) {
+				int moving = order[i];
+				int j = i - 1;
+				while (j >= from && compare(allValues[order[j]], allIds[order[j]],
+						allValues[moving], allIds[moving]) > 0) {
+					order[j + 1] = order[j];
+					j--;
+				}
+				order[j + 1] = moving;
+			}
+			return;
+		}
+		int mid = (from + to) >>> 1;
+		sort(order, scratch, allIds, allValues, from, mid);
+		sort(order, scratch, allIds, allValues, mid, to);
+		System.arraycopy(order, from, scratch, from, to - from);
+		int left = from;
+		int right = mid;
+		for (int i = from; i < to; i++) {
+			if (right >= to || (left < mid && compare(allValues[scratch[left]], allIds[scratch[left]],
+					allValues[scratch[right]], allIds[scratch[right]]) <= 0)) {
+				order[i] = scratch[left++];
+			} else {
+				order[i] = scratch[right++];
+			}
+		}
+	}
+
+	/**
+	 * Compares two bugs by value and then by ID
+	 * @param a value of the first bug
+	 * @param aId ID of the first bug
+	 * @param b value of the second bug
+	 * @param bId ID of the second bug
+	 * @return negative, zero or positive as the first bug comes before, at
+	 * or after the second
+	 */
+	private int compare(String a, int aId, String b, int bId) {
+		int byValue = a.compareTo(b);
+		return byValue != 0 ? byValue : Integer.compare(aId, bId);
+	}
+
+	/**
+	 * Values of a bug that a {@link BugOrder} can sort by
+	 *
+	 * @author Josh Stetson
+	 */
+	public enum Key {
+		/** Name of the bug's state */
+		STATE,
+		/** Summary of the bug */
+		SUMMARY;
+
+		/**
+		 * Gets the value of a bug sorted by this key
+		 * @param b bug to read
+		 * @return value of the bug, never null
+		 */
+		public String valueOf(TrackedBug b) {
+			if (this == STATE) {
+				return b.getState().getStateName();
+			}
+			return b.getSummary() == null ? "" : b.getSummary();
+		}
+	}
+
+}
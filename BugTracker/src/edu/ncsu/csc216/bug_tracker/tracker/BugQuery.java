@@ -0,0 +1,241 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+
+/**
+ * Describes which {@link edu.ncsu.csc216.bug_tracker.bug.TrackedBug}s to
+ * read from a {@link BugList}.  A bug matches the query when it matches
+ * every condition that has been set.  Conditions are set by chaining the
+ * with methods, for example
+ * <code>new BugQuery().withState(TrackedBug.NEW_NAME).withVotes(3, 10)</code>.
+ *
+ * @author Josh Stetson
+ */
+public class BugQuery {
+
+	/** Names of the states bugs may be in, or null for any state */
+	private Set<String> states;
+	/** Owner bugs must have, or null for any owner */
+	private String owner;
+	/** Reporter bugs must have, or null for any reporter */
+	private String reporter;
+	/** Fewest votes a bug may have */
+	private int minVotes;
+	/** Most votes a bug may have */
+	private int maxVotes;
+	/** Confirmation status bugs must have, or null for either */
+	private Boolean confirmed;
+	/** Whether bugs must have the given resolution */
+	private boolean resolutionSet;
+	/** Resolution bugs must have, null for bugs without a resolution */
+	private Resolution resolution;
+	/** Resolutions bugs must not have */
+	private Set<Resolution> excludedResolutions;
+	/** Words that must all appear in a bug's summary or notes, or null */
+	private String text;
+
+	/**
+	 * Constructor for BugQuery
+	 * Creates a query that matches every bug
+	 */
+	public BugQuery() {
+		minVotes = Integer.MIN_VALUE;
+		maxVotes = Integer.MAX_VALUE;
+		excludedResolutions = EnumSet.noneOf(Resolution.class);
+	}
+
+	/**
+	 * Limits the query to bugs in any of the given states
+	 * @param stateNames names of the states
+	 * @return this query
+	 */
+	public BugQuery withState(String... stateNames) {
+		if (stateNames == null || stateNames.length == 0) {
+			throw new IllegalArgumentException("Must enter a state name");
+		}
+		Set<String> names = new LinkedHashSet<String>();
+		for (String stateName : stateNames) {
+			if (stateName == null) {
+				throw new IllegalArgumentException("Must enter a state name");
+			}
+			names.add(stateName);
+		}
+		states = Collections.unmodifiableSet(names);
+		return this;
+	}
+
+	/**
+	 * Limits the query to bugs with an owner
+	 * @param ownerName name of the owner
+	 * @return this query
+	 */
+	public BugQuery withOwner(String ownerName) {
+		if (ownerName == null) {
+			throw new IllegalArgumentException("Must enter an owner's name");
+		}
+		owner = ownerName;
+		return this;
+	}
+
+	/**
+	 * Limits the query to bugs with a reporter
+	 * @param reporterName name of the reporter
+	 * @return this query
+	 */
+	public BugQuery withReporter(String reporterName) {
+		if (reporterName == null) {
+			throw new IllegalArgumentException("Must enter a reporter's name");
+		}
+		reporter = reporterName;
+		return this;
+	}
+
+	/**
+	 * Limits the query to bugs with a number of votes in a range
+	 * @param min fewest votes, inclusive
+	 * @param max most votes, inclusive
+	 * @return this query
+	 */
+	public BugQuery withVotes(int min, int max) {
+		if (min > max) {
+			throw new IllegalArgumentException("Invalid vote range");
+		}
+		minVotes = min;
+		maxVotes = max;
+		return this;
+	}
+
+	/**
+	 * Limits the query to bugs with a confirmation status
+	 * @param isConfirmed true for confirmed bugs, false for unconfirmed bugs
+	 * @return this query
+	 */
+	public BugQuery withConfirmed(boolean isConfirmed) {
+		confirmed = isConfirmed;
+		return this;
+	}
+
+	/**
+	 * Limits the query to bugs with a resolution
+	 * @param r resolution bugs must have, or null for bugs without one
+	 * @return this query
+	 */
+	public BugQuery withResolution(Resolution r) {
+		resolutionSet = true;
+		resolution = r;
+		return this;
+	}
+
+	/**
+	 * Limits the query to bugs that do not have a resolution.  Bugs
+	 * without any resolution still match.
+	 * @param r resolution bugs must not have
+	 * @return this query
+	 */
+	public BugQuery withoutResolution(Resolution r) {
+		if (r == null) {
+			throw new IllegalArgumentException("Resolution cannot be null");
+		}
+		excludedResolutions.add(r);
+		return this;
+	}
+
+	/**
+	 * Limits the query to bugs whose summary or notes contain every word in some text
+	 * @param words words to search for
+	 * @return this query
+	 */
+	public BugQuery withText(String words) {
+		if (words == null) {
+			throw new IllegalArgumentException("Must enter a search query");
+		}
+		text = words;
+		return this;
+	}
+
+	/**
+	 * Gets the names of the states bugs may be in
+	 * @return names of the states, or null for any state
+	 */
+	public Set<String> getStates() {
+		return states;
+	}
+
+	/**
+	 * Gets the owner bugs must have
+	 * @return owner, or null for any owner
+	 */
+	public String getOwner() {
+		return owner;
+	}
+
+	/**
+	 * Gets the reporter bugs must have
+	 * @return reporter, or null for any reporter
+	 */
+	public String getReporter() {
+		return reporter;
+	}
+
+	/**
+	 * Gets the fewest votes a bug may have
+	 * @return fewest votes
+	 */
+	public int getMinVotes() {
+		return minVotes;
+	}
+
+	/**
+	 * Gets the most votes a bug may have
+	 * @return most votes
+	 */
+	public int getMaxVotes() {
+		return maxVotes;
+	}
+
+	/**
+	 * Gets the confirmation status bugs must have
+	 * @return confirmation status, or null for either
+	 */
+	public Boolean getConfirmed() {
+		return confirmed;
+	}
+
+	/**
+	 * Checks whether the query is limited to a resolution
+	 * @return true if bugs must have the resolution from getResolution
+	 */
+	public boolean hasResolution() {
+		return resolutionSet;
+	}
+
+	/**
+	 * Gets the resolution bugs must have
+	 * @return resolution, or null for bugs without one
+	 */
+	public Resolution getResolution() {
+		return resolution;
+	}
+
+	/**
+	 * Gets the resolutions bugs must not have
+	 * @return resolutions to leave out, empty if there are none
+	 */
+	public Set<Resolution> getExcludedResolutions() {
+		return Collections.unmodifiableSet(excludedResolutions);
+	}
+
+	/**
+	 * Gets the words bugs must contain
+	 * @return words to search for, or null for no text condition
+	 */
+	public String getText() {
+		return text;
+	}
+
+}
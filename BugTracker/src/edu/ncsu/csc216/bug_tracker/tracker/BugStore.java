@@ -0,0 +1,295 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Holds the {@link TrackedBug}s of a {@link BugList} in the order they
+ * were added and finds them by ID.  Deleting a bug only clears its slot,
+ * leaving a tombstone that readers skip.  Once tombstones outnumber the
+ * bugs still in the store, the live bugs are copied into a new array.
+ * Iterators keep walking the array they started on, so compaction never
+ * moves a bug under a reader.  Changes are made one at a time under a
+ * write lock.  Readers never take a lock unless a lookup by ID overlaps
+ * a change, in which case the lookup is repeated under a read lock.
+ *
+ * @author Josh Stetson
+ */
+public class BugStore extends AbstractCollection<TrackedBug> {
+
+	/** Smallest number of tombstones that triggers a compaction */
+	private static final int MIN_TOMBSTONES = 64;
+	/** Bugs in the order they were added, null marks a deleted bug */
+	private TrackedBug[] slots;
+	/** Number of slots in use, including tombstones */
+	private int end;
+	/** Number of bugs that have not been deleted */
+	private int live;
+	/** Slot of each bug, by bug ID */
+	private IntIntMap slotsById;
+	/** Slots and end published to readers after every change */
+	private volatile View view;
+	/** Number of bugs that have not been deleted, published to readers */
+	private volatile int liveCount;
+	/** Lock held while the store is changed */
+	private StampedLock lock;
+
+	/**
+	 * Constructor for BugStore
+	 * Creates an empty store
+	 */
+	public BugStore() {
+		slots = new TrackedBug[16];
+		slotsById = new IntIntMap();
+		view = new View(slots, 0);
+		lock = new StampedLock();
+	}
+
+	/**
+	 * Adds a bug after all other bugs
+	 * @param b TrackedBug to add
+	 * @return true, as the store always changes
+	 * @throws IllegalArgumentException if a bug with the same ID is
+	 * already in the store
+	 */
+	@Override
+	public boolean add(TrackedBug b) {
+		long stamp = lock.writeLock();
+		try {
+			if (slotsById.containsKey(b.getBugId())) {
+				throw new IllegalArgumentException("Bug " + b.getBugId() + " is already in the store");
+			}
+			addSlot(b);
+			return true;
+		} finally {
+			publish();
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Adds a bug after all other bugs while holding the write lock
+	 * @param b TrackedBug to add, with an ID not yet in the store
+	 */
+	private void addSlot(TrackedBug b) {
+		if (end == slots.length) {
+			if (end - live >= MIN_TOMBSTONES && end - live > live) {
+				compactSlots();
+			}
+			if (end == slots.length) {
+				TrackedBug[] grown = new TrackedBug[slots.length * 2];
+				System.arraycopy(slots, 0, grown, 0, end);
+				slots = grown;
+			}
+		}
+		slots[end] = b;
+		live++;
+		slotsById.put(b.getBugId(), end);
+		end++;
+	}
+
+	/**
+	 * Gets a bug by its ID
+	 * @param bugId ID of the bug
+	 * @return TrackedBug with the ID, or null if there is none
+	 */
+	public TrackedBug get(int bugId) {
+		long stamp = lock.tryOptimisticRead();
+		TrackedBug b = null;
+		try {
+			b = find(bugId);
+		} catch (RuntimeException e) {
+			//A change moved the arrays under the lookup, repeat it below
+			stamp = 0;
+		}
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				b = find(bugId);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return b;
+	}
+
+	/**
+	 * Looks up a bug by its ID without locking
+	 * @param bugId ID of the bug
+	 * @return TrackedBug with the ID, or null if there is none
+	 */
+	private TrackedBug find(int bugId) {
+		int slot = slotsById.get(bugId);
+		if (slot == IntIntMap.NO_VALUE) {
+			return null;
+		}
+		return slots[slot];
+	}
+
+	/**
+	 * Deletes a bug by its ID, leaving a tombstone in its slot
+	 * @param bugId ID of the bug
+	 * @return TrackedBug deleted, or null if there was none with the ID
+	 */
+	public TrackedBug remove(int bugId) {
+		long stamp = lock.writeLock();
+		try {
+			int slot = slotsById.remove(bugId);
+			if (slot == IntIntMap.NO_VALUE) {
+				return null;
+			}
+			TrackedBug b = slots[slot];
+			slots[slot] = null;
+			live--;
+			if (end - live >= MIN_TOMBSTONES && end - live > live) {
+				compactSlots();
+			}
+			return b;
+		} finally {
+			publish();
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Gets the number of bugs that have not been deleted
+	 * @return number of bugs
+	 */
+	@Override
+	public int size() {
+		return liveCount;
+	}
+
+	/**
+	 * Gets the number of tombstones left by deleted bugs
+	 * @return number of tombstones
+	 */
+	public int getTombstoneCount() {
+		View current = view;
+		return current.end - liveCount;
+	}
+
+	/**
+	 * Copies the bugs that have not been deleted into a new array, in order.
+	 * Iterators created before the compaction keep walking the old array.
+	 */
+	public void compact() {
+		long stamp = lock.writeLock();
+		try {
+			compactSlots();
+		} finally {
+			publish();
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Copies the bugs that have not been deleted into a new array while
+	 * holding the write lock
+	 */
+	private void compactSlots() {
+		TrackedBug[] compacted = new TrackedBug[Math.max(16, live * 2)];
+		int next = 0;
+		for (int i = 0; i < end; i++) {
+			if (slots[i] != null) {
+				slotsById.put(slots[i].getBugId(), next);
+				compacted[next] = slots[i];
+				next++;
+			}
+		}
+		slots = compacted;
+		end = next;
+	}
+
+	/**
+	 * Gets an iterator over the bugs in the order they were added.  The
+	 * iterator walks the bugs present when it was created.  A bug deleted
+	 * while the iterator is in use may or may not be returned.
+	 * @return iterator over the bugs
+	 */
+	@Override
+	public Iterator<TrackedBug> iterator() {
+		View current = view;
+		return new StoreIterator(current.slots, current.end);
+	}
+
+	/**
+	 * Publishes the slots and counts to readers after a change
+	 */
+	private void publish() {
+		view = new View(slots, end);
+		liveCount = live;
+	}
+
+	/**
+	 * Inner class that pairs an array of slots with the number in use, so
+	 * readers always see the two together
+	 *
+	 * @author Josh Stetson
+	 */
+	private static class View {
+
+		/** Slots of the store */
+		private final TrackedBug[] slots;
+		/** Number of slots in use */
+		private final int end;
+
+		/**
+		 * Constructor for View
+		 * @param slots slots of the store
+		 * @param end number of slots in use
+		 */
+		public View(TrackedBug[] slots, int end) {
+			this.slots = slots;
+			this.end = end;
+		}
+	}
+
+	/**
+	 * Inner class that walks one array of slots, skipping tombstones
+	 *
+	 * @author Josh Stetson
+	 */
+	private static class StoreIterator implements Iterator<TrackedBug> {
+
+		/** Slots being walked */
+		private TrackedBug[] slots;
+		/** Number of slots to walk */
+		private int end;
+		/** Index of the next slot to look at */
+		private int next;
+
+		/**
+		 * Constructor for StoreIterator
+		 * @param slots slots to walk
+		 * @param end number of slots to walk
+		 */
+		public StoreIterator(TrackedBug[] slots, int end) {
+			this.slots = slots;
+			this.end = end;
+		}
+
+		public boolean hasNext() {
+			while (next < end && slots[next] == null) {
+				next++;
+			}
+			return next < end;
+		}
+
+		public TrackedBug next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return slots[next++];
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
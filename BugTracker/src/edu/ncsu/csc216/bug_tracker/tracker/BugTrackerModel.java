@@ -1,49 +1,99 @@
 package edu.ncsu.csc216.bug_tracker.tracker;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+import edu.ncsu.csc216.bug_tracker.bug.BugSnapshot;
 import edu.ncsu.csc216.bug_tracker.bug.Command;
 import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+import edu.ncsu.csc216.bug_tracker.xml.Bug;
 import edu.ncsu.csc216.bug_tracker.xml.BugIOException;
 import edu.ncsu.csc216.bug_tracker.xml.BugReader;
 import edu.ncsu.csc216.bug_tracker.xml.BugWriter;
 
 /**
- * Maintains the BugList and handles commands from the GUI
+ * Maintains the BugList and handles commands from the GUI.  Each model
+ * has its own BugList and bug IDs, so several trackers can run in one
+ * process, usually held by a {@link BugTrackerRegistry}.
  * 
  * @author Josh Stetson
  */
 public class BugTrackerModel {
 	
-	/** Single instance of BugTrackerModel */
-	private static BugTrackerModel singleton;
-	/** List of bugs to be maintained */
-	private BugList bugList;
+	/** Number of bugs loaded or saved between reports of progress */
+	private static final int PROGRESS_BATCH = 1000;
+	/** Largest number of matches shown for a search */
+	public static final int SEARCH_PAGE_SIZE = 100;
+	/**
+	 * List of bugs to be maintained, replaced by createNewBugList.  Each
+	 * operation reads it once, so it works on a single list throughout.
+	 */
+	private volatile BugList bugList;
+	/** Runs commands submitted without waiting for them */
+	private CommandPipeline pipeline;
+	/** Publishes the changes made to every buglist the model has */
+	private BugEventPublisher events;
+	
+	/**
+	 * Constructor for BugTrackerModel
+	 * Creates a model with an empty BugList whose asynchronous commands
+	 * run on {@link CommandPipeline#defaultExecutor()}
+	 */
+	public BugTrackerModel() {
+		this(CommandPipeline.defaultExecutor());
+	}
 	
 	/**
-	 * Constructor for BugTrackerModel (singleton)
+	 * Constructor for BugTrackerModel
+	 * Creates a model with an empty BugList
+	 * @param executor runs the commands submitted with executeCommandAsync
 	 */
-	private BugTrackerModel() {
-		bugList = new BugList();
+	public BugTrackerModel(Executor executor) {
+		pipeline = new CommandPipeline(executor);
+		events = new BugEventPublisher(executor);
+		bugList = new BugList(events);
 	}
 	
 	/**
-	 * Creates an instance of BugTrackerModel if one has not been created
-	 * @return instance of BugTrackerModel
+	 * Gets the model used by the GUI, which is the default model of the
+	 * application's {@link BugTrackerRegistry}
+	 * @return default instance of BugTrackerModel
 	 */
 	public static BugTrackerModel getInstance() {
-		if (singleton == null) {
-			singleton = new BugTrackerModel();
-		}
-		return singleton;
+		return BugTrackerRegistry.getDefault().getModel(BugTrackerRegistry.DEFAULT_NAME);
 	}
 	
 	/**
-	 * Saves the current BugList to an xml file
+	 * Saves the current BugList to an xml file.  The file holds the bugs
+	 * as they were when the save started, even if they change during it.
 	 * @param fileName Name of file to save to
 	 */
 	public void saveBugsToFile(String fileName) {
+		saveBugsToFile(fileName, null);
+	}
+	
+	/**
+	 * Saves the current BugList to an xml file, telling a listener as the
+	 * bugs are converted.  The file holds the bugs as they were when the
+	 * save started.  If the listener stops the save, no file is written.
+	 * @param fileName Name of file to save to
+	 * @param listener listener told of the progress, or null
+	 * @return true if the file was written, false if the save was stopped
+	 */
+	public boolean saveBugsToFile(String fileName, ProgressListener listener) {
 		BugWriter writer = new BugWriter(fileName);
-		for (int i = 0; i < bugList.getBugs().size(); i++) {
-			writer.addItem(bugList.getBugs().get(i).getXMLBug());
+		List<BugSnapshot> bugs = bugList.snapshot().getBugs();
+		for (int i = 0; i < bugs.size(); i++) {
+			writer.addItem(bugs.get(i).getXMLBug());
+			if (listener != null && (i + 1) % PROGRESS_BATCH == 0 && !listener.progress(i + 1, bugs.size())) {
+				return false;
+			}
+		}
+		if (listener != null && !listener.progress(bugs.size(), bugs.size())) {
+			return false;
 		}
 		try {
 			writer.marshal();
@@ -51,6 +101,7 @@ public class BugTrackerModel {
 			//e.printStackTrace();
 			throw new IllegalArgumentException();
 		}
+		return true;
 	}
 	
 	/**
@@ -68,33 +119,93 @@ public class BugTrackerModel {
 	}
 	
 	/**
-	 * Creates a new empty buglist
+	 * Loads an xml file by adding the bugs to the buglist in batches,
+	 * telling a listener after each batch.  The bugs of each batch can be
+	 * seen before the next is added.  If the listener stops the load, the
+	 * bugs already added are removed again.
+	 * @param fileName Name of file to load
+	 * @param listener listener told of the progress, or null
+	 * @return number of bugs added, or 0 if the load was stopped
+	 */
+	public int loadBugsFromFile(String fileName, ProgressListener listener) {
+		List<Bug> bugs;
+		try {
+			bugs = new BugReader(fileName).getBugs();
+		} catch (BugIOException e) {
+			//e.printStackTrace();
+			throw new IllegalArgumentException();
+		}
+		return bugList.addXMLBugs(bugs, PROGRESS_BATCH, listener);
+	}
+	
+	/**
+	 * Creates a new empty buglist.  Subscribers to the model's events are
+	 * told the list was cleared and then receive the new list's events.
+	 * The new list is only used once the event is published, so none of
+	 * its events come before it.  Events the old list still makes, such
+	 * as for commands already submitted, are not delivered.
 	 */
 	public void createNewBugList() {
-		bugList = new BugList();
-		TrackedBug.setCounter(0);
+		BugList created = new BugList(events);
+		events.publish(new BugEvent(BugEvent.Type.CLEARED, created, null, null, null));
+		bugList = created;
+	}
+	
+	/**
+	 * Gets the publisher of the changes made to the buglist, which keeps
+	 * its subscribers when a new buglist is created
+	 * @return publisher of the model's events
+	 */
+	public Flow.Publisher<BugEvent> getEvents() {
+		return events;
+	}
+	
+	/**
+	 * Takes an unchangeable view of the buglist as it is now, which can be
+	 * read while commands go on changing the buglist
+	 * @return view of the buglist
+	 */
+	public BugListSnapshot getSnapshot() {
+		return bugList.snapshot();
 	}
 	
 	/**
-	 * Populates an array of buglist data displayed in the GUI for all bugs in the buglist
+	 * Populates an array of buglist data displayed in the GUI for all bugs
+	 * in the buglist, in order of ID, as they were at one moment
 	 * @return array of buglist data
 	 */
 	public Object[][] getBugListAsArray() {
-		Object[][] bugListArray = new Object[bugList.getBugs().size()][3];
-		for (int i = 0; i < bugList.getBugs().size(); i++) {
-			for (int j = 0; j < 3; j++) {
-				if (j == 0) {
-					bugListArray[i][j] = bugList.getBugs().get(i).getBugId();
-				} else if (j == 1) {
-					bugListArray[i][j] = bugList.getBugs().get(i).getState().getStateName();
-				} else if (j == 2) {
-					bugListArray[i][j] = bugList.getBugs().get(i).getSummary();
-				}
-			}
+		List<BugSnapshot> bugs = bugList.snapshot().getBugs();
+		Object[][] bugListArray = new Object[bugs.size()][3];
+		for (int i = 0; i < bugs.size(); i++) {
+			BugSnapshot b = bugs.get(i);
+			bugListArray[i][0] = b.getBugId();
+			bugListArray[i][1] = b.getStateName();
+			bugListArray[i][2] = b.getSummary();
 		}
 		return bugListArray;
 	}
 	
+	/**
+	 * Gets the IDs of the bugs in the buglist, or of the bugs of one
+	 * owner, so a table can show them without copying their data
+	 * @param owner owner of the bugs, or null for every bug
+	 * @return bug IDs in increasing order
+	 */
+	public int[] getBugIds(String owner) {
+		return bugList.getBugIds(owner);
+	}
+	
+	/**
+	 * Gets the IDs of the bugs whose owner starts with a prefix, for
+	 * filtering a table as the user types
+	 * @param prefix start of the owners' names
+	 * @return bug IDs in increasing order
+	 */
+	public int[] getBugIdsByOwnerPrefix(String prefix) {
+		return bugList.getBugIdsByOwnerPrefix(prefix);
+	}
+	
 	/**
 	 * Populates an array of buglist data diplayed in the GUI based on bug owner
 	 * @param owner owner of bugs to compare to for populating array
@@ -104,27 +215,94 @@ public class BugTrackerModel {
 		if (owner == null) {
 			throw new IllegalArgumentException("Must enter an owner's name");
 		}
-		int ownerCount = 0;
-		for (int i = 0; i < bugList.getBugs().size(); i++) {
-			if (bugList.getBugs().get(i).getOwner() != null && bugList.getBugs().get(i).getOwner().equals(owner)) {
-				ownerCount++;
-			}
-		}
-		Object[][] bugListArray = new Object[ownerCount][3];
-		int activeRow = 0;
-		for (int i = 0; i < bugList.getBugs().size(); i++) {
-			for (int j = 0; j < 3; j++) {
-				if (bugList.getBugs().get(i).getOwner() != null && bugList.getBugs().get(i).getOwner().equals(owner)) {
-					if (j == 0) {
-						bugListArray[activeRow][j] = (Integer)bugList.getBugs().get(i).getBugId();
-					} else if (j == 1) {
-						bugListArray[activeRow][j] = bugList.getBugs().get(i).getState().getStateName();
-					} else if (j == 2) {
-						bugListArray[activeRow][j] = bugList.getBugs().get(i).getSummary();
-						activeRow++;
-					}
-				}
-			}
+		return toArray(bugList.getBugsByOwner(owner));
+	}
+	
+	/**
+	 * Populates an array of buglist data displayed in the GUI for the bugs whose
+	 * summary or notes match a search query, best match first.  Only the
+	 * best {@link #SEARCH_PAGE_SIZE} matches are shown.
+	 * @param query words to search for
+	 * @return array of buglist data matching the query
+	 */
+	public Object[][] getBugListBySearchAsArray(String query) {
+		return toArray(bugList.search(query, SEARCH_PAGE_SIZE));
+	}
+	
+	/**
+	 * Populates an array of buglist data displayed in the GUI for one page
+	 * of the bugs matching a query, in order of bug ID
+	 * @param q query the bugs must match, or null for any bug
+	 * @param offset number of matching bugs to skip
+	 * @param limit largest number of rows to return
+	 * @return array of buglist data for the page
+	 */
+	public Object[][] getBugPageAsArray(BugQuery q, int offset, int limit) {
+		return toArray(bugList.getPage(q, offset, limit));
+	}
+	
+	/**
+	 * Populates an array of buglist data displayed in the GUI for the page
+	 * of bugs matching a query that follows a bug ID, in order of bug ID
+	 * @param q query the bugs must match, or null for any bug
+	 * @param afterBugId ID the bugs must be greater than, or -1 for the first page
+	 * @param limit largest number of rows to return
+	 * @return array of buglist data for the page
+	 */
+	public Object[][] getBugPageAfterAsArray(BugQuery q, int afterBugId, int limit) {
+		return toArray(bugList.getPageAfter(q, afterBugId, limit));
+	}
+	
+	/**
+	 * Searches the summary and notes of the bugs in the buglist
+	 * @param query words to search for
+	 * @param maxResults largest number of bugs to return
+	 * @return bugs matching the query, best match first
+	 */
+	public List<TrackedBug> searchBugs(String query, int maxResults) {
+		return bugList.search(query, maxResults);
+	}
+	
+	/**
+	 * Finds the bugs in the buglist that match every condition of a query
+	 * @param q query describing the bugs to find
+	 * @return iterator over the bugs matching the query
+	 */
+	public Iterator<TrackedBug> queryBugs(BugQuery q) {
+		return bugList.query(q);
+	}
+	
+	/**
+	 * Counts the bugs in the buglist that match every condition of a query
+	 * @param q query describing the bugs to count
+	 * @return number of bugs matching the query
+	 */
+	public int countBugs(BugQuery q) {
+		return bugList.count(q);
+	}
+	
+	/**
+	 * Gets the bugs in the buglist with the most votes, most votes first
+	 * @param maxResults largest number of bugs to return
+	 * @param q query the bugs must match, or null for any bug
+	 * @return the most voted bugs matching the query
+	 */
+	public List<TrackedBug> getMostVotedBugs(int maxResults, BugQuery q) {
+		return bugList.getMostVotedBugs(maxResults, q);
+	}
+	
+	/**
+	 * Populates an array of buglist data displayed in the GUI for the given bugs
+	 * @param bugs bugs to put in the array
+	 * @return array with the ID, state name and summary of each bug
+	 */
+	private Object[][] toArray(List<TrackedBug> bugs) {
+		Object[][] bugListArray = new Object[bugs.size()][3];
+		for (int i = 0; i < bugs.size(); i++) {
+			TrackedBug b = bugs.get(i);
+			bugListArray[i][0] = b.getBugId();
+			bugListArray[i][1] = b.getState().getStateName();
+			bugListArray[i][2] = b.getSummary();
 		}
 		return bugListArray;
 	}
@@ -144,7 +322,43 @@ public class BugTrackerModel {
 	 * @param c command to be executed based on state of bug
 	 */
 	public void executeCommand(int bugId, Command c) {
-		bugList.executeCommand(bugList.getBugById(bugId).getBugId(), c);
+		bugList.executeCommand(bugId, c);
+	}
+	
+	/**
+	 * Sends a command to a bug only if the bug has not changed since it
+	 * was read at a version
+	 * @param bugId ID of bug to execute command on
+	 * @param expectedVersion version of the bug when it was read
+	 * @param c command to be executed based on state of bug
+	 * @return true if the command was applied, false if there is no bug
+	 * with the ID or its version has changed
+	 */
+	public boolean executeCommand(int bugId, int expectedVersion, Command c) {
+		return bugList.executeCommand(bugId, expectedVersion, c);
+	}
+	
+	/**
+	 * Sends a command to a bug without waiting for it to be applied.
+	 * Commands for the same bug are applied in the order they are sent,
+	 * and commands for different bugs are applied in parallel.  The
+	 * command is applied to the buglist the model had when it was sent.
+	 * @param bugId ID of bug to execute command on
+	 * @param c command to be executed based on state of bug
+	 * @return future completed once the command has been applied, or
+	 * completed with the exception thrown if it could not be
+	 */
+	public CompletableFuture<Void> executeCommandAsync(int bugId, Command c) {
+		return pipeline.submit(bugList, bugId, c);
+	}
+	
+	/**
+	 * Sends a batch of commands to bugs based on their IDs.  The outcome of
+	 * each command is recorded in the batch instead of being thrown.
+	 * @param batch commands to execute
+	 */
+	public void executeCommands(CommandBatch batch) {
+		bugList.executeCommands(batch);
 	}
 	
 	/**
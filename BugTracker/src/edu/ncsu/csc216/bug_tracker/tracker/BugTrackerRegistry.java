@@ -0,0 +1,113 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Holds any number of independent {@link BugTrackerModel}s by name, one
+ * for each project.  Each model keeps its own {@link BugList} and IDs, so
+ * one process can serve many trackers.  Models are created the first
+ * time they are asked for and may be asked for from any thread.  All
+ * models of a registry run their asynchronous commands on one executor.
+ *
+ * @author Josh Stetson
+ */
+public class BugTrackerRegistry {
+
+	/** Name of the model used by the GUI */
+	public static final String DEFAULT_NAME = "default";
+	/** Registry shared by the whole application */
+	private static final BugTrackerRegistry DEFAULT = new BugTrackerRegistry();
+	/** Models by name */
+	private ConcurrentMap<String, BugTrackerModel> models;
+	/** Runs the asynchronous commands of every model */
+	private Executor executor;
+
+	/**
+	 * Constructor for BugTrackerRegistry
+	 * Creates a registry with no models whose asynchronous commands run
+	 * on {@link CommandPipeline#defaultExecutor()}, as they do for a model
+	 * created on its own
+	 */
+	public BugTrackerRegistry() {
+		this(CommandPipeline.defaultExecutor());
+	}
+
+	/**
+	 * Constructor for BugTrackerRegistry
+	 * Creates a registry with no models
+	 * @param executor runs the asynchronous commands of every model
+	 */
+	public BugTrackerRegistry(Executor executor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor cannot be null");
+		}
+		models = new ConcurrentHashMap<String, BugTrackerModel>();
+		this.executor = executor;
+	}
+
+	/**
+	 * Gets the registry shared by the whole application
+	 * @return shared registry
+	 */
+	public static BugTrackerRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Gets the model with a name, creating it with an empty bug list if
+	 * there is none.  Threads asking for the same name at once get the
+	 * same model.
+	 * @param name name of the model
+	 * @return model with the name
+	 */
+	public BugTrackerModel getModel(String name) {
+		if (name == null || name.equals("")) {
+			throw new IllegalArgumentException("Must enter a tracker name");
+		}
+		BugTrackerModel model = models.get(name);
+		if (model == null) {
+			BugTrackerModel created = new BugTrackerModel(executor);
+			model = models.putIfAbsent(name, created);
+			if (model == null) {
+				model = created;
+			}
+		}
+		return model;
+	}
+
+	/**
+	 * Checks whether there is a model with a name
+	 * @param name name of the model
+	 * @return true if the model exists
+	 */
+	public boolean hasModel(String name) {
+		return name != null && models.containsKey(name);
+	}
+
+	/**
+	 * Removes the model with a name.  Anyone still holding the model may
+	 * keep using it, but the registry creates a new one for the name.
+	 * @param name name of the model
+	 * @return model that was removed, or null if there was none
+	 */
+	public BugTrackerModel removeModel(String name) {
+		if (name == null) {
+			return null;
+		}
+		return models.remove(name);
+	}
+
+	/**
+	 * Gets the names of the models, in alphabetical order
+	 * @return names of the models
+	 */
+	public Set<String> getNames() {
+		return Collections.unmodifiableSet(new TreeSet<String>(models.keySet()));
+	}
+
+}
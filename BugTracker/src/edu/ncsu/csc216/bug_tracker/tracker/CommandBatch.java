@@ -0,0 +1,186 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command;
+
+/**
+ * An ordered list of {@link Command}s, each sent to a bug by its ID.  When
+ * the batch is executed by a {@link BugList}, the outcome of every item is
+ * recorded in the batch instead of being thrown, so one bad item does not
+ * stop the rest.  Items are added by chaining, for example
+ * <code>new CommandBatch().add(1, c).add(2, c)</code>.  An item may also
+ * name the version of the bug it was built from, in which case it is only
+ * applied if the bug has not changed since.
+ *
+ * @author Josh Stetson
+ */
+public class CommandBatch {
+
+	/** Expected version of an item that is applied whatever the bug's version */
+	public static final int ANY_VERSION = -1;
+	/** IDs of the bugs each command is sent to */
+	private int[] bugIds;
+	/** Version each bug is expected to have, or ANY_VERSION */
+	private int[] versions;
+	/** Commands in the order they were added */
+	private Command[] commands;
+	/** Outcome of each command, null until the batch is executed */
+	private Outcome[] outcomes;
+	/** Number of items in the batch */
+	private int size;
+
+	/**
+	 * Constructor for CommandBatch
+	 * Creates an empty batch
+	 */
+	public CommandBatch() {
+		bugIds = new int[8];
+		versions = new int[8];
+		commands = new Command[8];
+		outcomes = new Outcome[8];
+	}
+
+	/**
+	 * Adds a command to the end of the batch
+	 * @param bugId ID of the bug to send the command to
+	 * @param c command to send
+	 * @return this batch
+	 */
+	public CommandBatch add(int bugId, Command c) {
+		return add(bugId, ANY_VERSION, c);
+	}
+
+	/**
+	 * Adds a command to the end of the batch that is only applied if the
+	 * bug is at the expected version when the command is reached
+	 * @param bugId ID of the bug to send the command to
+	 * @param expectedVersion version the bug must have, or ANY_VERSION
+	 * @param c command to send
+	 * @return this batch
+	 */
+	public CommandBatch add(int bugId, int expectedVersion, Command c) {
+		if (c == null) {
+			throw new IllegalArgumentException("Command cannot be null");
+		}
+		if (size == commands.length) {
+			int[] grownIds = new int[size * 2];
+			int[] grownVersions = new int[size * 2];
+			Command[] grownCommands = new Command[size * 2];
+			Outcome[] grownOutcomes = new Outcome[size * 2];
+			System.arraycopy(bugIds, 0, grownIds, 0, size);
+			System.arraycopy(versions, 0, grownVersions, 0, size);
+			System.arraycopy(commands, 0, grownCommands, 0, size);
+			System.arraycopy(outcomes, 0, grownOutcomes, 0, size);
+			bugIds = grownIds;
+			versions = grownVersions;
+			commands = grownCommands;
+			outcomes = grownOutcomes;
+		}
+		bugIds[size] = bugId;
+		versions[size] = expectedVersion;
+		commands[size] = c;
+		size++;
+		return this;
+	}
+
+	/**
+	 * Gets the number of items in the batch
+	 * @return number of items
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the ID of the bug an item is sent to
+	 * @param index index of the item
+	 * @return ID of the bug
+	 */
+	public int getBugId(int index) {
+		checkIndex(index);
+		return bugIds[index];
+	}
+
+	/**
+	 * Gets the version the bug of an item is expected to have
+	 * @param index index of the item
+	 * @return expected version, or ANY_VERSION
+	 */
+	public int getExpectedVersion(int index) {
+		checkIndex(index);
+		return versions[index];
+	}
+
+	/**
+	 * Gets the command of an item
+	 * @param index index of the item
+	 * @return command to send
+	 */
+	public Command getCommand(int index) {
+		checkIndex(index);
+		return commands[index];
+	}
+
+	/**
+	 * Gets the outcome of an item
+	 * @param index index of the item
+	 * @return outcome of the item, or null if the batch has not been executed
+	 */
+	public Outcome getOutcome(int index) {
+		checkIndex(index);
+		return outcomes[index];
+	}
+
+	/**
+	 * Counts the items with an outcome
+	 * @param outcome outcome to count
+	 * @return number of items with the outcome
+	 */
+	public int getCount(Outcome outcome) {
+		int count = 0;
+		for (int i = 0; i < size; i++) {
+			if (outcomes[i] == outcome) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Records the outcome of an item
+	 * @param index index of the item
+	 * @param outcome outcome of the item
+	 */
+	void setOutcome(int index, Outcome outcome) {
+		checkIndex(index);
+		outcomes[index] = outcome;
+	}
+
+	/**
+	 * Checks that an index refers to an item in the batch
+	 * @param index index to check
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Invalid batch index");
+		}
+	}
+
+	/**
+	 * Outcome of one item of an executed batch
+	 *
+	 * @author Josh Stetson
+	 */
+	public enum Outcome {
+		/** The command was applied to the bug */
+		APPLIED,
+		/** There is no bug with the ID */
+		NOT_FOUND,
+		/** The bug's state does not accept the command */
+		INVALID_TRANSITION,
+		/** The command is missing information the bug's state needs */
+		INVALID_COMMAND,
+		/** The bug changed after the expected version, so the command was not applied */
+		CONFLICT
+	}
+
+}
@@ -0,0 +1,254 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiFunction;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command;
+
+/**
+ * Runs commands on the bugs of {@link BugList}s without making the
+ * caller wait.  Each bug with commands waiting has its own queue, kept
+ * by list and bug ID so lists sharing a pipeline never share a queue,
+ * is worked through by one task at a time on a shared {@link Executor}.
+ * Commands for one bug are therefore applied in the order they were
+ * submitted, while different bugs are worked on in parallel.  A queue
+ * is dropped as soon as it is empty, so idle bugs cost nothing.  If the
+ * executor rejects a task, the thread that tried to hand it over works
+ * through the queue itself, so no command is left waiting.
+ *
+ * @author Josh Stetson
+ */
+public class CommandPipeline {
+
+	/** Largest number of commands a queue runs before letting other queues run */
+	private static final int RUN_LENGTH = 64;
+	/** Runs the tasks that work through the queues */
+	private Executor executor;
+	/** Queues of bugs that have commands waiting, by list and bug ID */
+	private ConcurrentMap<QueueKey, Queue<Runnable>> queues;
+
+	/**
+	 * Constructor for CommandPipeline
+	 * @param executor runs the tasks that work through the queues
+	 */
+	public CommandPipeline(Executor executor) {
+		if (executor == null) {
+			throw new IllegalArgumentException("Executor cannot be null");
+		}
+		this.executor = executor;
+		queues = new ConcurrentHashMap<QueueKey, Queue<Runnable>>();
+	}
+
+	/**
+	 * Creates the executor used when none is given.  On a JDK with virtual
+	 * threads each task gets its own virtual thread, since commands mostly
+	 * wait on bug locks.  Older JDKs, which the project still builds on,
+	 * use the common fork/join pool instead.
+	 * <p>
+	 * A thread waiting for a busy bug waits on its list's stripe lock, a
+	 * {@link java.util.concurrent.locks.ReentrantLock}, so a virtual thread
+	 * gives up its carrier while it waits.  The update itself runs inside
+	 * the bug's monitor, though, and a virtual thread that waits there for
+	 * the list's index lock keeps its carrier on JDKs before 24.  On those
+	 * JDKs commands run no more in parallel than there are carriers, the
+	 * same as on the fork/join pool.
+	 * @return executor for a pipeline's tasks
+	 */
+	public static Executor defaultExecutor() {
+		try {
+			return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return ForkJoinPool.commonPool();
+		}
+	}
+
+	/**
+	 * Submits a command for a bug.  It is applied after every command
+	 * submitted for the same bug before it.
+	 * @param bugList list holding the bug
+	 * @param bugId ID of bug to be updated
+	 * @param c command to be executed based on state of bug
+	 * @return future completed once the command has been applied, or
+	 * completed with the exception thrown if it could not be
+	 */
+	public CompletableFuture<Void> submit(final BugList bugList, final int bugId, final Command c) {
+		if (c == null) {
+			throw new IllegalArgumentException("Command cannot be null");
+		}
+		final CompletableFuture<Void> future = new CompletableFuture<Void>();
+		final Runnable task = new Runnable() {
+			public void run() {
+				try {
+					bugList.executeCommand(bugId, c);
+					future.complete(null);
+				} catch (Throwable t) {
+					future.completeExceptionally(t);
+				}
+			}
+		};
+		final QueueKey key = new QueueKey(bugList, bugId);
+		final boolean[] started = new boolean[1];
+		queues.compute(key, new BiFunction<QueueKey, Queue<Runnable>, Queue<Runnable>>() {
+			public Queue<Runnable> apply(QueueKey k, Queue<Runnable> queue) {
+				if (queue == null) {
+					queue = new ArrayDeque<Runnable>();
+					started[0] = true;
+				}
+				queue.add(task);
+				return queue;
+			}
+		});
+		if (started[0]) {
+			schedule(new Drain(key));
+		}
+		return future;
+	}
+
+	/**
+	 * Gets the number of bugs that have commands waiting or running
+	 * @return number of bugs with a queue
+	 */
+	public int getQueueCount() {
+		return queues.size();
+	}
+
+	/**
+	 * Hands a task to the executor, or runs it on this thread if the
+	 * executor rejects it
+	 * @param drain task that works through a bug's queue
+	 */
+	private void schedule(Drain drain) {
+		try {
+			executor.execute(drain);
+		} catch (RejectedExecutionException e) {
+			drain.run();
+		}
+	}
+
+	/**
+	 * Takes the next command waiting for a bug.  If there is none, the
+	 * bug's queue is dropped in the same step, so a command submitted
+	 * afterwards starts a new queue.
+	 * @param key list and ID of the bug
+	 * @return next command, or null if the queue was empty
+	 */
+	private Runnable next(QueueKey key) {
+		final Runnable[] next = new Runnable[1];
+		queues.computeIfPresent(key, new BiFunction<QueueKey, Queue<Runnable>, Queue<Runnable>>() {
+			public Queue<Runnable> apply(QueueKey k, Queue<Runnable> queue) {
+				next[0] = queue.poll();
+				return next[0] == null ? null : queue;
+			}
+		});
+		return next[0];
+	}
+
+	/**
+	 * Task that works through the queue of one bug
+	 *
+	 * @author Josh Stetson
+	 */
+	private class Drain implements Runnable {
+
+		/** List and ID of the bug whose queue is worked through */
+		private QueueKey key;
+
+		/**
+		 * Constructor for Drain
+		 * @param key list and ID of the bug whose queue is worked through
+		 */
+		public Drain(QueueKey key) {
+			this.key = key;
+		}
+
+		/**
+		 * Runs the waiting commands of the bug, handing the rest of the
+		 * queue to a new task after a run so other bugs get a turn.  If
+		 * the executor rejects the new task, the run goes on here.  If
+		 * anything escapes a command, the rest of the queue is still
+		 * handed on, so later commands are not stranded.
+		 */
+		public void run() {
+			boolean finished = false;
+			try {
+				finished = drain();
+			} finally {
+				if (!finished) {
+					schedule(this);
+				}
+			}
+		}
+
+		/**
+		 * Works through the queue until it is empty or handed to a new task
+		 * @return true once the queue is empty or handed on
+		 */
+		private boolean drain() {
+			while (true) {
+				for (int i = 0; i < RUN_LENGTH; i++) {
+					Runnable task = next(key);
+					if (task == null) {
+						return true;
+					}
+					task.run();
+				}
+				try {
+					executor.execute(this);
+					return true;
+				} catch (RejectedExecutionException e) {
+					//The queue is still held by this task, so keep working through it
+				}
+			}
+		}
+	}
+
+	/**
+	 * Identifies the queue of one bug in one list.  Lists are told apart
+	 * by identity, as a list holds live bugs rather than values.
+	 *
+	 * @author Josh Stetson
+	 */
+	private static class QueueKey {
+
+		/** List holding the bug */
+		private BugList list;
+		/** ID of the bug */
+		private int bugId;
+
+		/**
+		 * Constructor for QueueKey
+		 * @param list list holding the bug
+		 * @param bugId ID of the bug
+		 */
+		public QueueKey(BugList list, int bugId) {
+			this.list = list;
+			this.bugId = bugId;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(list) + bugId;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof QueueKey)) {
+				return false;
+			}
+			QueueKey other = (QueueKey) obj;
+			return list == other.list && bugId == other.bugId;
+		}
+	}
+
+}
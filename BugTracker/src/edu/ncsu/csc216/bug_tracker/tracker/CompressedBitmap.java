@@ -0,0 +1,714 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Compressed set of ints, split into chunks of 65536 values the same way
+ * as a roaring bitmap.  Each chunk is keyed by the high 16 bits of its
+ * values and stores the low 16 bits either as a sorted array, while the
+ * chunk holds few values, or as 1024 words of bits once it holds more.
+ * Sets are combined chunk by chunk.  Two chunks of bits are combined with
+ * bitwise AND, OR and AND NOT, so a filter over many bugs costs a few
+ * word operations per 64 bugs.  A sorted array is merged with another
+ * array or checked against bits value by value, so sparse chunks stay
+ * arrays and cost time in proportion to the values they hold.
+ *
+ * @author Josh Stetson
+ */
+public class CompressedBitmap {
+
+	/** Largest number of values stored in a chunk as a sorted array */
+	private static final int ARRAY_MAX = 4096;
+	/** Number of words in a chunk stored as bits */
+	private static final int WORDS = 1024;
+	/** High 16 bits of the values in each chunk, in order */
+	private char[] highs;
+	/** Chunks, each a char[] of sorted low bits or a long[] of bits */
+	private Object[] chunks;
+	/** Number of values in each chunk */
+	private int[] counts;
+	/** Number of chunks in use */
+	private int size;
+
+	/**
+	 * Constructor for CompressedBitmap
+	 * Creates an empty set
+	 */
+	public CompressedBitmap() {
+		highs = new char[4];
+		chunks = new Object[4];
+		counts = new int[4];
+	}
+
+	/**
+	 * Adds a value to the set
+	 * @param value value to add
+	 * @return true if the value was not already in the set
+	 */
+	public boolean add(int value) {
+		char high = (char) (value >>> 16);
+		char low = (char) value;
+		int i = find(high);
+		if (i < 0) {
+			i = -i - 1;
+			insertChunk(i, high, new char[4]);
+		}
+		if (chunks[i] instanceof long[]) {
+			long[] words = (long[]) chunks[i];
+			long bit = 1L << low;
+			if ((words[low >>> 6] & bit) != 0) {
+				return false;
+			}
+			words[low >>> 6] |= bit;
+		} else {
+			char[] lows = (char[]) chunks[i];
+			int j = binarySearch(lows, counts[i], low);
+			if (j >= 0) {
+				return false;
+			}
+			j = -j - 1;
+			if (counts[i] == ARRAY_MAX) {
+				long[] words = toWords(lows, counts[i]);
+				words[low >>> 6] |= 1L << low;
+				chunks[i] = words;
+			} else {
+				if (counts[i] == lows.length) {
+					char[] grown = new char[Math.min(ARRAY_MAX, lows.length * 2)];
+					System.arraycopy(lows, 0, grown, 0, counts[i]);
+					lows = grown;
+					chunks[i] = lows;
+				}
+				System.arraycopy(lows, j, lows, j + 1, counts[i] - j);
+				lows[j] = low;
+			}
+		}
+		counts[i]++;
+		return true;
+	}
+
+	/**
+	 * Removes a value from the set
+	 * @param value value to remove
+	 * @return true if the value was in the set
+	 */
+	public boolean remove(int value) {
+		int i = find((char) (value >>> 16));
+		if (i < 0) {
+			return false;
+		}
+		char low = (char) value;
+		if (chunks[i] instanceof long[]) {
+			long[] words = (long[]) chunks[i];
+			long bit = 1L << low;
+			if ((words[low >>> 6] & bit) == 0) {
+				return false;
+			}
+			words[low >>> 6] &= ~bit;
+			counts[i]--;
+			if (counts[i] <= ARRAY_MAX) {
+				chunks[i] = toLows(words, counts[i]);
+			}
+		} else {
+			char[] lows = (char[]) chunks[i];
+			int j = binarySearch(lows, counts[i], low);
+			if (j < 0) {
+				return false;
+			}
+			System.arraycopy(lows, j + 1, lows, j, counts[i] - j - 1);
+			counts[i]--;
+		}
+		if (counts[i] == 0) {
+			removeChunk(i);
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether a value is in the set
+	 * @param value value to look for
+	 * @return true if the value is in the set
+	 */
+	public boolean contains(int value) {
+		int i = find((char) (value >>> 16));
+		if (i < 0) {
+			return false;
+		}
+		char low = (char) value;
+		if (chunks[i] instanceof long[]) {
+			return (((long[]) chunks[i])[low >>> 6] & (1L << low)) != 0;
+		}
+		return binarySearch((char[]) chunks[i], counts[i], low) >= 0;
+	}
+
+	/**
+	 * Gets the number of values in the set
+	 * @return number of values
+	 */
+	public int cardinality() {
+		int total = 0;
+		for (int i = 0; i < size; i++) {
+			total += counts[i];
+		}
+		return total;
+	}
+
+	/**
+	 * Gets the value with a rank in the set, in the order of the iterator.
+	 * Whole chunks are skipped by their counts, so only the chunk holding
+	 * the value is read.
+	 * @param rank number of values before the value, starting at 0
+	 * @return value with the rank
+	 */
+	public int select(int rank) {
+		if (rank < 0) {
+			throw new IndexOutOfBoundsException("Invalid rank");
+		}
+		int left = rank;
+		for (int i = 0; i < size; i++) {
+			if (left < counts[i]) {
+				int high = highs[i] << 16;
+				if (chunks[i] instanceof char[]) {
+					return high | ((char[]) chunks[i])[left];
+				}
+				long[] words = (long[]) chunks[i];
+				int w = 0;
+				while (Long.bitCount(words[w]) <= left) {
+					left -= Long.bitCount(words[w]);
+					w++;
+				}
+				long word = words[w];
+				for (int k = 0; k < left; k++) {
+					word &= word - 1;
+				}
+				return high | (w << 6) + Long.numberOfTrailingZeros(word);
+			}
+			left -= counts[i];
+		}
+		throw new IndexOutOfBoundsException("Invalid rank");
+	}
+
+	/**
+	 * Gets the values that are in this set and in another set
+	 * @param other set to combine with
+	 * @return new set holding the values in both sets
+	 */
+	public CompressedBitmap and(CompressedBitmap other) {
+		CompressedBitmap result = new CompressedBitmap();
+		int i = 0;
+		int j = 0;
+		while (i < size && j < other.size) {
+			if (highs[i] < other.highs[j]) {
+				i++;
+			} else if (highs[i] > other.highs[j]) {
+				j++;
+			} else {
+				Object a = chunks[i];
+				Object b = other.chunks[j];
+				if (a instanceof char[] && b instanceof char[]) {
+					char[] lows = new char[Math.max(4, Math.min(counts[i], other.counts[j]))];
+					int count = intersect((char[]) a, counts[i], (char[]) b, other.counts[j], lows);
+					result.appendLows(highs[i], lows, count);
+				} else if (a instanceof char[]) {
+					result.appendLows(highs[i], filter((char[]) a, counts[i], (long[]) b, true));
+				} else if (b instanceof char[]) {
+					result.appendLows(highs[i], filter((char[]) b, other.counts[j], (long[]) a, true));
+				} else {
+					long[] aw = (long[]) a;
+					long[] bw = (long[]) b;
+					long[] words = new long[WORDS];
+					for (int w = 0; w < WORDS; w++) {
+						words[w] = aw[w] & bw[w];
+					}
+					result.appendChunk(highs[i], words);
+				}
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the values that are in this set or in another set
+	 * @param other set to combine with
+	 * @return new set holding the values in either set
+	 */
+	public CompressedBitmap or(CompressedBitmap other) {
+		CompressedBitmap result = new CompressedBitmap();
+		int i = 0;
+		int j = 0;
+		while (i < size || j < other.size) {
+			if (j >= other.size || (i < size && highs[i] < other.highs[j])) {
+				result.appendCopy(highs[i], chunks[i], counts[i]);
+				i++;
+			} else if (i >= size || highs[i] > other.highs[j]) {
+				result.appendCopy(other.highs[j], other.chunks[j], other.counts[j]);
+				j++;
+			} else {
+				Object a = chunks[i];
+				Object b = other.chunks[j];
+				if (a instanceof char[] && b instanceof char[]) {
+					char[] lows = new char[counts[i] + other.counts[j]];
+					int count = union((char[]) a, counts[i], (char[]) b, other.counts[j], lows);
+					if (count <= ARRAY_MAX) {
+						result.appendLows(highs[i], lows, count);
+					} else {
+						result.appendChunk(highs[i], toWords(lows, count));
+					}
+				} else if (a instanceof char[]) {
+					result.appendChunk(highs[i], setBits((long[]) b, (char[]) a, counts[i]));
+				} else if (b instanceof char[]) {
+					result.appendChunk(highs[i], setBits((long[]) a, (char[]) b, other.counts[j]));
+				} else {
+					long[] aw = (long[]) a;
+					long[] bw = (long[]) b;
+					long[] words = new long[WORDS];
+					for (int w = 0; w < WORDS; w++) {
+						words[w] = aw[w] | bw[w];
+					}
+					result.appendChunk(highs[i], words);
+				}
+				i++;
+				j++;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the values that are in this set but not in another set
+	 * @param other set of values to leave out
+	 * @return new set holding the values only in this set
+	 */
+	public CompressedBitmap andNot(CompressedBitmap other) {
+		CompressedBitmap result = new CompressedBitmap();
+		int j = 0;
+		for (int i = 0; i < size; i++) {
+			while (j < other.size && other.highs[j] < highs[i]) {
+				j++;
+			}
+			if (j >= other.size || other.highs[j] != highs[i]) {
+				result.appendCopy(highs[i], chunks[i], counts[i]);
+				continue;
+			}
+			Object a = chunks[i];
+			Object b = other.chunks[j];
+			if (a instanceof char[] && b instanceof char[]) {
+				char[] lows = new char[Math.max(4, counts[i])];
+				int count = difference((char[]) a, counts[i], (char[]) b, other.counts[j], lows);
+				result.appendLows(highs[i], lows, count);
+			} else if (a instanceof char[]) {
+				result.appendLows(highs[i], filter((char[]) a, counts[i], (long[]) b, false));
+			} else {
+				long[] words = ((long[]) a).clone();
+				if (b instanceof char[]) {
+					char[] lows = (char[]) b;
+					for (int k = 0; k < other.counts[j]; k++) {
+						words[lows[k] >>> 6] &= ~(1L << lows[k]);
+					}
+				} else {
+					long[] bw = (long[]) b;
+					for (int w = 0; w < WORDS; w++) {
+						words[w] &= ~bw[w];
+					}
+				}
+				result.appendChunk(highs[i], words);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Gets an iterator over the values in the set, smallest first with
+	 * negative values after all others.  The set must not be changed
+	 * while the iterator is in use.
+	 * @return iterator over the values
+	 */
+	public PrimitiveIterator.OfInt iterator() {
+		return new BitmapIterator(0);
+	}
+
+	/**
+	 * Gets an iterator over the values in the set starting at a value, in
+	 * the same order as {@link #iterator()}.  The iterator finds its start
+	 * by binary search rather than by walking the values before it.
+	 * @param from first value to return if it is in the set
+	 * @return iterator over the values from the given value on
+	 */
+	public PrimitiveIterator.OfInt iterator(int from) {
+		return new BitmapIterator(from);
+	}
+
+	/**
+	 * Finds the chunk holding values with some high bits
+	 * @param high high 16 bits to look for
+	 * @return index of the chunk, or (-(insertion point) - 1) if there is none
+	 */
+	private int find(char high) {
+		return binarySearch(highs, size, high);
+	}
+
+	/**
+	 * Searches the start of a sorted array for a value
+	 * @param values sorted array to search
+	 * @param length number of values in use at the start of the array
+	 * @param key value to look for
+	 * @return index of the value, or (-(insertion point) - 1) if it is not there
+	 */
+	private static int binarySearch(char[] values, int length, char key) {
+		int lo = 0;
+		int hi = length - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			if (values[mid] < key) {
+				lo = mid + 1;
+			} else if (values[mid] > key) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(lo + 1);
+	}
+
+	/**
+	 * Merges the values two sorted arrays have in common
+	 * @param a first sorted array
+	 * @param aCount number of values in the first array
+	 * @param b second sorted array
+	 * @param bCount number of values in the second array
+	 * @param out array to write the values to, long enough for the shorter array
+	 * @return number of values written
+	 */
+	private static int intersect(char[] a, int aCount, char[] b, int bCount, char[] out) {
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while (i < aCount && j < bCount) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				out[k++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return k;
+	}
+
+	/**
+	 * Merges the values of two sorted arrays, keeping one of each
+	 * @param a first sorted array
+	 * @param aCount number of values in the first array
+	 * @param b second sorted array
+	 * @param bCount number of values in the second array
+	 * @param out array to write the values to, long enough for both arrays
+	 * @return number of values written
+	 */
+	private static int union(char[] a, int aCount, char[] b, int bCount, char[] out) {
+		int i = 0;
+		int j = 0;
+		int k = 0;
+		while (i < aCount || j < bCount) {
+			if (j >= bCount || (i < aCount && a[i] < b[j])) {
+				out[k++] = a[i++];
+			} else if (i >= aCount || a[i] > b[j]) {
+				out[k++] = b[j++];
+			} else {
+				out[k++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return k;
+	}
+
+	/**
+	 * Merges the values of a sorted array that are not in another
+	 * @param a sorted array to keep values from
+	 * @param aCount number of values in the first array
+	 * @param b sorted array of values to leave out
+	 * @param bCount number of values in the second array
+	 * @param out array to write the values to, long enough for the first array
+	 * @return number of values written
+	 */
+	private static int difference(char[] a, int aCount, char[] b, int bCount, char[] out) {
+		int j = 0;
+		int k = 0;
+		for (int i = 0; i < aCount; i++) {
+			while (j < bCount && b[j] < a[i]) {
+				j++;
+			}
+			if (j >= bCount || b[j] != a[i]) {
+				out[k++] = a[i];
+			}
+		}
+		return k;
+	}
+
+	/**
+	 * Keeps the values of a sorted array whose bits are set, or clear, in
+	 * a chunk of words
+	 * @param lows sorted array to read
+	 * @param count number of values in the array
+	 * @param words chunk of bits to check the values against
+	 * @param set true to keep values whose bit is set, false to keep the rest
+	 * @return sorted array of the values kept, with its length as the count
+	 */
+	private static char[] filter(char[] lows, int count, long[] words, boolean set) {
+		char[] kept = new char[count];
+		int k = 0;
+		for (int i = 0; i < count; i++) {
+			char low = lows[i];
+			if (((words[low >>> 6] & (1L << low)) != 0) == set) {
+				kept[k++] = low;
+			}
+		}
+		return Arrays.copyOf(kept, k);
+	}
+
+	/**
+	 * Copies a chunk of words with the bits of a sorted array set
+	 * @param words chunk of bits to copy
+	 * @param lows sorted array of values to set
+	 * @param count number of values in the array
+	 * @return new words holding the values of both
+	 */
+	private static long[] setBits(long[] words, char[] lows, int count) {
+		long[] result = words.clone();
+		for (int k = 0; k < count; k++) {
+			result[lows[k] >>> 6] |= 1L << lows[k];
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the bits of a chunk as 1024 words
+	 * @param chunk chunk to read
+	 * @param count number of values in the chunk
+	 * @return the chunk's words, or new words holding the chunk's values
+	 */
+	private static long[] toWords(Object chunk, int count) {
+		if (chunk instanceof long[]) {
+			return (long[]) chunk;
+		}
+		char[] lows = (char[]) chunk;
+		long[] words = new long[WORDS];
+		for (int k = 0; k < count; k++) {
+			words[lows[k] >>> 6] |= 1L << lows[k];
+		}
+		return words;
+	}
+
+	/**
+	 * Gets the values in a chunk of words as a sorted array
+	 * @param words chunk to read
+	 * @param count number of values in the chunk
+	 * @return sorted array of the low bits in the chunk
+	 */
+	private static char[] toLows(long[] words, int count) {
+		char[] lows = new char[Math.max(4, count)];
+		int k = 0;
+		for (int w = 0; w < WORDS; w++) {
+			long word = words[w];
+			while (word != 0) {
+				lows[k++] = (char) ((w << 6) + Long.numberOfTrailingZeros(word));
+				word &= word - 1;
+			}
+		}
+		return lows;
+	}
+
+	/**
+	 * Adds a chunk after all other chunks, skipping it if it is empty
+	 * @param high high 16 bits of the chunk's values, larger than any chunk so far
+	 * @param words bits of the chunk
+	 */
+	private void appendChunk(char high, long[] words) {
+		int count = 0;
+		for (int w = 0; w < WORDS; w++) {
+			count += Long.bitCount(words[w]);
+		}
+		if (count > 0) {
+			if (count <= ARRAY_MAX) {
+				insertChunk(size, high, toLows(words, count));
+			} else {
+				insertChunk(size, high, words);
+			}
+			counts[size - 1] = count;
+		}
+	}
+
+	/**
+	 * Adds an array chunk after all other chunks, skipping it if it is empty
+	 * @param high high 16 bits of the chunk's values, larger than any chunk so far
+	 * @param lows sorted low bits of the chunk, at most {@link #ARRAY_MAX}
+	 * @param count number of values at the start of the array
+	 */
+	private void appendLows(char high, char[] lows, int count) {
+		if (count > 0) {
+			insertChunk(size, high, lows.length < 4 ? Arrays.copyOf(lows, 4) : lows);
+			counts[size - 1] = count;
+		}
+	}
+
+	/**
+	 * Adds a whole array chunk after all other chunks, skipping it if it
+	 * is empty
+	 * @param high high 16 bits of the chunk's values, larger than any chunk so far
+	 * @param lows sorted low bits of the chunk, filling the array
+	 */
+	private void appendLows(char high, char[] lows) {
+		appendLows(high, lows, lows.length);
+	}
+
+	/**
+	 * Adds a copy of another set's chunk after all other chunks
+	 * @param high high 16 bits of the chunk's values, larger than any chunk so far
+	 * @param chunk chunk to copy
+	 * @param count number of values in the chunk
+	 */
+	private void appendCopy(char high, Object chunk, int count) {
+		if (chunk instanceof long[]) {
+			insertChunk(size, high, ((long[]) chunk).clone());
+		} else {
+			insertChunk(size, high, Arrays.copyOf((char[]) chunk, Math.max(4, count)));
+		}
+		counts[size - 1] = count;
+	}
+
+	/**
+	 * Inserts an empty chunk
+	 * @param i index to insert the chunk at
+	 * @param high high 16 bits of the chunk's values
+	 * @param chunk storage for the chunk
+	 */
+	private void insertChunk(int i, char high, Object chunk) {
+		if (size == highs.length) {
+			char[] newHighs = new char[size * 2];
+			Object[] newChunks = new Object[size * 2];
+			int[] newCounts = new int[size * 2];
+			System.arraycopy(highs, 0, newHighs, 0, size);
+			System.arraycopy(chunks, 0, newChunks, 0, size);
+			System.arraycopy(counts, 0, newCounts, 0, size);
+			highs = newHighs;
+			chunks = newChunks;
+			counts = newCounts;
+		}
+		System.arraycopy(highs, i, highs, i + 1, size - i);
+		System.arraycopy(chunks, i, chunks, i + 1, size - i);
+		System.arraycopy(counts, i, counts, i + 1, size - i);
+		highs[i] = high;
+		chunks[i] = chunk;
+		counts[i] = 0;
+		size++;
+	}
+
+	/**
+	 * Removes a chunk
+	 * @param i index of the chunk to remove
+	 */
+	private void removeChunk(int i) {
+		System.arraycopy(highs, i + 1, highs, i, size - i - 1);
+		System.arraycopy(chunks, i + 1, chunks, i, size - i - 1);
+		System.arraycopy(counts, i + 1, counts, i, size - i - 1);
+		size--;
+		chunks[size] = null;
+	}
+
+	/**
+	 * Inner class that walks the values of the set chunk by chunk
+	 *
+	 * @author Josh Stetson
+	 */
+	private class BitmapIterator implements PrimitiveIterator.OfInt {
+
+		/** Index of the chunk being walked */
+		private int chunk;
+		/** Index of the next value in an array chunk, or of the word in a bits chunk */
+		private int pos;
+		/** Bits of the current word not yet returned */
+		private long word;
+
+		/**
+		 * Constructor for BitmapIterator
+		 * @param from first value to return if it is in the set
+		 */
+		public BitmapIterator(int from) {
+			char low = (char) from;
+			chunk = find((char) (from >>> 16));
+			if (chunk < 0) {
+				chunk = -chunk - 1;
+			} else if (chunks[chunk] instanceof long[]) {
+				pos = low >>> 6;
+				word = ((long[]) chunks[chunk])[pos] & (-1L << low);
+				if (word != 0) {
+					return;
+				}
+				pos++;
+			} else {
+				pos = binarySearch((char[]) chunks[chunk], counts[chunk], low);
+				if (pos < 0) {
+					pos = -pos - 1;
+				}
+				if (pos == counts[chunk]) {
+					chunk++;
+					pos = 0;
+				}
+			}
+			loadWord();
+		}
+
+		public boolean hasNext() {
+			return chunk < size;
+		}
+
+		public int nextInt() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			int high = highs[chunk] << 16;
+			int value;
+			if (chunks[chunk] instanceof long[]) {
+				value = high | (pos << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+				if (word == 0) {
+					pos++;
+					loadWord();
+				}
+			} else {
+				value = high | ((char[]) chunks[chunk])[pos];
+				pos++;
+				if (pos == counts[chunk]) {
+					chunk++;
+					pos = 0;
+					loadWord();
+				}
+			}
+			return value;
+		}
+
+		/**
+		 * Moves to the next word holding a value when walking a bits chunk
+		 */
+		private void loadWord() {
+			while (chunk < size && chunks[chunk] instanceof long[]) {
+				long[] words = (long[]) chunks[chunk];
+				while (pos < WORDS && words[pos] == 0) {
+					pos++;
+				}
+				if (pos < WORDS) {
+					word = words[pos];
+					return;
+				}
+				chunk++;
+				pos = 0;
+			}
+		}
+	}
+
+}
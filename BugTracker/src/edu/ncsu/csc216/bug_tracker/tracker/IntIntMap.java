@@ -0,0 +1,206 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive ints to non-negative primitive
+ * ints.  Used by the {@link BugStore} to find the slot of a bug by its ID
+ * with no object per entry.  Collisions are resolved with linear probing
+ * and removals shift the following entries back, so no deleted markers
+ * are left behind in the table.
+ *
+ * @author Josh Stetson
+ */
+public class IntIntMap {
+
+	/** Value returned for a key that is not in the map, and marking an empty slot */
+	public static final int NO_VALUE = -1;
+	/** Default number of slots in a new map */
+	private static final int DEFAULT_CAPACITY = 16;
+	/** Multiplier used to spread keys across the table */
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+	/** Keys of the map */
+	private int[] keys;
+	/** Values of the map, {@link #NO_VALUE} marks an empty slot */
+	private int[] values;
+	/** Number of entries in the map */
+	private int size;
+	/** Bit mask for wrapping indexes into the table */
+	private int mask;
+
+	/**
+	 * Constructor for IntIntMap
+	 * Creates an empty map
+	 */
+	public IntIntMap() {
+		keys = new int[DEFAULT_CAPACITY];
+		values = emptyValues(DEFAULT_CAPACITY);
+		mask = DEFAULT_CAPACITY - 1;
+	}
+
+	/**
+	 * Gets the value stored for a key
+	 * @param key key to look up
+	 * @return value for the key, or {@link #NO_VALUE} if there is none
+	 */
+	public int get(int key) {
+		//Read the table once so a lookup racing a resize ends instead of looping
+		int[] k = keys;
+		int[] v = values;
+		int m = k.length - 1;
+		int i = slot(key, m);
+		for (int probes = 0; probes <= m && v[i] != NO_VALUE; probes++) {
+			if (k[i] == key) {
+				return v[i];
+			}
+			i = (i + 1) & m;
+		}
+		return NO_VALUE;
+	}
+
+	/**
+	 * Checks whether the map has a value for a key
+	 * @param key key to look up
+	 * @return true if the key is in the map
+	 */
+	public boolean containsKey(int key) {
+		return get(key) != NO_VALUE;
+	}
+
+	/**
+	 * Stores a value for a key, replacing any value already stored
+	 * @param key key to store
+	 * @param value value to store for the key, not negative
+	 * @return value previously stored for the key, or {@link #NO_VALUE}
+	 * if there was none
+	 */
+	public int put(int key, int value) {
+		if (value < 0) {
+			throw new IllegalArgumentException("Value cannot be negative");
+		}
+		int i = slot(key, mask);
+		while (values[i] != NO_VALUE) {
+			if (keys[i] == key) {
+				int old = values[i];
+				values[i] = value;
+				return old;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		size++;
+		if (size * 4 > values.length * 3) {
+			resize(values.length * 2);
+		}
+		return NO_VALUE;
+	}
+
+	/**
+	 * Removes the value stored for a key
+	 * @param key key to remove
+	 * @return value removed, or {@link #NO_VALUE} if the key was not in the map
+	 */
+	public int remove(int key) {
+		int i = slot(key, mask);
+		while (values[i] != NO_VALUE) {
+			if (keys[i] == key) {
+				int old = values[i];
+				shiftBack(i);
+				size--;
+				return old;
+			}
+			i = (i + 1) & mask;
+		}
+		return NO_VALUE;
+	}
+
+	/**
+	 * Removes all entries from the map
+	 */
+	public void clear() {
+		keys = new int[DEFAULT_CAPACITY];
+		values = emptyValues(DEFAULT_CAPACITY);
+		mask = DEFAULT_CAPACITY - 1;
+		size = 0;
+	}
+
+	/**
+	 * Gets the number of entries in the map
+	 * @return number of entries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Finds the home slot of a key
+	 * @param key key to hash
+	 * @param m bit mask of the table
+	 * @return index of the first slot to probe
+	 */
+	private static int slot(int key, int m) {
+		int h = key * HASH_MULTIPLIER;
+		return (h ^ (h >>> 16)) & m;
+	}
+
+	/**
+	 * Creates a table of values with every slot empty
+	 * @param capacity number of slots
+	 * @return empty values
+	 */
+	private static int[] emptyValues(int capacity) {
+		int[] empty = new int[capacity];
+		Arrays.fill(empty, NO_VALUE);
+		return empty;
+	}
+
+	/**
+	 * Closes the gap left at a removed slot by moving later entries
+	 * of the same probe run back into it
+	 * @param gap index of the slot that was emptied
+	 */
+	private void shiftBack(int gap) {
+		int i = gap;
+		while (true) {
+			i = (i + 1) & mask;
+			if (values[i] == NO_VALUE) {
+				break;
+			}
+			int home = slot(keys[i], mask);
+			//Move the entry if its home slot is not between the gap and its current slot
+			if (((i - home) & mask) >= ((i - gap) & mask)) {
+				keys[gap] = keys[i];
+				values[gap] = values[i];
+				gap = i;
+			}
+		}
+		values[gap] = NO_VALUE;
+	}
+
+	/**
+	 * Rebuilds the table with a new number of slots
+	 * @param capacity new number of slots, must be a power of two
+	 */
+	private void resize(int capacity) {
+		int[] oldKeys = keys;
+		int[] oldValues = values;
+		int[] newKeys = new int[capacity];
+		int[] newValues = emptyValues(capacity);
+		int m = capacity - 1;
+		for (int j = 0; j < oldValues.length; j++) {
+			if (oldValues[j] != NO_VALUE) {
+				int i = slot(oldKeys[j], m);
+				while (newValues[i] != NO_VALUE) {
+					i = (i + 1) & m;
+				}
+				newKeys[i] = oldKeys[j];
+				newValues[i] = oldValues[j];
+			}
+		}
+		keys = newKeys;
+		values = newValues;
+		mask = m;
+	}
+
+}
@@ -0,0 +1,190 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+/**
+ * Open-addressing hash map keyed by primitive ints.  Used by the
+ * {@link BugList} to find a bug by its ID without boxing the key
+ * or scanning the list.  Collisions are resolved with linear probing
+ * and removals shift the following entries back, so no deleted markers
+ * are left behind in the table.
+ *
+ * @param <V> type of value stored in the map
+ * @author Josh Stetson
+ */
+public class IntObjectMap<V> {
+
+	/** Default number of slots in a new map */
+	private static final int DEFAULT_CAPACITY = 16;
+	/** Multiplier used to spread keys across the table */
+	private static final int HASH_MULTIPLIER = 0x9E3779B9;
+	/** Keys of the map */
+	private int[] keys;
+	/** Values of the map, null marks an empty slot */
+	private Object[] values;
+	/** Number of entries in the map */
+	private int size;
+	/** Bit mask for wrapping indexes into the table */
+	private int mask;
+
+	/**
+	 * Constructor for IntObjectMap
+	 * Creates an empty map
+	 */
+	public IntObjectMap() {
+		keys = new int[DEFAULT_CAPACITY];
+		values = new Object[DEFAULT_CAPACITY];
+		mask = DEFAULT_CAPACITY - 1;
+	}
+
+	/**
+	 * Gets the value stored for a key
+	 * @param key key to look up
+	 * @return value for the key, or null if there is none
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(int key) {
+		//Read the table once so a lookup racing a resize ends instead of looping
+		int[] k = keys;
+		Object[] v = values;
+		int m = mask;
+		int i = slot(key) & m;
+		for (int probes = 0; probes <= m && v[i] != null; probes++) {
+			if (k[i] == key) {
+				return (V) v[i];
+			}
+			i = (i + 1) & m;
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether the map has a value for a key
+	 * @param key key to look up
+	 * @return true if the key is in the map
+	 */
+	public boolean containsKey(int key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Stores a value for a key, replacing any value already stored
+	 * @param key key to store
+	 * @param value value to store for the key
+	 * @return value previously stored for the key, or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value) {
+		if (value == null) {
+			throw new IllegalArgumentException("Value cannot be null");
+		}
+		int i = slot(key);
+		while (values[i] != null) {
+			if (keys[i] == key) {
+				V old = (V) values[i];
+				values[i] = value;
+				return old;
+			}
+			i = (i + 1) & mask;
+		}
+		keys[i] = key;
+		values[i] = value;
+		size++;
+		if (size * 4 > values.length * 3) {
+			resize(values.length * 2);
+		}
+		return null;
+	}
+
+	/**
+	 * Removes the value stored for a key
+	 * @param key key to remove
+	 * @return value removed, or null if the key was not in the map
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(int key) {
+		int i = slot(key);
+		while (values[i] != null) {
+			if (keys[i] == key) {
+				V old = (V) values[i];
+				shiftBack(i);
+				size--;
+				return old;
+			}
+			i = (i + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * Removes all entries from the map
+	 */
+	public void clear() {
+		keys = new int[DEFAULT_CAPACITY];
+		values = new Object[DEFAULT_CAPACITY];
+		mask = DEFAULT_CAPACITY - 1;
+		size = 0;
+	}
+
+	/**
+	 * Gets the number of entries in the map
+	 * @return number of entries
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Finds the home slot of a key
+	 * @param key key to hash
+	 * @return index of the first slot to probe
+	 */
+	private int slot(int key) {
+		int h = key * HASH_MULTIPLIER;
+		return (h ^ (h >>> 16)) & mask;
+	}
+
+	/**
+	 * Closes the gap left at a removed slot by moving later entries
+	 * of the same probe run back into it
+	 * @param gap index of the slot that was emptied
+	 */
+	private void shiftBack(int gap) {
+		int i = gap;
+		while (true) {
+			i = (i + 1) & mask;
+			if (values[i] == null) {
+				break;
+			}
+			int home = slot(keys[i]);
+			//Move the entry if its home slot is not between the gap and its current slot
+			if (((i - home) & mask) >= ((i - gap) & mask)) {
+				keys[gap] = keys[i];
+				values[gap] = values[i];
+				gap = i;
+			}
+		}
+		values[gap] = null;
+	}
+
+	/**
+	 * Rebuilds the table with a new number of slots
+	 * @param capacity new number of slots, must be a power of two
+	 */
+	private void resize(int capacity) {
+		int[] oldKeys = keys;
+		Object[] oldValues = values;
+		keys = new int[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		for (int j = 0; j < oldValues.length; j++) {
+			if (oldValues[j] != null) {
+				int i = slot(oldKeys[j]);
+				while (values[i] != null) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				values[i] = oldValues[j];
+			}
+		}
+	}
+
+}
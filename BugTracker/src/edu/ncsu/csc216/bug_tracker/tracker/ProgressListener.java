@@ -0,0 +1,19 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+/**
+ * Told how far a long running load or save of bugs has got, and able to
+ * stop it.  It is called from the thread doing the work, between batches.
+ *
+ * @author Josh Stetson
+ */
+public interface ProgressListener {
+
+	/**
+	 * Called after each batch of bugs has been handled.
+	 * @param done number of bugs handled so far
+	 * @param total number of bugs to handle
+	 * @return true to go on, false to stop the work
+	 */
+	boolean progress(int done, int total);
+
+}
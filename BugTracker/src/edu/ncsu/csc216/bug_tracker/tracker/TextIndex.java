@@ -0,0 +1,340 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Inverted index over the summary and notes of {@link TrackedBug}s.
+ * Each word maps to the bugs that contain it and how many times they
+ * contain it, so a search only visits bugs that match at least one of
+ * the searched words.  Matches are ranked by tf-idf: words that appear
+ * in few bugs count for more than words that appear in many.  A search
+ * walks the rarest word's bugs first and stops once no bug left to meet
+ * could beat the matches it already holds.  The index
+ * may be searched from any thread while it is changed, but changes must
+ * be made by one thread at a time.
+ *
+ * @author Josh Stetson
+ */
+public class TextIndex {
+
+	/** Bugs containing each word, with the number of times they contain it */
+	private Map<String, Postings> postings;
+	/** Number of bugs in the index */
+	private volatile int bugCount;
+
+	/**
+	 * Constructor for TextIndex
+	 * Creates an empty index
+	 */
+	public TextIndex() {
+		postings = new ConcurrentHashMap<String, Postings>();
+	}
+
+	/**
+	 * Adds the summary and all notes of a bug to the index
+	 * @param b TrackedBug to add
+	 */
+	public void addBug(TrackedBug b) {
+		addText(b, b.getSummary());
+		for (String note : b.getNotes()) {
+			addText(b, note);
+		}
+		bugCount++;
+	}
+
+	/**
+	 * Adds a note that was added to a bug already in the index
+	 * @param b TrackedBug the note was added to
+	 * @param note text of the note
+	 */
+	public void addNote(TrackedBug b, String note) {
+		addText(b, note);
+	}
+
+	/**
+	 * Removes the summary and all notes of a bug from the index
+	 * @param b TrackedBug to remove
+	 */
+	public void removeBug(TrackedBug b) {
+		removeText(b, b.getSummary());
+		for (String note : b.getNotes()) {
+			removeText(b, note);
+		}
+		bugCount--;
+	}
+
+	/**
+	 * Finds the bugs that contain any of the words in a query, best
+	 * match first.  Bugs with the same score are ordered by ID.  The words
+	 * are walked rarest first, and each bug is scored in full the first
+	 * time it is met, so memory grows with the number of results rather
+	 * than the number of matches.  Once the best maxResults bugs all score
+	 * more than any bug first met in the words left could, the rest of
+	 * the words are skipped.
+	 * @param query words to search for
+	 * @param maxResults largest number of bugs to return
+	 * @return matching TrackedBugs in order of rank
+	 */
+	public List<TrackedBug> search(String query, int maxResults) {
+		if (query == null) {
+			throw new IllegalArgumentException("Must enter a search query");
+		}
+		if (maxResults < 0) {
+			throw new IllegalArgumentException("Number of results cannot be negative");
+		}
+		List<Term> terms = new ArrayList<Term>();
+		for (String word : new LinkedHashSet<String>(tokenize(query))) {
+			Postings matches = postings.get(word);
+			if (matches != null) {
+				int frequency = matches.bugs.size();
+				if (frequency > 0) {
+					double idf = Math.log(1.0 + (double) bugCount / frequency);
+					terms.add(new Term(matches, frequency, idf));
+				}
+			}
+		}
+		Collections.sort(terms, new Comparator<Term>() {
+			public int compare(Term a, Term b) {
+				return Integer.compare(a.frequency, b.frequency);
+			}
+		});
+		//Highest score a bug first met in each word or a later one could have
+		double[] bounds = new double[terms.size() + 1];
+		for (int i = terms.size() - 1; i >= 0; i--) {
+			bounds[i] = bounds[i + 1] + terms.get(i).maxWeight;
+		}
+		Comparator<ScoredBug> worstFirst = new Comparator<ScoredBug>() {
+			public int compare(ScoredBug a, ScoredBug b) {
+				int byScore = Double.compare(a.score, b.score);
+				if (byScore != 0) {
+					return byScore;
+				}
+				return Integer.compare(b.bug.getBugId(), a.bug.getBugId());
+			}
+		};
+		PriorityQueue<ScoredBug> best = new PriorityQueue<ScoredBug>(Math.max(1, maxResults), worstFirst);
+		for (int i = 0; i < terms.size() && maxResults > 0; i++) {
+			if (best.size() == maxResults && bounds[i] < best.peek().score) {
+				break;
+			}
+			for (TrackedBug b : terms.get(i).bugs.keySet()) {
+				if (isInAny(terms, i, b)) {
+					continue;
+				}
+				double score = 0;
+				for (int j = i; j < terms.size(); j++) {
+					int[] count = terms.get(j).bugs.get(b);
+					if (count != null) {
+						//A count read while the bug is being removed may already be 0
+						score += weight(count[0]) * terms.get(j).idf;
+					}
+				}
+				if (best.size() < maxResults) {
+					best.add(new ScoredBug(b, score));
+				} else if (score > best.peek().score || (score == best.peek().score
+						&& b.getBugId() < best.peek().bug.getBugId())) {
+					best.poll();
+					best.add(new ScoredBug(b, score));
+				}
+			}
+		}
+		List<TrackedBug> results = new ArrayList<TrackedBug>(best.size());
+		while (!best.isEmpty()) {
+			results.add(best.poll().bug);
+		}
+		Collections.reverse(results);
+		return results;
+	}
+
+	/**
+	 * Gets the weight of a word in a bug from the number of times the bug
+	 * contains it
+	 * @param count number of times the word appears in the bug
+	 * @return weight of the word in the bug
+	 */
+	private static double weight(int count) {
+		return 1.0 + Math.log(Math.max(1, count));
+	}
+
+	/**
+	 * Checks whether a bug is in any of the words before one
+	 * @param terms words of the query
+	 * @param end index of the first word not to check
+	 * @param b TrackedBug to look for
+	 * @return true if one of the earlier words is in the bug
+	 */
+	private static boolean isInAny(List<Term> terms, int end, TrackedBug b) {
+		for (int i = 0; i < end; i++) {
+			if (terms.get(i).bugs.containsKey(b)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the bugs whose summary or notes contain a word
+	 * @param word lower case word to look up
+	 * @return TrackedBugs containing the word
+	 */
+	public Collection<TrackedBug> getBugsWith(String word) {
+		Postings matches = postings.get(word);
+		if (matches == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(matches.bugs.keySet());
+	}
+
+	/**
+	 * Checks whether the summary or notes of a bug contain a word
+	 * @param b TrackedBug to check
+	 * @param word lower case word to look for
+	 * @return true if the bug contains the word
+	 */
+	public boolean contains(TrackedBug b, String word) {
+		Postings matches = postings.get(word);
+		return matches != null && matches.bugs.containsKey(b);
+	}
+
+	/**
+	 * Splits text into lower case words made of letters and digits
+	 * @param text text to split, may be null
+	 * @return words in the text
+	 */
+	static List<String> tokenize(String text) {
+		List<String> words = new ArrayList<String>();
+		if (text == null) {
+			return words;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return words;
+	}
+
+	/**
+	 * Adds every word in some text of a bug to the index
+	 * @param b TrackedBug the text belongs to
+	 * @param text text to add, may be null
+	 */
+	private void addText(TrackedBug b, String text) {
+		for (String word : tokenize(text)) {
+			Postings matches = postings.get(word);
+			if (matches == null) {
+				matches = new Postings();
+				postings.put(word, matches);
+			}
+			int[] count = matches.bugs.get(b);
+			if (count == null) {
+				matches.bugs.put(b, new int[] {1});
+			} else if (++count[0] > matches.maxCount) {
+				matches.maxCount = count[0];
+			}
+		}
+	}
+
+	/**
+	 * Removes every word in some text of a bug from the index
+	 * @param b TrackedBug the text belongs to
+	 * @param text text to remove, may be null
+	 */
+	private void removeText(TrackedBug b, String text) {
+		for (String word : tokenize(text)) {
+			Postings matches = postings.get(word);
+			if (matches != null) {
+				int[] count = matches.bugs.get(b);
+				if (count != null && --count[0] == 0) {
+					matches.bugs.remove(b);
+					if (matches.bugs.isEmpty()) {
+						postings.remove(word);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bugs containing one word
+	 *
+	 * @author Josh Stetson
+	 */
+	private static class Postings {
+
+		/** Bugs containing the word, with the number of times they contain it */
+		private final Map<TrackedBug, int[]> bugs = new ConcurrentHashMap<TrackedBug, int[]>();
+		/** Largest number of times any bug has contained the word, never lowered */
+		private volatile int maxCount = 1;
+	}
+
+	/**
+	 * Word of a query, read once when the search starts
+	 *
+	 * @author Josh Stetson
+	 */
+	private static class Term {
+
+		/** Bugs containing the word */
+		private Map<TrackedBug, int[]> bugs;
+		/** Number of bugs containing the word when the search started */
+		private int frequency;
+		/** Weight of the word, higher for rarer words */
+		private double idf;
+		/** Highest score the word can add to a bug */
+		private double maxWeight;
+
+		/**
+		 * Constructor for Term
+		 * @param matches bugs containing the word
+		 * @param frequency number of bugs containing the word
+		 * @param idf weight of the word
+		 */
+		public Term(Postings matches, int frequency, double idf) {
+			this.bugs = matches.bugs;
+			this.frequency = frequency;
+			this.idf = idf;
+			maxWeight = weight(matches.maxCount) * idf;
+		}
+	}
+
+	/**
+	 * Bug kept among the best matches of a search, with its score
+	 *
+	 * @author Josh Stetson
+	 */
+	private static class ScoredBug {
+
+		/** Bug that matched */
+		private TrackedBug bug;
+		/** Score of the bug for the search */
+		private double score;
+
+		/**
+		 * Constructor for ScoredBug
+		 * @param bug bug that matched
+		 * @param score score of the bug for the search
+		 */
+		public ScoredBug(TrackedBug bug, double score) {
+			this.bug = bug;
+			this.score = score;
+		}
+	}
+
+}
@@ -0,0 +1,89 @@
+package edu.ncsu.csc216.bug_tracker.bug;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+import edu.ncsu.csc216.bug_tracker.xml.Bug;
+
+/**
+ * Test class for BugSnapshot
+ * @author Josh Stetson
+ */
+public class BugSnapshotTest {
+
+	/** TrackedBug object */
+	private TrackedBug bug;
+	/** Table of the bug's names */
+	private NameTable names;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.bug.BugSnapshotTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		names = new NameTable();
+		bug = new TrackedBug(3, "Summary", "Reporter", names);
+		bug.update(new Command(CommandValue.CONFIRM, null, null, "First"));
+		bug.update(new Command(CommandValue.POSSESSION, "Owner", null, "Second"));
+		bug.update(new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.BugSnapshot.BugSnapshot
+	 */
+	@Test
+	public final void testBugSnapshot() {
+		BugSnapshot s = bug.getSnapshot();
+		assertEquals(3, s.getBugId());
+		assertEquals(3, s.getVersion());
+		assertEquals("Resolved", s.getStateName());
+		assertEquals("Summary", s.getSummary());
+		assertEquals("Reporter", s.getReporter());
+		assertEquals("Owner", s.getOwner());
+		assertEquals(1, s.getVotes());
+		assertTrue(s.isConfirmed());
+		assertEquals(Resolution.FIXED, s.getResolution());
+		assertEquals(Command.R_FIXED, s.getResolutionString());
+		assertEquals("First\n------\nSecond\n------\n", s.getNotesString());
+		try {
+			s.getNotes().add("Third");
+			fail("getNotes() should not be changeable");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(2, s.getNotes().size());
+		}
+	}
+
+	/**
+	 * Test that a copy does not change when its bug does
+	 */
+	@Test
+	public final void testUnchangedByUpdate() {
+		BugSnapshot s = bug.getSnapshot();
+		bug.update(new Command(CommandValue.REOPEN, null, null, "Third"));
+		assertEquals("Resolved", s.getStateName());
+		assertEquals(2, s.getNotes().size());
+		assertEquals("Reopen", bug.getSnapshot().getStateName());
+		assertEquals(3, bug.getSnapshot().getNotes().size());
+		assertNull(bug.getSnapshot().getResolutionString());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.BugSnapshot.getXMLBug
+	 */
+	@Test
+	public final void testGetXMLBug() {
+		Bug b = bug.getSnapshot().getXMLBug();
+		assertEquals(3, b.getId());
+		assertEquals("Resolved", b.getState());
+		assertEquals("Owner", b.getOwner());
+		assertEquals(Command.R_FIXED, b.getResolution());
+		assertTrue(b.isConfirmed());
+		assertEquals(2, b.getNoteList().getNote().size());
+	}
+
+}
@@ -0,0 +1,78 @@
+package edu.ncsu.csc216.bug_tracker.bug;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for NameTable
+ * @author Josh Stetson
+ */
+public class NameTableTest {
+
+	/** NameTable object */
+	private NameTable names;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.bug.NameTableTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		names = new NameTable();
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.NameTable.idOf
+	 */
+	@Test
+	public final void testIdOf() {
+		assertEquals(NameTable.NONE, names.idOf(null));
+		for (int i = 0; i < 40; i++) {
+			assertEquals(i, names.idOf("dev" + i));
+		}
+		//A name keeps its ID, even from a different string
+		assertEquals(3, names.idOf(new String("dev3")));
+		assertEquals(40, names.size());
+		assertEquals("dev39", names.nameOf(39));
+		assertNull(names.nameOf(NameTable.NONE));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.NameTable.find
+	 */
+	@Test
+	public final void testFind() {
+		names.idOf("jdoe");
+		assertEquals(0, names.find("jdoe"));
+		assertEquals(NameTable.NONE, names.find("jsmith"));
+		assertEquals(NameTable.NONE, names.find(null));
+		//Finding does not add the name
+		assertEquals(1, names.size());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.NameTable.idsWithPrefix
+	 */
+	@Test
+	public final void testIdsWithPrefix() {
+		names.idOf("kdoe");
+		names.idOf("jsmith");
+		names.idOf("jdoe");
+		int[] found = names.idsWithPrefix("j");
+		assertEquals(2, found.length);
+		//IDs come back in order of name
+		assertEquals(2, found[0]);
+		assertEquals(1, found[1]);
+		assertEquals(3, names.idsWithPrefix("").length);
+		assertEquals(0, names.idsWithPrefix("x").length);
+		try {
+			names.idsWithPrefix(null);
+			fail("idsWithPrefix() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+package edu.ncsu.csc216.bug_tracker.bug;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for SnapshotClock
+ * @author Josh Stetson
+ */
+public class SnapshotClockTest {
+
+	/** SnapshotClock object */
+	private SnapshotClock clock;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.bug.SnapshotClockTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		clock = new SnapshotClock();
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.SnapshotClock.open
+	 * and edu.ncsu.csc216.bug_tracker.bug.SnapshotClock.close
+	 */
+	@Test
+	public final void testOpenAndClose() {
+		assertEquals(SnapshotClock.NONE, clock.getOpenEpoch());
+		int first = clock.open();
+		assertEquals(first, clock.getOpenEpoch());
+		try {
+			clock.open();
+			fail("open() should throw an exception");
+		} catch (IllegalStateException e) {
+			assertEquals(first, clock.getOpenEpoch());
+		}
+		clock.close();
+		assertEquals(SnapshotClock.NONE, clock.getOpenEpoch());
+		//Each snapshot gets a new epoch
+		int second = clock.open();
+		assertTrue(second != first);
+		assertTrue(second != SnapshotClock.NONE);
+	}
+
+}
@@ -22,6 +22,7 @@ public class TrackedBugTest {
 	
 	Bug b;
 	Bug newB;
+	NameTable names;
 	
 	Command unconfirmedToNew;
 	Command newToAssigned;
@@ -33,8 +34,8 @@ public class TrackedBugTest {
 	 */
 	@Before
 	public void setUp() throws Exception {
-		TrackedBug.setCounter(0);
-		newBug = new TrackedBug("This is the summary", "Josh Stetson");
+		names = new NameTable();
+		newBug = new TrackedBug(0, "This is the summary", "Josh Stetson", names);
 		
 		b = new Bug();
 		b.setId(1);
@@ -47,7 +48,7 @@ public class TrackedBugTest {
 		b.setResolution(null);
 		b.setNoteList(null);
 		
-		newBugTwo = new TrackedBug(b);
+		newBugTwo = new TrackedBug(b, 0, names);
 		
 
 	}
@@ -57,7 +58,7 @@ public class TrackedBugTest {
 	 */
 	/*@Test
 	public final void testTrackedBugStringString() {
-		TrackedBug testBug = new TrackedBug("Summary", "Reporter");
+		TrackedBug testBug = new TrackedBug(0, "Summary", "Reporter", names);
 		assertEquals("Reporter", testBug.getReporter());
 	}*/
 
@@ -67,7 +68,7 @@ public class TrackedBugTest {
 	 */
 	/*@Test
 	public final void testTrackedBugBug() {
-		TrackedBug testBug = new TrackedBug(b);
+		TrackedBug testBug = new TrackedBug(b, 0, names);
 		assertEquals(1, testBug.getBugId());
 		assertEquals("New", testBug.getState().getStateName());
 		assertEquals("Summary", testBug.getSummary());
@@ -80,23 +81,14 @@ public class TrackedBugTest {
 	}*/
 
 	/**
-	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.incrementCounter
-	 */
-	@Test
-	public final void testIncrementCounter() {
-		TrackedBug.incrementCounter();
-		
-		newBugThree = new TrackedBug("Summary", "Reporter");
-		assertEquals(1, newBugThree.getBugId());
-	}
-
-	/**
-	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.setCounter
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.TrackedBug
+	 * with an offset for the ID from the XML file
 	 */
 	@Test
-	public final void testSetCounter() {
-		TrackedBug.setCounter(2);
-		newBugThree = new TrackedBug("Summary", "Reporter");
+	public final void testTrackedBugIdOffset() {
+		newBugThree = new TrackedBug(b, 5, names);
+		assertEquals(6, newBugThree.getBugId());
+		newBugThree = new TrackedBug(2, "Summary", "Reporter", names);
 		assertEquals(2, newBugThree.getBugId());
 	}
 
@@ -114,6 +106,55 @@ public class TrackedBugTest {
 	@Test
 	public final void testGetState() {
 		assertEquals("Unconfirmed", newBug.getState().getStateName());
+		//Bugs in the same state share the state
+		TrackedBug other = new TrackedBug(9, "Summary", "Reporter", names);
+		assertSame(newBug.getState(), other.getState());
+		other.update(new Command(CommandValue.CONFIRM, null, null, null));
+		assertNotSame(newBug.getState(), other.getState());
+		assertEquals("New", other.getState().getStateName());
+	}
+
+	/**
+	 * Test that bugs in different lists share one instance of each state
+	 * through the whole lifecycle, and that a shared state updates only
+	 * the bug it is given, and only if the bug is in that state
+	 */
+	@Test
+	public final void testStatesShared() {
+		TrackedBug first = new TrackedBug(1, "Summary", "Reporter", new NameTable());
+		TrackedBug second = new TrackedBug(1, "Summary", "Reporter", new NameTable());
+		Command[] lifecycle = {new Command(CommandValue.CONFIRM, null, null, null),
+				new Command(CommandValue.POSSESSION, "Owner", null, null),
+				new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null),
+				new Command(CommandValue.REOPEN, null, null, null),
+				new Command(CommandValue.RESOLVED, null, Resolution.WONTFIX, null)};
+		assertSame(first.getState(), second.getState());
+		for (Command c : lifecycle) {
+			BugState before = first.getState();
+			first.update(c);
+			second.update(c);
+			assertNotSame(before, first.getState());
+			assertSame(first.getState(), second.getState());
+		}
+		assertEquals("Closed", first.getState().getStateName());
+		BugState closed = first.getState();
+		closed.updateState(first, new Command(CommandValue.REOPEN, null, null, null));
+		assertEquals("Reopen", first.getState().getStateName());
+		assertEquals(6, first.getVersion());
+		assertEquals("Closed", second.getState().getStateName());
+		try {
+			closed.updateState(first, new Command(CommandValue.REOPEN, null, null, null));
+			fail("updateState() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Reopen", first.getState().getStateName());
+			assertEquals(6, first.getVersion());
+		}
+		try {
+			second.getState().updateState(second, new Command(CommandValue.VOTE, null, null, null));
+			fail("updateState() should throw an exception");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(5, second.getVersion());
+		}
 	}
 
 	/**
@@ -139,12 +180,50 @@ public class TrackedBugTest {
 		assertEquals("Fixed", newBug.getResolutionString());
 	}
 
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.getResolution
+	 * for a bug read from an XML file
+	 */
+	@Test
+	public final void testGetResolutionFromXML() {
+		b.setState("Closed");
+		b.setResolution("WontFix");
+		TrackedBug closed = new TrackedBug(b, 0, names);
+		assertEquals(Resolution.WONTFIX, closed.getResolution());
+		assertEquals("WontFix", closed.getResolutionString());
+	}
+
 	/**
 	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.getOwner
 	 */
 	@Test
 	public final void testGetOwner() {
 		assertEquals(newBug.getOwner(), null);
+		assertEquals(NameTable.NONE, newBug.getOwnerId());
+		
+		//Bugs sharing a name table share the IDs of their names
+		TrackedBug one = new TrackedBug(1, "Summary", "Reporter", names);
+		TrackedBug two = new TrackedBug(2, "Summary", new String("Reporter"), names);
+		assertEquals(one.getReporterId(), two.getReporterId());
+		assertEquals("Reporter", two.getReporter());
+		one.update(new Command(CommandValue.CONFIRM, null, null, null));
+		one.update(new Command(CommandValue.POSSESSION, "Owner", null, null));
+		assertEquals("Owner", one.getOwner());
+		assertEquals(names.find("Owner"), one.getOwnerId());
+		
+		//Every bug needs the name table of its list
+		try {
+			new TrackedBug(3, "Summary", "Reporter", null);
+			fail("TrackedBug() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Reporter", two.getReporter());
+		}
+		try {
+			new TrackedBug(b, 0, null);
+			fail("TrackedBug() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Owner", one.getOwner());
+		}
 	}
 
 	/**
@@ -221,6 +300,187 @@ public class TrackedBugTest {
 		assertEquals("Assigned", newBug.getState().getStateName());
 		
 	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.canApply
+	 */
+	@Test
+	public final void testCanApply() {
+		Command vote = new Command(CommandValue.VOTE, null, null, null);
+		Command possession = new Command(CommandValue.POSSESSION, "Owner", null, null);
+		Command fixed = new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null);
+		assertTrue(newBug.canApply(vote));
+		assertTrue(newBug.canApply(new Command(CommandValue.CONFIRM, null, null, null)));
+		assertFalse(newBug.canApply(possession));
+		assertFalse(newBug.canApply(null));
+		
+		//Checking does not change the bug
+		assertEquals(0, newBug.getVersion());
+		
+		//A bug that cannot take a command fails the same way it would have been rejected
+		try {
+			newBug.update(possession);
+			fail("update() should throw an exception");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(0, newBug.getVersion());
+		}
+		newBug.update(new Command(CommandValue.CONFIRM, null, null, null));
+		assertTrue(newBug.canApply(possession));
+		assertFalse(newBug.canApply(vote));
+		newBug.update(possession);
+		assertTrue(newBug.canApply(fixed));
+		newBug.update(fixed);
+		assertTrue(newBug.canApply(new Command(CommandValue.VERIFIED, null, null, null)));
+		assertTrue(newBug.canApply(new Command(CommandValue.REOPEN, null, null, null)));
+		assertFalse(newBug.canApply(fixed));
+	}
+
+	/**
+	 * Test that canApply refuses a command the state's table accepts when
+	 * the command lacks the developer or resolution it needs, as update does
+	 */
+	@Test
+	public final void testCanApplyGuards() {
+		//Command checks its own arguments, so only a subclass can lack them
+		Command noDeveloper = new Command(CommandValue.POSSESSION, "Owner", null, null) {
+			@Override
+			public String getDeveloperId() {
+				return "";
+			}
+		};
+		Command noResolution = new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null) {
+			@Override
+			public Resolution getResolution() {
+				return null;
+			}
+		};
+		newBug.update(new Command(CommandValue.CONFIRM, null, null, null));
+		assertTrue(newBug.getAvailableCommands().contains(CommandValue.POSSESSION));
+		assertFalse(newBug.canApply(noDeveloper));
+		try {
+			newBug.update(noDeveloper);
+			fail("update() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals("New", newBug.getState().getStateName());
+			assertNull(newBug.getOwner());
+		}
+		newBug.update(new Command(CommandValue.POSSESSION, "Owner", null, null));
+		assertTrue(newBug.getAvailableCommands().contains(CommandValue.RESOLVED));
+		assertFalse(newBug.canApply(noResolution));
+		try {
+			newBug.update(noResolution);
+			fail("update() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Assigned", newBug.getState().getStateName());
+			assertEquals(2, newBug.getVersion());
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.getAvailableCommands
+	 */
+	@Test
+	public final void testGetAvailableCommands() {
+		assertEquals(2, newBug.getAvailableCommands().size());
+		assertTrue(newBug.getAvailableCommands().contains(CommandValue.VOTE));
+		assertTrue(newBug.getAvailableCommands().contains(CommandValue.CONFIRM));
+		//Bugs in the same state share the set
+		assertSame(newBug.getAvailableCommands(), new TrackedBug(1, "Summary", "Reporter", names).getAvailableCommands());
+		newBug.update(new Command(CommandValue.CONFIRM, null, null, null));
+		assertEquals(1, newBug.getAvailableCommands().size());
+		assertTrue(newBug.getAvailableCommands().contains(CommandValue.POSSESSION));
+		try {
+			newBug.getAvailableCommands().clear();
+			fail("getAvailableCommands() should not be changeable");
+		} catch (UnsupportedOperationException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.getVersion
+	 */
+	@Test
+	public final void testGetVersion() {
+		assertEquals(0, newBug.getVersion());
+		newBug.update(new Command(CommandValue.VOTE, null, null, null));
+		assertEquals(1, newBug.getVersion());
+		try {
+			newBug.update(new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null));
+			fail("update() should throw an exception");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(1, newBug.getVersion());
+		}
+		newBug.update(new Command(CommandValue.CONFIRM, null, null, null));
+		assertEquals(2, newBug.getVersion());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.update with an expected version
+	 */
+	@Test
+	public final void testUpdateExpectedVersion() {
+		Command vote = new Command(CommandValue.VOTE, null, null, null);
+		assertTrue(newBug.update(vote, 0));
+		assertEquals(2, newBug.getVotes());
+		assertFalse(newBug.update(vote, 0));
+		assertEquals(2, newBug.getVotes());
+		assertTrue(newBug.update(vote, 1));
+		assertEquals(3, newBug.getVotes());
+		assertEquals(2, newBug.getVersion());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.getSnapshot
+	 */
+	@Test
+	public final void testGetSnapshot() {
+		BugSnapshot s = newBug.getSnapshot();
+		assertEquals("Unconfirmed", s.getStateName());
+		newBug.update(new Command(CommandValue.CONFIRM, null, null, "Note"));
+		assertEquals("Unconfirmed", s.getStateName());
+		assertEquals(0, s.getNotes().size());
+		assertEquals("New", newBug.getSnapshot().getStateName());
+		assertEquals(1, newBug.getSnapshot().getVersion());
+		//The notes are shared with the bug until it adds another
+		assertSame(newBug.getNotes(), newBug.getSnapshot().getNotes());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.bug.TrackedBug.getSnapshot
+	 * at the epoch of a list snapshot
+	 */
+	@Test
+	public final void testGetSnapshotAtEpoch() {
+		SnapshotClock clock = new SnapshotClock();
+		newBug.setSnapshotClock(clock);
+		TrackedBug unchanged = new TrackedBug(1, "Summary", "Reporter", names);
+		unchanged.setSnapshotClock(clock);
+		int epoch = clock.open();
+		//A bug added while the epoch is open is not in the snapshot
+		TrackedBug added = new TrackedBug(2, "Summary", "Reporter", names);
+		added.setSnapshotClock(clock);
+		
+		//The first change after the epoch opened keeps the bug as it was
+		newBug.update(new Command(CommandValue.CONFIRM, null, null, null));
+		newBug.update(new Command(CommandValue.POSSESSION, "Owner", null, null));
+		BugSnapshot s = newBug.getSnapshot(epoch);
+		assertEquals("Unconfirmed", s.getStateName());
+		assertEquals(0, s.getVersion());
+		assertNull(s.getOwner());
+		
+		//A bug read before it changes is copied as it is
+		assertEquals(0, unchanged.getSnapshot(epoch).getVersion());
+		unchanged.update(new Command(CommandValue.CONFIRM, null, null, null));
+		added.update(new Command(CommandValue.CONFIRM, null, null, null));
+		clock.close();
+		
+		//Once read or closed, the epoch no longer returns the old copy
+		assertEquals("Assigned", newBug.getSnapshot(epoch).getStateName());
+		assertEquals("New", unchanged.getSnapshot(epoch).getStateName());
+		newBug.update(new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null));
+		assertEquals("Resolved", newBug.getSnapshot(clock.open()).getStateName());
+	}
 	
 
 }
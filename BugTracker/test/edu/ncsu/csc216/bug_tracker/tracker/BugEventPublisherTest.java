@@ -0,0 +1,176 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for BugEventPublisher
+ * @author Josh Stetson
+ */
+public class BugEventPublisherTest {
+
+	/** BugEventPublisher object, delivering on the publishing thread */
+	private BugEventPublisher publisher;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.BugEventPublisherTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		publisher = new BugEventPublisher(new Executor() {
+			public void execute(Runnable task) {
+				task.run();
+			}
+		});
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugEventPublisher.publish
+	 */
+	@Test
+	public final void testPublish() {
+		Recorder r = new Recorder();
+		assertFalse(publisher.hasSubscribers());
+		publisher.subscribe(r);
+		assertTrue(publisher.hasSubscribers());
+		assertEquals(1, publisher.getSubscriberCount());
+		for (int i = 0; i < 5; i++) {
+			publisher.publish(new BugEvent(BugEvent.Type.VOTE_ADDED, null, null, i, i + 1));
+		}
+		//Nothing is delivered until it is requested
+		assertEquals(0, r.received.size());
+		r.subscription.request(2);
+		assertEquals(2, r.received.size());
+		r.subscription.request(10);
+		assertEquals(5, r.received.size());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(i, r.received.get(i).getOldValue());
+		}
+		publisher.publish(new BugEvent(BugEvent.Type.CLEARED, null, null, null, null));
+		assertEquals(6, r.received.size());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugEventPublisher.subscribe
+	 */
+	@Test
+	public final void testCancel() {
+		Recorder r = new Recorder();
+		publisher.subscribe(r);
+		r.subscription.request(Long.MAX_VALUE);
+		r.subscription.request(Long.MAX_VALUE);
+		publisher.publish(new BugEvent(BugEvent.Type.CLEARED, null, null, null, null));
+		r.subscription.cancel();
+		publisher.publish(new BugEvent(BugEvent.Type.CLEARED, null, null, null, null));
+		assertEquals(1, r.received.size());
+		assertFalse(publisher.hasSubscribers());
+
+		Recorder bad = new Recorder();
+		publisher.subscribe(bad);
+		bad.subscription.request(0);
+		assertTrue(bad.error instanceof IllegalArgumentException);
+		assertFalse(publisher.hasSubscribers());
+		try {
+			publisher.subscribe(null);
+			fail("subscribe() should throw an exception");
+		} catch (NullPointerException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugEventPublisher.publish
+	 * when a new list replaces the old one
+	 */
+	@Test
+	public final void testPublishDropsReplacedList() {
+		BugList old = new BugList();
+		BugList created = new BugList();
+		Recorder r = new Recorder();
+		publisher.subscribe(r);
+		r.subscription.request(Long.MAX_VALUE);
+		publisher.publish(new BugEvent(BugEvent.Type.VOTE_ADDED, old, null, 0, 1));
+		publisher.publish(new BugEvent(BugEvent.Type.CLEARED, created, null, null, null));
+		//Events from the old list still arriving after CLEARED are dropped
+		publisher.publish(new BugEvent(BugEvent.Type.VOTE_ADDED, old, null, 1, 2));
+		publisher.publish(new BugEvent(BugEvent.Type.VOTE_ADDED, created, null, 2, 3));
+		assertEquals(3, r.received.size());
+		assertSame(old, r.received.get(0).getList());
+		assertEquals(BugEvent.Type.CLEARED, r.received.get(1).getType());
+		assertSame(created, r.received.get(2).getList());
+
+		//A late subscriber only sees the list that is current
+		Recorder late = new Recorder();
+		publisher.subscribe(late);
+		late.subscription.request(Long.MAX_VALUE);
+		publisher.publish(new BugEvent(BugEvent.Type.VOTE_ADDED, old, null, 3, 4));
+		publisher.publish(new BugEvent(BugEvent.Type.VOTE_ADDED, created, null, 4, 5));
+		assertEquals(1, late.received.size());
+		assertEquals(4, late.received.get(0).getOldValue());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugEventPublisher.publish
+	 * when the executor rejects a delivery
+	 */
+	@Test
+	public final void testPublishRejected() {
+		final boolean[] reject = {true};
+		publisher = new BugEventPublisher(new Executor() {
+			public void execute(Runnable task) {
+				if (reject[0]) {
+					throw new RejectedExecutionException();
+				}
+				task.run();
+			}
+		});
+		Recorder r = new Recorder();
+		publisher.subscribe(r);
+		r.subscription.request(Long.MAX_VALUE);
+		publisher.publish(new BugEvent(BugEvent.Type.VOTE_ADDED, null, null, 0, 1));
+		assertEquals(0, r.received.size());
+		//The rejected delivery does not stop later ones from being scheduled
+		reject[0] = false;
+		publisher.publish(new BugEvent(BugEvent.Type.VOTE_ADDED, null, null, 1, 2));
+		assertEquals(2, r.received.size());
+	}
+
+	/**
+	 * Subscriber that keeps every event it receives
+	 */
+	private static class Recorder implements Flow.Subscriber<BugEvent> {
+
+		/** Subscription given to the subscriber */
+		private Flow.Subscription subscription;
+		/** Events received */
+		private List<BugEvent> received = new ArrayList<BugEvent>();
+		/** Error received, if any */
+		private Throwable error;
+
+		public void onSubscribe(Flow.Subscription s) {
+			subscription = s;
+		}
+
+		public void onNext(BugEvent item) {
+			received.add(item);
+		}
+
+		public void onError(Throwable t) {
+			error = t;
+		}
+
+		public void onComplete() {
+			// Publisher never completes
+		}
+	}
+
+}
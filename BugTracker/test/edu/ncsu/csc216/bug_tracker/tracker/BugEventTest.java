@@ -0,0 +1,41 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.NameTable;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Test class for BugEvent
+ * @author Josh Stetson
+ */
+public class BugEventTest {
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugEvent.BugEvent
+	 */
+	@Test
+	public final void testBugEvent() {
+		TrackedBug b = new TrackedBug(4, "Summary", "Reporter", new NameTable());
+		BugEvent e = new BugEvent(BugEvent.Type.OWNER_CHANGED, null, b, null, "Owner");
+		assertEquals(BugEvent.Type.OWNER_CHANGED, e.getType());
+		assertSame(b, e.getBug());
+		assertEquals(4, e.getBugId());
+		assertNull(e.getOldValue());
+		assertEquals("Owner", e.getNewValue());
+		assertEquals("OWNER_CHANGED 4: null -> Owner", e.toString());
+		assertNull(e.getList());
+		BugList list = new BugList();
+		assertSame(list, new BugEvent(BugEvent.Type.CLEARED, list, null, null, null).getList());
+		assertEquals(-1, new BugEvent(BugEvent.Type.CLEARED, null, null, null, null).getBugId());
+		try {
+			new BugEvent(null, null, b, null, null);
+			fail("BugEvent() should throw an exception");
+		} catch (IllegalArgumentException e2) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+}
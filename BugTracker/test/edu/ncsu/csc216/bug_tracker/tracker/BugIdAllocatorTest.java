@@ -0,0 +1,95 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import java.util.BitSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for BugIdAllocator
+ * @author Josh Stetson
+ */
+public class BugIdAllocatorTest {
+
+	/** BugIdAllocator object */
+	private BugIdAllocator ids;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.BugIdAllocatorTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		ids = new BugIdAllocator();
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugIdAllocator.nextId
+	 */
+	@Test
+	public final void testNextId() {
+		for (int i = 0; i < 200; i++) {
+			assertEquals(i, ids.nextId());
+		}
+		assertEquals(200, ids.getLimit());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugIdAllocator.nextId
+	 * from many threads at once
+	 * @throws Exception
+	 */
+	@Test
+	public final void testNextIdConcurrent() throws Exception {
+		final int perThread = 20000;
+		final int[][] taken = new int[8][perThread];
+		Thread[] threads = new Thread[taken.length];
+		for (int t = 0; t < threads.length; t++) {
+			final int[] mine = taken[t];
+			threads[t] = new Thread(new Runnable() {
+				public void run() {
+					for (int i = 0; i < perThread; i++) {
+						mine[i] = ids.nextId();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		BitSet seen = new BitSet();
+		for (int[] mine : taken) {
+			for (int i = 0; i < perThread; i++) {
+				assertFalse(seen.get(mine[i]));
+				assertTrue(mine[i] < ids.getLimit());
+				seen.set(mine[i]);
+				if (i > 0) {
+					assertTrue(mine[i] > mine[i - 1]);
+				}
+			}
+		}
+		assertEquals(taken.length * perThread, seen.cardinality());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugIdAllocator.reserve
+	 */
+	@Test
+	public final void testReserve() {
+		ids.nextId();
+		assertEquals(1, ids.reserve(10));
+		assertEquals(11, ids.nextId());
+		assertEquals(12, ids.reserve(0));
+		assertEquals(12, ids.getLimit());
+		try {
+			ids.reserve(-1);
+			fail("reserve() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals(12, ids.getLimit());
+		}
+	}
+
+}
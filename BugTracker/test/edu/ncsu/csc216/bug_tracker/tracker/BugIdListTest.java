@@ -0,0 +1,58 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Test class for BugIdList
+ * @author Josh Stetson
+ */
+public class BugIdListTest {
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugIdList.add
+	 */
+	@Test
+	public final void testAdd() {
+		BugIdList list = new BugIdList();
+		for (int i = 0; i < 40; i++) {
+			assertEquals(i, list.add(i * 2));
+		}
+		assertEquals(40, list.size());
+		assertEquals(3, list.add(5));
+		assertEquals(0, list.add(-1));
+		assertEquals(-1, list.add(5));
+		assertEquals(42, list.size());
+		assertEquals(-1, list.get(0));
+		assertEquals(5, list.get(4));
+		assertEquals(78, list.get(41));
+		assertEquals(4, list.indexOf(5));
+		assertEquals(-7, list.indexOf(7));
+		try {
+			list.get(42);
+			fail("get() should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugIdList.remove
+	 */
+	@Test
+	public final void testRemove() {
+		BugIdList list = new BugIdList(new int[] {1, 3, 5, 7});
+		assertEquals(4, list.size());
+		assertEquals(1, list.remove(3));
+		assertEquals(-1, list.remove(3));
+		assertEquals(3, list.size());
+		assertEquals(5, list.get(1));
+		assertEquals(2, list.remove(7));
+		assertEquals(2, list.size());
+		assertEquals(2, list.add(9));
+		assertEquals(9, list.get(2));
+		assertEquals(0, new BugIdList(new int[0]).add(4));
+	}
+
+}
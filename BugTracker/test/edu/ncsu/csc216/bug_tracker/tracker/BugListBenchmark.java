@@ -0,0 +1,89 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.List;
+import java.util.Random;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command;
+import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Compares the bitmap index of a BugList with the scan loops it replaces
+ * for the filter "confirmed AND state in {New, Reopen} AND resolution
+ * is not WontFix".  Run with the number of bugs as the only argument.
+ * @author Josh Stetson
+ */
+public class BugListBenchmark {
+
+	/** Number of times each filter is timed */
+	private static final int ROUNDS = 50;
+
+	/**
+	 * Builds a BugList with bugs spread over every state and times both filters
+	 * @param args number of bugs to create, 200000 if not given
+	 */
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		BugList bugList = new BugList();
+		Random random = new Random(216);
+		Resolution[] resolutions = Resolution.values();
+		for (int i = 0; i < size; i++) {
+			int id = bugList.addBug("Summary " + i, "Reporter");
+			int steps = random.nextInt(6);
+			if (steps > 0) {
+				bugList.executeCommand(id, new Command(CommandValue.CONFIRM, null, null, null));
+			}
+			if (steps > 1) {
+				bugList.executeCommand(id, new Command(CommandValue.POSSESSION, "Owner", null, null));
+			}
+			if (steps > 2) {
+				bugList.executeCommand(id, new Command(CommandValue.RESOLVED, null,
+						resolutions[random.nextInt(resolutions.length)], null));
+			}
+			if (steps > 3 && bugList.getBugById(id).getResolution() == Resolution.FIXED) {
+				bugList.executeCommand(id, new Command(CommandValue.VERIFIED, null, null, null));
+			}
+			if (steps > 4) {
+				bugList.executeCommand(id, new Command(CommandValue.REOPEN, null, null, null));
+			}
+		}
+		BugQuery q = new BugQuery().withConfirmed(true).withState(TrackedBug.NEW_NAME, TrackedBug.REOPEN_NAME)
+				.withoutResolution(Resolution.WONTFIX);
+
+		int scanCount = 0;
+		long scanTime = 0;
+		int bitmapCount = 0;
+		long bitmapTime = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			scanCount = scan(bugList.getBugs());
+			scanTime += System.nanoTime() - start;
+			start = System.nanoTime();
+			bitmapCount = bugList.count(q);
+			bitmapTime += System.nanoTime() - start;
+		}
+		System.out.println(size + " bugs, " + scanCount + " / " + bitmapCount + " matching");
+		System.out.println("scan loop:    " + scanTime / ROUNDS / 1000 + " us per filter");
+		System.out.println("bitmap index: " + bitmapTime / ROUNDS / 1000 + " us per filter");
+	}
+
+	/**
+	 * Counts the matching bugs the way the filtering loops around getBugs() do
+	 * @param bugs bugs to scan
+	 * @return number of matching bugs
+	 */
+	private static int scan(List<TrackedBug> bugs) {
+		int count = 0;
+		for (int i = 0; i < bugs.size(); i++) {
+			TrackedBug b = bugs.get(i);
+			String stateName = b.getState().getStateName();
+			if (b.isConfirmed() && (stateName.equals(TrackedBug.NEW_NAME) || stateName.equals(TrackedBug.REOPEN_NAME))
+					&& b.getResolution() != Resolution.WONTFIX) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,46 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.BugSnapshot;
+import edu.ncsu.csc216.bug_tracker.bug.NameTable;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Test class for BugListSnapshot
+ * @author Josh Stetson
+ */
+public class BugListSnapshotTest {
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugListSnapshot.BugListSnapshot
+	 */
+	@Test
+	public final void testBugListSnapshot() {
+		int[] ids = {7, 2, 9, 0, 4};
+		BugSnapshot[] copies = new BugSnapshot[ids.length];
+		for (int i = 0; i < ids.length; i++) {
+			copies[i] = new TrackedBug(ids[i], "Summary " + ids[i], "Reporter", new NameTable()).getSnapshot();
+		}
+		BugListSnapshot snapshot = new BugListSnapshot(copies);
+		assertEquals(5, snapshot.size());
+		assertEquals(0, snapshot.getBugs().get(0).getBugId());
+		assertEquals(9, snapshot.getBugs().get(4).getBugId());
+		for (int id : ids) {
+			assertEquals("Summary " + id, snapshot.getBugById(id).getSummary());
+		}
+		assertNull(snapshot.getBugById(3));
+		assertNull(snapshot.getBugById(10));
+		assertNull(snapshot.getBugById(-1));
+		try {
+			snapshot.getBugs().remove(0);
+			fail("getBugs() should not be changeable");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(5, snapshot.size());
+		}
+		assertNull(new BugListSnapshot(new BugSnapshot[0]).getBugById(0));
+	}
+
+}
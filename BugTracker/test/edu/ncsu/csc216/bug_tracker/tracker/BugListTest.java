@@ -3,13 +3,20 @@ package edu.ncsu.csc216.bug_tracker.tracker;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import edu.ncsu.csc216.bug_tracker.bug.BugSnapshot;
 import edu.ncsu.csc216.bug_tracker.bug.Command;
 import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
 import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
 import edu.ncsu.csc216.bug_tracker.xml.Bug;
 
@@ -31,7 +38,6 @@ public class BugListTest {
 	 */
 	@Before
 	public void setUp() throws Exception {
-		TrackedBug.setCounter(0);
 		bugList = new BugList();
 		bugList.addBug("Summary", "Josh Stetson");
 		bugList.addBug("Summary", "Josh Stetson");
@@ -41,6 +47,9 @@ public class BugListTest {
 		
 		bugOne = bugList.getBugs().get(0).getXMLBug();
 		bugTwo = bugList.getBugs().get(1).getXMLBug();
+		bugTwo.setState("Assigned");
+		bugTwo.setOwner("Owner");
+		bugTwo.setConfirmed(true);
 		list = new ArrayList<Bug>();
 		list.add(bugOne);
 		list.add(bugTwo);
@@ -75,6 +84,57 @@ public class BugListTest {
 	public final void testAddXMLBugs() {
 		bugList.addXMLBugs(list);
 		assertEquals(7, bugList.getBugs().size());
+		//IDs from the file are moved past the IDs already handed out
+		assertEquals("Assigned", bugList.getBugById(6).getState().getStateName());
+		assertEquals(7, bugList.addBug("Summary", "Reporter"));
+		bugList.addXMLBugs(list);
+		assertEquals(9, bugList.getBugById(9).getBugId());
+		assertEquals(10, bugList.addBug("Summary", "Reporter"));
+		//A file listing an ID twice adds the first bug with that ID
+		list.add(bugOne);
+		assertEquals(2, bugList.addXMLBugs(list, 3, null));
+		assertEquals(13, bugList.size());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.addXMLBugs
+	 * in batches
+	 */
+	@Test
+	public final void testAddXMLBugsInBatches() {
+		list.add(null);
+		list.add(bugList.getBugs().get(2).getXMLBug());
+		final List<Integer> calls = new ArrayList<Integer>();
+		assertEquals(3, bugList.addXMLBugs(list, 3, new ProgressListener() {
+			public boolean progress(int done, int total) {
+				assertEquals(4, total);
+				calls.add(done);
+				return true;
+			}
+		}));
+		assertEquals(2, calls.size());
+		assertEquals(3, (int) calls.get(0));
+		assertEquals(4, (int) calls.get(1));
+		assertEquals(8, bugList.size());
+		
+		//Stopping after the first batch removes the bugs already added
+		calls.clear();
+		assertEquals(0, bugList.addXMLBugs(list, 2, new ProgressListener() {
+			public boolean progress(int done, int total) {
+				calls.add(done);
+				assertEquals(10, bugList.size());
+				return false;
+			}
+		}));
+		assertEquals(1, calls.size());
+		assertEquals(8, bugList.size());
+		assertEquals(0, bugList.addXMLBugs(null, 2, null));
+		try {
+			bugList.addXMLBugs(list, 0, null);
+			fail("addXMLBugs() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
 	}
 
 	/**
@@ -95,6 +155,385 @@ public class BugListTest {
 		List<TrackedBug> bugsByOwner = new ArrayList<TrackedBug>();
 		bugsByOwner = bugList.getBugsByOwner("Owner");
 		assertEquals(0, bugsByOwner.size());
+		
+		bugList.executeCommand(1, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(1, new Command(CommandValue.POSSESSION, "Owner", null, null));
+		bugList.executeCommand(3, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(3, new Command(CommandValue.POSSESSION, "Owner", null, null));
+		bugsByOwner = bugList.getBugsByOwner("Owner");
+		assertEquals(2, bugsByOwner.size());
+		assertEquals(1, bugsByOwner.get(0).getBugId());
+		assertEquals(3, bugsByOwner.get(1).getBugId());
+		
+		//Reopened bug given to a new owner moves to the new owner's list
+		bugList.executeCommand(1, new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null));
+		bugList.executeCommand(1, new Command(CommandValue.REOPEN, null, null, null));
+		bugList.executeCommand(1, new Command(CommandValue.POSSESSION, "Other", null, null));
+		assertEquals(1, bugList.getBugsByOwner("Owner").size());
+		assertEquals(1, bugList.getBugsByOwner("Other").get(0).getBugId());
+		
+		//Bugs loaded with an owner are indexed
+		bugList.addXMLBugs(list);
+		assertEquals(2, bugList.getBugsByOwner("Owner").size());
+		
+		//Deleted bugs are removed from the index
+		bugList.deleteBugById(3);
+		assertEquals(1, bugList.getBugsByOwner("Owner").size());
+		assertEquals(0, bugList.getBugsByOwner("Nobody").size());
+		try {
+			bugList.getBugsByOwner(null);
+			fail("getBugsByOwner() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.getBugIds
+	 */
+	@Test
+	public final void testGetBugIds() {
+		bugList.deleteBugById(2);
+		int[] all = bugList.getBugIds(null);
+		assertEquals(4, all.length);
+		assertEquals(0, all[0]);
+		assertEquals(3, all[2]);
+		assertEquals(0, bugList.getBugIds("Owner").length);
+		bugList.executeCommand(4, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(4, new Command(CommandValue.POSSESSION, "Owner", null, null));
+		bugList.executeCommand(1, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(1, new Command(CommandValue.POSSESSION, "Owner", null, null));
+		int[] owned = bugList.getBugIds("Owner");
+		assertEquals(2, owned.length);
+		assertEquals(1, owned[0]);
+		assertEquals(4, owned[1]);
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.getBugIdsByOwnerPrefix
+	 */
+	@Test
+	public final void testGetBugIdsByOwnerPrefix() {
+		assertEquals(0, bugList.getBugIdsByOwnerPrefix("").length);
+		bugList.executeCommand(4, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(4, new Command(CommandValue.POSSESSION, "jdoe", null, null));
+		bugList.executeCommand(0, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(0, new Command(CommandValue.POSSESSION, "jsmith", null, null));
+		bugList.executeCommand(2, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(2, new Command(CommandValue.POSSESSION, "jdoe", null, null));
+		bugList.executeCommand(3, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(3, new Command(CommandValue.POSSESSION, "kdoe", null, null));
+		
+		//Bugs of several owners come back in order of ID
+		int[] found = bugList.getBugIdsByOwnerPrefix("j");
+		assertEquals(3, found.length);
+		assertEquals(0, found[0]);
+		assertEquals(2, found[1]);
+		assertEquals(4, found[2]);
+		assertEquals(2, bugList.getBugIdsByOwnerPrefix("jdoe").length);
+		assertEquals(0, bugList.getBugIdsByOwnerPrefix("jdoes").length);
+		assertEquals(0, bugList.getBugIdsByOwnerPrefix("a").length);
+		assertEquals(4, bugList.getBugIdsByOwnerPrefix("").length);
+		
+		//Changing owner moves the bug between prefixes
+		bugList.executeCommand(3, new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null));
+		bugList.executeCommand(3, new Command(CommandValue.REOPEN, null, null, null));
+		bugList.executeCommand(3, new Command(CommandValue.POSSESSION, "jkim", null, null));
+		assertEquals(4, bugList.getBugIdsByOwnerPrefix("j").length);
+		assertEquals(0, bugList.getBugIdsByOwnerPrefix("k").length);
+		try {
+			bugList.getBugIdsByOwnerPrefix(null);
+			fail("getBugIdsByOwnerPrefix() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.getBugsByState
+	 */
+	@Test
+	public final void testGetBugsByState() {
+		assertEquals(5, bugList.getBugsByState("Unconfirmed").size());
+		assertEquals(0, bugList.getBugsByState("New").size());
+		bugList.executeCommand(2, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(0, new Command(CommandValue.CONFIRM, null, null, null));
+		List<TrackedBug> newBugs = bugList.getBugsByState("New");
+		assertEquals(2, newBugs.size());
+		assertEquals(0, newBugs.get(0).getBugId());
+		assertEquals(2, newBugs.get(1).getBugId());
+		assertEquals(3, bugList.getBugsByState("Unconfirmed").size());
+		
+		//An invalid command leaves the bug where it was
+		try {
+			bugList.executeCommand(2, new Command(CommandValue.VOTE, null, null, null));
+			fail("executeCommand() should throw an exception");
+		} catch (UnsupportedOperationException e) {
+			assertEquals(2, bugList.getBugsByState("New").size());
+		}
+		try {
+			bugList.getBugsByState("Fixed");
+			fail("getBugsByState() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+	
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.getStateCount
+	 */
+	@Test
+	public final void testGetStateCount() {
+		assertEquals(5, bugList.getStateCount("Unconfirmed"));
+		bugList.addXMLBugs(list);
+		assertEquals(6, bugList.getStateCount("Unconfirmed"));
+		assertEquals(1, bugList.getStateCount("Assigned"));
+		bugList.executeCommand(6, new Command(CommandValue.RESOLVED, null, Resolution.WONTFIX, null));
+		assertEquals(0, bugList.getStateCount("Assigned"));
+		assertEquals(1, bugList.getStateCount("Closed"));
+		bugList.deleteBugById(6);
+		assertEquals(0, bugList.getStateCount("Closed"));
+		bugList.deleteBugById(0);
+		assertEquals(5, bugList.getStateCount("Unconfirmed"));
+		try {
+			bugList.getStateCount(null);
+			fail("getStateCount() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.search
+	 */
+	@Test
+	public final void testSearch() {
+		assertEquals(5, bugList.search("summary", 10).size());
+		assertEquals(0, bugList.search("crash", 10).size());
+		bugList.executeCommand(3, new Command(CommandValue.VOTE, null, null, "Crash on startup"));
+		List<TrackedBug> results = bugList.search("crash", 10);
+		assertEquals(1, results.size());
+		assertEquals(3, results.get(0).getBugId());
+		bugList.deleteBugById(3);
+		assertEquals(0, bugList.search("crash", 10).size());
+		assertEquals(4, bugList.search("summary", 10).size());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.query
+	 */
+	@Test
+	public final void testQuery() {
+		bugList.addXMLBugs(list);
+		bugList.executeCommand(0, new Command(CommandValue.CONFIRM, null, null, "Crash on save"));
+		bugList.executeCommand(0, new Command(CommandValue.POSSESSION, "Owner", null, null));
+		bugList.executeCommand(1, new Command(CommandValue.VOTE, null, null, "Crash on exit"));
+		
+		Iterator<TrackedBug> it = bugList.query(new BugQuery().withOwner("Owner").withState("Assigned"));
+		assertEquals(0, it.next().getBugId());
+		assertEquals(6, it.next().getBugId());
+		assertFalse(it.hasNext());
+		
+		it = bugList.query(new BugQuery().withText("crash save"));
+		assertEquals(0, it.next().getBugId());
+		assertFalse(it.hasNext());
+		
+		it = bugList.query(new BugQuery().withText("crash").withVotes(2, 2));
+		assertEquals(1, it.next().getBugId());
+		assertFalse(it.hasNext());
+		
+		it = bugList.query(new BugQuery().withState("New", "Unconfirmed").withVotes(1, 1));
+		assertEquals(2, it.next().getBugId());
+		assertEquals(3, it.next().getBugId());
+		assertEquals(4, it.next().getBugId());
+		assertEquals(5, it.next().getBugId());
+		assertFalse(it.hasNext());
+		
+		it = bugList.query(new BugQuery().withReporter("Reporter").withConfirmed(false));
+		assertEquals(3, it.next().getBugId());
+		assertEquals(4, it.next().getBugId());
+		assertFalse(it.hasNext());
+		
+		bugList.executeCommand(6, new Command(CommandValue.RESOLVED, null, Resolution.DUPLICATE, null));
+		it = bugList.query(new BugQuery().withResolution(Resolution.DUPLICATE));
+		assertEquals(6, it.next().getBugId());
+		assertFalse(it.hasNext());
+		
+		it = bugList.query(new BugQuery());
+		int count = 0;
+		while (it.hasNext()) {
+			it.next();
+			count++;
+		}
+		assertEquals(7, count);
+		assertFalse(bugList.query(new BugQuery().withOwner("Nobody")).hasNext());
+		assertFalse(bugList.query(new BugQuery().withText("missing")).hasNext());
+		try {
+			bugList.query(new BugQuery().withState("Fixed"));
+			fail("query() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.count
+	 */
+	@Test
+	public final void testCount() {
+		bugList.addXMLBugs(list);
+		bugList.executeCommand(0, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(1, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(1, new Command(CommandValue.POSSESSION, "Owner", null, null));
+		bugList.executeCommand(1, new Command(CommandValue.RESOLVED, null, Resolution.WONTFIX, null));
+		bugList.executeCommand(6, new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null));
+		
+		assertEquals(7, bugList.count(new BugQuery()));
+		assertEquals(3, bugList.count(new BugQuery().withConfirmed(true)));
+		assertEquals(4, bugList.count(new BugQuery().withConfirmed(false).withState("Unconfirmed", "New")));
+		assertEquals(1, bugList.count(new BugQuery().withConfirmed(true).withState("New", "Reopen")));
+		assertEquals(2, bugList.count(new BugQuery().withConfirmed(true).withoutResolution(Resolution.WONTFIX)));
+		assertEquals(1, bugList.count(new BugQuery().withResolution(null).withConfirmed(true)));
+		assertEquals(1, bugList.count(new BugQuery().withResolution(Resolution.FIXED)));
+		assertEquals(1, bugList.count(new BugQuery().withState("Closed").withOwner("Owner")));
+		
+		//Reopening clears the resolution
+		bugList.executeCommand(6, new Command(CommandValue.REOPEN, null, null, null));
+		assertEquals(0, bugList.count(new BugQuery().withResolution(Resolution.FIXED)));
+		assertEquals(1, bugList.count(new BugQuery().withState("Reopen").withConfirmed(true)));
+		bugList.deleteBugById(6);
+		assertEquals(0, bugList.count(new BugQuery().withState("Reopen")));
+		assertEquals(2, bugList.count(new BugQuery().withConfirmed(true)));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.getMostVotedBugs
+	 */
+	@Test
+	public final void testGetMostVotedBugs() {
+		Command vote = new Command(CommandValue.VOTE, null, null, null);
+		bugList.executeCommand(3, vote);
+		bugList.executeCommand(1, vote);
+		bugList.executeCommand(1, vote);
+		List<TrackedBug> mostVoted = bugList.getMostVotedBugs(3, null);
+		assertEquals(3, mostVoted.size());
+		assertEquals(1, mostVoted.get(0).getBugId());
+		assertEquals(3, mostVoted.get(1).getBugId());
+		assertEquals(0, mostVoted.get(2).getBugId());
+		assertEquals(5, bugList.getMostVotedBugs(10, null).size());
+		
+		//Only bugs still open
+		BugQuery open = new BugQuery().withState(TrackedBug.UNCONFIRMED_NAME, TrackedBug.NEW_NAME);
+		bugList.executeCommand(3, new Command(CommandValue.CONFIRM, null, null, null));
+		mostVoted = bugList.getMostVotedBugs(2, open.withConfirmed(false));
+		assertEquals(1, mostVoted.get(0).getBugId());
+		assertEquals(0, mostVoted.get(1).getBugId());
+		
+		bugList.deleteBugById(1);
+		assertEquals(3, bugList.getMostVotedBugs(1, null).get(0).getBugId());
+		assertEquals(0, bugList.getMostVotedBugs(0, null).size());
+		try {
+			bugList.getMostVotedBugs(-1, null);
+			fail("getMostVotedBugs() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.getPage
+	 */
+	@Test
+	public final void testGetPage() {
+		List<TrackedBug> page = bugList.getPage(null, 0, 2);
+		assertEquals(2, page.size());
+		assertEquals(0, page.get(0).getBugId());
+		assertEquals(1, page.get(1).getBugId());
+		page = bugList.getPage(null, 3, 10);
+		assertEquals(2, page.size());
+		assertEquals(3, page.get(0).getBugId());
+		assertEquals(0, bugList.getPage(null, 5, 10).size());
+		
+		page = bugList.getPage(new BugQuery().withReporter("Reporter"), 1, 5);
+		assertEquals(1, page.size());
+		assertEquals(4, page.get(0).getBugId());
+		
+		//Owner index is used for a selective query
+		Command confirm = new Command(CommandValue.CONFIRM, null, null, null);
+		Command possession = new Command(CommandValue.POSSESSION, "Developer", null, null);
+		bugList.executeCommands(new CommandBatch().add(3, confirm).add(3, possession)
+				.add(1, confirm).add(1, possession));
+		BugQuery q = new BugQuery().withOwner("Developer");
+		assertEquals(1, bugList.getPage(q, 0, 1).get(0).getBugId());
+		assertEquals(3, bugList.getPage(q, 1, 1).get(0).getBugId());
+		assertEquals(0, bugList.getPage(q, 2, 1).size());
+		
+		bugList.deleteBugById(1);
+		page = bugList.getPage(null, 1, 2);
+		assertEquals(2, page.get(0).getBugId());
+		assertEquals(3, page.get(1).getBugId());
+		try {
+			bugList.getPage(null, -1, 2);
+			fail("getPage() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals(4, bugList.size());
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.getPageAfter
+	 */
+	@Test
+	public final void testGetPageAfter() {
+		BugList big = new BugList();
+		for (int i = 0; i < 500; i++) {
+			big.addBug("Summary " + (i % 3 == 0 ? "crash" : "typo"), "Reporter" + (i % 2));
+		}
+		for (int i = 0; i < 500; i += 50) {
+			big.executeCommand(i, new Command(CommandValue.CONFIRM, null, null, null));
+		}
+		BugQuery[] queries = {null, new BugQuery().withReporter("Reporter1"),
+				new BugQuery().withState(TrackedBug.NEW_NAME), new BugQuery().withText("crash")};
+		for (BugQuery q : queries) {
+			List<Integer> expected = new ArrayList<Integer>();
+			for (TrackedBug b : big.getBugs()) {
+				if (q == null || matchesQuery(big, q, b)) {
+					expected.add(b.getBugId());
+				}
+			}
+			List<Integer> paged = new ArrayList<Integer>();
+			List<TrackedBug> page = big.getPageAfter(q, -1, 7);
+			while (!page.isEmpty()) {
+				assertTrue(page.size() <= 7);
+				for (TrackedBug b : page) {
+					paged.add(b.getBugId());
+				}
+				page = big.getPageAfter(q, page.get(page.size() - 1).getBugId(), 7);
+			}
+			assertEquals(expected, paged);
+			List<TrackedBug> deep = big.getPage(q, expected.size() - 2, 7);
+			assertEquals(2, deep.size());
+			assertEquals(expected.get(expected.size() - 1).intValue(), deep.get(1).getBugId());
+		}
+		assertEquals(0, big.getPageAfter(null, Integer.MAX_VALUE, 7).size());
+		assertEquals(0, big.getPageAfter(null, 10, 0).size());
+	}
+	
+	/**
+	 * Checks whether a bug is one of the bugs a query finds
+	 * @param list BugList to query
+	 * @param q query to run
+	 * @param b TrackedBug to look for
+	 * @return true if the query finds the bug
+	 */
+	private boolean matchesQuery(BugList list, BugQuery q, TrackedBug b) {
+		Iterator<TrackedBug> it = list.query(q);
+		while (it.hasNext()) {
+			if (it.next() == b) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	/**
@@ -103,6 +542,8 @@ public class BugListTest {
 	@Test
 	public final void testGetBugById() {
 		assertEquals(4, bugList.getBugs().get(4).getBugId());
+		assertEquals(bugList.getBugs().get(2), bugList.getBugById(2));
+		assertNull(bugList.getBugById(5));
 	}
 
 	/**
@@ -115,6 +556,190 @@ public class BugListTest {
 		assertEquals("New", bugList.getBugById(0).getState().getStateName());
 	}
 
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.executeCommand with an expected version
+	 */
+	@Test
+	public final void testExecuteCommandExpectedVersion() {
+		Command vote = new Command(CommandValue.VOTE, null, null, null);
+		Command confirm = new Command(CommandValue.CONFIRM, null, null, null);
+		int version = bugList.getBugById(0).getVersion();
+		assertTrue(bugList.executeCommand(0, version, vote));
+		assertFalse(bugList.executeCommand(0, version, confirm));
+		assertEquals("Unconfirmed", bugList.getBugById(0).getState().getStateName());
+		assertTrue(bugList.executeCommand(0, version + 1, confirm));
+		assertEquals("New", bugList.getBugById(0).getState().getStateName());
+		assertFalse(bugList.executeCommand(9, 0, vote));
+
+		CommandBatch batch = new CommandBatch().add(1, 0, vote).add(1, 0, vote).add(1, 1, vote);
+		bugList.executeCommands(batch);
+		assertEquals(CommandBatch.Outcome.APPLIED, batch.getOutcome(0));
+		assertEquals(CommandBatch.Outcome.CONFLICT, batch.getOutcome(1));
+		assertEquals(CommandBatch.Outcome.APPLIED, batch.getOutcome(2));
+		assertEquals(3, bugList.getBugById(1).getVotes());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.executeCommands
+	 */
+	@Test
+	public final void testExecuteCommands() {
+		Command confirm = new Command(CommandValue.CONFIRM, null, null, null);
+		Command possession = new Command(CommandValue.POSSESSION, "Developer", null, null);
+		CommandBatch batch = new CommandBatch().add(0, confirm).add(9, confirm)
+				.add(0, possession).add(1, possession).add(0, confirm);
+		bugList.executeCommands(batch);
+		assertEquals(CommandBatch.Outcome.APPLIED, batch.getOutcome(0));
+		assertEquals(CommandBatch.Outcome.NOT_FOUND, batch.getOutcome(1));
+		assertEquals(CommandBatch.Outcome.APPLIED, batch.getOutcome(2));
+		assertEquals(CommandBatch.Outcome.INVALID_TRANSITION, batch.getOutcome(3));
+		assertEquals(CommandBatch.Outcome.INVALID_TRANSITION, batch.getOutcome(4));
+		assertEquals(2, batch.getCount(CommandBatch.Outcome.APPLIED));
+		assertEquals("Assigned", bugList.getBugById(0).getState().getStateName());
+		assertEquals("Developer", bugList.getBugById(0).getOwner());
+		assertEquals("Unconfirmed", bugList.getBugById(1).getState().getStateName());
+		assertEquals(1, bugList.getBugsByOwner("Developer").size());
+		
+		//A command the state accepts but that lacks its developer is invalid
+		Command noDeveloper = new Command(CommandValue.POSSESSION, "Developer", null, null) {
+			@Override
+			public String getDeveloperId() {
+				return null;
+			}
+		};
+		batch = new CommandBatch().add(2, confirm).add(2, noDeveloper);
+		bugList.executeCommands(batch);
+		assertEquals(CommandBatch.Outcome.APPLIED, batch.getOutcome(0));
+		assertEquals(CommandBatch.Outcome.INVALID_COMMAND, batch.getOutcome(1));
+		assertEquals("New", bugList.getBugById(2).getState().getStateName());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.snapshot
+	 */
+	@Test
+	public final void testSnapshot() {
+		BugListSnapshot before = bugList.snapshot();
+		bugList.executeCommand(0, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.deleteBugById(4);
+		bugList.addBug("Added", "Reporter");
+		assertEquals(5, before.size());
+		assertEquals("Unconfirmed", before.getBugById(0).getStateName());
+		assertNotNull(before.getBugById(4));
+		assertNull(before.getBugById(5));
+		BugListSnapshot after = bugList.snapshot();
+		assertEquals(5, after.size());
+		assertEquals("New", after.getBugById(0).getStateName());
+		assertNull(after.getBugById(4));
+		assertEquals("Added", after.getBugById(5).getSummary());
+		//Bugs that did not change are copied at the same version
+		assertEquals(before.getBugById(1).getVersion(), after.getBugById(1).getVersion());
+		assertEquals(0, after.getBugById(1).getVersion());
+	}
+
+	/**
+	 * Test that a snapshot sees all or none of a batch while other threads
+	 * send batches to the list
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public final void testSnapshotOfBatches() throws InterruptedException {
+		final Command vote = new Command(CommandValue.VOTE, null, null, null);
+		final int pairs = 500;
+		final int first = bugList.addBug("First", "Writer");
+		for (int i = 1; i < pairs * 2; i++) {
+			bugList.addBug("Pair", "Writer");
+		}
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		Thread writer = new Thread() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < pairs; i++) {
+						bugList.executeCommands(new CommandBatch().add(first + 2 * i, vote).add(first + 2 * i + 1, vote));
+					}
+				} catch (Throwable e) {
+					error.compareAndSet(null, e);
+				}
+			}
+		};
+		writer.start();
+		boolean done = false;
+		while (!done) {
+			done = !writer.isAlive();
+			BugListSnapshot snapshot = bugList.snapshot();
+			for (int i = 0; i < pairs; i++) {
+				BugSnapshot a = snapshot.getBugById(first + 2 * i);
+				BugSnapshot b = snapshot.getBugById(first + 2 * i + 1);
+				assertEquals(a.getVotes(), b.getVotes());
+				assertEquals(done ? 2 : a.getVotes(), a.getVotes());
+			}
+		}
+		writer.join();
+		assertNull(error.get());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.getEvents
+	 */
+	@Test
+	public final void testGetEvents() {
+		BugEventPublisher publisher = new BugEventPublisher(new Executor() {
+			public void execute(Runnable task) {
+				task.run();
+			}
+		});
+		bugList = new BugList(publisher);
+		assertSame(publisher, bugList.getEvents());
+		final List<BugEvent> received = new ArrayList<BugEvent>();
+		bugList.getEvents().subscribe(new Flow.Subscriber<BugEvent>() {
+			public void onSubscribe(Flow.Subscription s) {
+				s.request(Long.MAX_VALUE);
+			}
+
+			public void onNext(BugEvent item) {
+				received.add(item);
+			}
+
+			public void onError(Throwable t) {
+				fail(t.toString());
+			}
+
+			public void onComplete() {
+				fail("Events should not complete");
+			}
+		});
+		bugList.addBug("Summary", "Reporter");
+		bugList.executeCommand(0, new Command(CommandValue.VOTE, null, null, "Note"));
+		bugList.executeCommand(0, new Command(CommandValue.CONFIRM, null, null, null));
+		bugList.executeCommand(0, new Command(CommandValue.POSSESSION, "Owner", null, null));
+		bugList.executeCommand(0, new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null));
+		bugList.deleteBugById(0);
+		BugEvent.Type[] types = {BugEvent.Type.CREATED, BugEvent.Type.NOTE_ADDED, BugEvent.Type.VOTE_ADDED,
+				BugEvent.Type.STATE_CHANGED, BugEvent.Type.CONFIRMED, BugEvent.Type.OWNER_CHANGED,
+				BugEvent.Type.STATE_CHANGED, BugEvent.Type.STATE_CHANGED, BugEvent.Type.RESOLUTION_CHANGED,
+				BugEvent.Type.DELETED};
+		assertEquals(types.length, received.size());
+		for (int i = 0; i < types.length; i++) {
+			assertEquals(types[i], received.get(i).getType());
+			assertEquals(0, received.get(i).getBugId());
+		}
+		assertEquals("Note", received.get(1).getNewValue());
+		assertEquals(1, received.get(2).getOldValue());
+		assertEquals(2, received.get(2).getNewValue());
+		assertEquals("Unconfirmed", received.get(3).getOldValue());
+		assertEquals("New", received.get(3).getNewValue());
+		assertNull(received.get(5).getOldValue());
+		assertEquals("Owner", received.get(5).getNewValue());
+		assertEquals(Resolution.FIXED, received.get(8).getNewValue());
+		try {
+			new BugList(null);
+			fail("BugList() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
 	/**
 	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugList.deleteBugById
 	 */
@@ -123,6 +748,103 @@ public class BugListTest {
 		assertEquals(5, bugList.getBugs().size());
 		bugList.deleteBugById(4);
 		assertEquals(4, bugList.getBugs().size());
+		assertNull(bugList.getBugById(4));
+		bugList.deleteBugById(4);
+		assertEquals(4, bugList.getBugs().size());
+		assertEquals(3, bugList.getBugById(3).getBugId());
+	}
+
+	/**
+	 * Test that BugList stays consistent while several threads add, change,
+	 * delete and read bugs at the same time
+	 * @throws InterruptedException if the test is interrupted
+	 */
+	@Test
+	public final void testConcurrentUse() throws InterruptedException {
+		final int writers = 4;
+		final int bugsPerWriter = 200;
+		final Command confirm = new Command(CommandValue.CONFIRM, null, null, null);
+		final Command vote = new Command(CommandValue.VOTE, null, null, null);
+		final Command possession = new Command(CommandValue.POSSESSION, "Developer", null, null);
+		final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		final AtomicBoolean done = new AtomicBoolean();
+		Thread[] threads = new Thread[writers + 1];
+		for (int t = 0; t < writers; t++) {
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						for (int i = 0; i < bugsPerWriter; i++) {
+							int id = bugList.addBug("Concurrent summary", "Writer");
+							bugList.executeCommand(id, vote);
+							if (i % 2 == 0) {
+								bugList.executeCommands(new CommandBatch().add(id, confirm).add(id, possession));
+							}
+							if (i % 5 == 0) {
+								bugList.deleteBugById(id);
+							}
+						}
+					} catch (Throwable e) {
+						error.compareAndSet(null, e);
+					}
+				}
+			};
+		}
+		threads[writers] = new Thread() {
+			@Override
+			public void run() {
+				try {
+					BugQuery q = new BugQuery().withState(TrackedBug.ASSIGNED_NAME);
+					while (!done.get() && error.get() == null) {
+						for (TrackedBug b : bugList.getPage(q, 0, 20)) {
+							assertNotNull(b);
+						}
+						Iterator<TrackedBug> it = bugList.query(new BugQuery().withOwner("Developer"));
+						while (it.hasNext()) {
+							assertNotNull(it.next());
+						}
+						bugList.getMostVotedBugs(10, null);
+						bugList.count(q);
+					}
+				} catch (Throwable e) {
+					error.compareAndSet(null, e);
+				}
+			}
+		};
+		for (Thread t : threads) {
+			t.start();
+		}
+		for (int t = 0; t < writers; t++) {
+			threads[t].join();
+		}
+		done.set(true);
+		threads[writers].join();
+		if (error.get() != null) {
+			throw new AssertionError(error.get());
+		}
+
+		int kept = writers * (bugsPerWriter - bugsPerWriter / 5);
+		assertEquals(5 + kept, bugList.size());
+		assertEquals(5 + kept, bugList.getBugs().size());
+		int total = 0;
+		String[] states = {TrackedBug.UNCONFIRMED_NAME, TrackedBug.NEW_NAME, TrackedBug.ASSIGNED_NAME,
+				TrackedBug.RESOLVED_NAME, TrackedBug.REOPEN_NAME, TrackedBug.CLOSED_NAME};
+		for (String state : states) {
+			int count = bugList.getStateCount(state);
+			assertEquals(count, bugList.getBugsByState(state).size());
+			assertEquals(count, bugList.count(new BugQuery().withState(state)));
+			total += count;
+		}
+		assertEquals(bugList.size(), total);
+		//Every even bug was assigned and one in five of those was deleted
+		int assigned = writers * (bugsPerWriter / 2 - bugsPerWriter / 10);
+		assertEquals(assigned, bugList.getStateCount(TrackedBug.ASSIGNED_NAME));
+		assertEquals(assigned, bugList.getBugsByOwner("Developer").size());
+		for (TrackedBug b : bugList.getBugs()) {
+			if ("Writer".equals(b.getReporter())) {
+				assertEquals(2, b.getVotes());
+			}
+		}
 	}
 
 }
@@ -0,0 +1,164 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command;
+import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
+import edu.ncsu.csc216.bug_tracker.bug.NameTable;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Test class for BugOrder
+ * @author Josh Stetson
+ */
+public class BugOrderTest {
+
+	/** Bugs to sort */
+	private List<TrackedBug> bugs;
+	/** Table of the bugs' names */
+	private NameTable names;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.BugOrderTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		names = new NameTable();
+		bugs = new ArrayList<TrackedBug>();
+		bugs.add(new TrackedBug(0, "Crash", "Reporter", names));
+		bugs.add(new TrackedBug(1, "Bad font", "Reporter", names));
+		bugs.add(new TrackedBug(2, "Crash", "Reporter", names));
+		bugs.add(new TrackedBug(3, "Ant", "Reporter", names));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugOrder.BugOrder
+	 */
+	@Test
+	public final void testBugOrder() {
+		BugOrder order = new BugOrder(BugOrder.Key.SUMMARY, bugs);
+		assertEquals(BugOrder.Key.SUMMARY, order.getKey());
+		assertEquals(4, order.size());
+		assertEquals(3, order.get(0));
+		assertEquals(1, order.get(1));
+		//Equal values are in order of ID
+		assertEquals(0, order.get(2));
+		assertEquals(2, order.get(3));
+		assertEquals(2, order.indexOf(0));
+		assertEquals(-1, order.indexOf(9));
+		try {
+			order.get(4);
+			fail("get() should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// Test should catch the exception and pass here
+		}
+		try {
+			new BugOrder(null, bugs);
+			fail("BugOrder() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugOrder.add
+	 * and edu.ncsu.csc216.bug_tracker.tracker.BugOrder.remove
+	 */
+	@Test
+	public final void testAddAndRemove() {
+		BugOrder order = new BugOrder(BugOrder.Key.SUMMARY, new ArrayList<TrackedBug>());
+		for (int i = 0; i < 40; i++) {
+			assertEquals(i, order.add(new TrackedBug(i, "Summary", "Reporter", names)));
+		}
+		assertEquals(0, order.add(new TrackedBug(50, "Alpha", "Reporter", names)));
+		assertEquals(-1, order.add(new TrackedBug(50, "Alpha", "Reporter", names)));
+		assertEquals(41, order.add(new TrackedBug(51, "Zulu", "Reporter", names)));
+		assertEquals(42, order.size());
+		assertEquals(1, order.remove(0));
+		assertEquals(-1, order.remove(0));
+		assertEquals(41, order.size());
+		assertEquals(1, order.get(1));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugOrder.update
+	 */
+	@Test
+	public final void testUpdate() {
+		BugOrder order = new BugOrder(BugOrder.Key.STATE, bugs);
+		assertEquals(0, order.get(0));
+		assertFalse(order.update(bugs.get(0)));
+		bugs.get(2).update(new Command(CommandValue.CONFIRM, null, null, null));
+		assertTrue(order.update(bugs.get(2)));
+		//New comes before Unconfirmed
+		assertEquals(2, order.get(0));
+		assertEquals(0, order.indexOf(2));
+		assertEquals(3, order.indexOf(3));
+		assertFalse(order.update(new TrackedBug(9, "Summary", "Reporter", names)));
+	}
+
+	/**
+	 * Test that a list many blocks long stays in order through adds,
+	 * removes and moves
+	 */
+	@Test
+	public final void testManyBlocks() {
+		Random random = new Random(7);
+		List<TrackedBug> all = new ArrayList<TrackedBug>();
+		for (int i = 0; i < 3000; i++) {
+			all.add(new TrackedBug(i, "S" + random.nextInt(500), "Reporter", names));
+		}
+		BugOrder order = new BugOrder(BugOrder.Key.SUMMARY, all.subList(0, 1000));
+		List<TrackedBug> expected = new ArrayList<TrackedBug>(all.subList(0, 1000));
+		for (int i = 1000; i < 3000; i++) {
+			order.add(all.get(i));
+			expected.add(all.get(i));
+		}
+		assertOrder(expected, order);
+		for (int i = 0; i < 1500; i++) {
+			TrackedBug b = expected.remove(random.nextInt(expected.size()));
+			assertTrue(order.remove(b.getBugId()) >= 0);
+		}
+		assertOrder(expected, order);
+		for (int i = 0; i < 1500; i++) {
+			TrackedBug b = expected.remove(random.nextInt(expected.size()));
+			assertTrue(order.remove(b.getBugId()) >= 0);
+		}
+		assertEquals(0, order.size());
+		assertEquals(-1, order.indexOf(0));
+		assertEquals(0, order.add(all.get(0)));
+		assertEquals(0, order.get(0));
+	}
+
+	/**
+	 * Checks that an order holds exactly the expected bugs, sorted by
+	 * summary and then ID
+	 * @param expected bugs that should be in the order
+	 * @param order order to check
+	 */
+	private void assertOrder(List<TrackedBug> expected, BugOrder order) {
+		List<TrackedBug> sorted = new ArrayList<TrackedBug>(expected);
+		Collections.sort(sorted, new Comparator<TrackedBug>() {
+			public int compare(TrackedBug a, TrackedBug b) {
+				int c = a.getSummary().compareTo(b.getSummary());
+				return c != 0 ? c : Integer.compare(a.getBugId(), b.getBugId());
+			}
+		});
+		assertEquals(sorted.size(), order.size());
+		for (int i = 0; i < sorted.size(); i++) {
+			assertEquals(sorted.get(i).getBugId(), order.get(i));
+			assertEquals(i, order.indexOf(sorted.get(i).getBugId()));
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Test class for BugQuery
+ * @author Josh Stetson
+ */
+public class BugQueryTest {
+
+	/** BugQuery object */
+	private BugQuery query;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.BugQueryTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		query = new BugQuery();
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugQuery.BugQuery
+	 */
+	@Test
+	public final void testBugQuery() {
+		assertNull(query.getStates());
+		assertNull(query.getOwner());
+		assertNull(query.getReporter());
+		assertEquals(Integer.MIN_VALUE, query.getMinVotes());
+		assertEquals(Integer.MAX_VALUE, query.getMaxVotes());
+		assertNull(query.getConfirmed());
+		assertFalse(query.hasResolution());
+		assertNull(query.getText());
+	}
+
+	/**
+	 * Test method for the with methods of edu.ncsu.csc216.bug_tracker.tracker.BugQuery
+	 */
+	@Test
+	public final void testWith() {
+		assertSame(query, query.withState(TrackedBug.NEW_NAME).withOwner("Owner").withReporter("Reporter")
+				.withVotes(2, 4).withConfirmed(true).withResolution(null).withText("crash"));
+		assertEquals(1, query.getStates().size());
+		assertTrue(query.getStates().contains("New"));
+		assertEquals("Owner", query.getOwner());
+		assertEquals("Reporter", query.getReporter());
+		assertEquals(2, query.getMinVotes());
+		assertEquals(4, query.getMaxVotes());
+		assertEquals(Boolean.TRUE, query.getConfirmed());
+		assertTrue(query.hasResolution());
+		assertNull(query.getResolution());
+		assertEquals("crash", query.getText());
+		query.withResolution(Resolution.FIXED);
+		assertEquals(Resolution.FIXED, query.getResolution());
+		try {
+			query.withVotes(5, 4);
+			fail("withVotes() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals(2, query.getMinVotes());
+		}
+		query.withState(TrackedBug.NEW_NAME, TrackedBug.REOPEN_NAME);
+		assertEquals(2, query.getStates().size());
+		try {
+			query.withState();
+			fail("withState() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals(2, query.getStates().size());
+		}
+		try {
+			query.withOwner(null);
+			fail("withOwner() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Owner", query.getOwner());
+		}
+	}
+
+}
@@ -0,0 +1,129 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import java.util.Iterator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.NameTable;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Test class for BugStore
+ * @author Josh Stetson
+ */
+public class BugStoreTest {
+
+	/** BugStore object */
+	private BugStore store;
+	/** Table of the bugs' names */
+	private NameTable names;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.BugStoreTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		names = new NameTable();
+		store = new BugStore();
+		for (int i = 0; i < 200; i++) {
+			store.add(new TrackedBug(i, "Summary " + i, "Reporter", names));
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugStore.add
+	 */
+	@Test
+	public final void testAdd() {
+		assertEquals(200, store.size());
+		assertEquals("Summary 150", store.get(150).getSummary());
+		try {
+			store.add(new TrackedBug(3, "Duplicate", "Reporter", names));
+			fail("add() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+		assertEquals(200, store.size());
+		assertEquals("Summary 3", store.get(3).getSummary());
+		//An ID can be used again once its bug is deleted
+		store.remove(3);
+		assertTrue(store.add(new TrackedBug(3, "Again", "Reporter", names)));
+		assertEquals("Again", store.get(3).getSummary());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugStore.remove
+	 */
+	@Test
+	public final void testRemove() {
+		assertEquals("Summary 10", store.remove(10).getSummary());
+		assertNull(store.remove(10));
+		assertNull(store.get(10));
+		assertEquals(199, store.size());
+		assertEquals(1, store.getTombstoneCount());
+		Iterator<TrackedBug> it = store.iterator();
+		for (int i = 0; i < 200; i++) {
+			if (i != 10) {
+				assertEquals(i, it.next().getBugId());
+			}
+		}
+		assertFalse(it.hasNext());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugStore.compact
+	 */
+	@Test
+	public final void testCompact() {
+		for (int i = 0; i < 200; i += 2) {
+			store.remove(i);
+		}
+		assertEquals(100, store.getTombstoneCount());
+		//Crossing the threshold compacts the store
+		store.remove(1);
+		assertEquals(0, store.getTombstoneCount());
+		assertEquals(99, store.size());
+		assertEquals("Summary 199", store.get(199).getSummary());
+		
+		store.remove(3);
+		store.compact();
+		assertEquals(0, store.getTombstoneCount());
+		assertEquals(98, store.size());
+		Iterator<TrackedBug> it = store.iterator();
+		assertEquals(5, it.next().getBugId());
+		assertEquals(7, it.next().getBugId());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugStore.iterator
+	 */
+	@Test
+	public final void testIterator() {
+		Iterator<TrackedBug> it = store.iterator();
+		assertEquals(0, it.next().getBugId());
+		//Readers keep their place while the store is compacted under them
+		for (int i = 0; i < 150; i++) {
+			store.remove(i);
+		}
+		store.add(new TrackedBug(200, "Added later", "Reporter", names));
+		int last = 0;
+		while (it.hasNext()) {
+			last = it.next().getBugId();
+		}
+		//Bugs that were never deleted are all still seen, bugs added later are not
+		assertEquals(199, last);
+		it = store.iterator();
+		assertEquals(150, it.next().getBugId());
+		try {
+			it.remove();
+			fail("remove() should throw an exception");
+		} catch (UnsupportedOperationException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+}
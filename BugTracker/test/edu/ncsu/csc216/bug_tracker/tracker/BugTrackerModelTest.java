@@ -2,6 +2,10 @@ package edu.ncsu.csc216.bug_tracker.tracker;
 
 import static org.junit.Assert.*;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -24,8 +28,8 @@ public class BugTrackerModelTest {
 	 */
 	@Before
 	public void setUp() throws Exception {
-		TrackedBug.setCounter(0);
 		model = BugTrackerModel.getInstance();
+		model.createNewBugList();
 		model.addBugToList("Summary", "Reporter");
 		model.addBugToList("Summary2", "Reporter2");
 	}
@@ -80,6 +84,42 @@ public class BugTrackerModelTest {
 		model.createNewBugList();
 	}
 
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel.getEvents
+	 * @throws Exception if the test is interrupted
+	 */
+	@Test
+	public final void testGetEvents() throws Exception {
+		model = new BugTrackerModel();
+		final CountDownLatch done = new CountDownLatch(3);
+		final BugEvent.Type[] types = new BugEvent.Type[3];
+		model.getEvents().subscribe(new Flow.Subscriber<BugEvent>() {
+			public void onSubscribe(Flow.Subscription s) {
+				s.request(Long.MAX_VALUE);
+			}
+
+			public void onNext(BugEvent item) {
+				types[3 - (int) done.getCount()] = item.getType();
+				done.countDown();
+			}
+
+			public void onError(Throwable t) {
+				// Not expected
+			}
+
+			public void onComplete() {
+				// Not expected
+			}
+		});
+		model.addBugToList("Summary", "Reporter");
+		model.createNewBugList();
+		model.addBugToList("Summary", "Reporter");
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(BugEvent.Type.CREATED, types[0]);
+		assertEquals(BugEvent.Type.CLEARED, types[1]);
+		assertEquals(BugEvent.Type.CREATED, types[2]);
+	}
+
 	/**
 	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel.getBugListAsArray
 	 */
@@ -91,6 +131,18 @@ public class BugTrackerModelTest {
 
 	}
 
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel.getSnapshot
+	 */
+	@Test
+	public final void testGetSnapshot() {
+		BugListSnapshot snapshot = model.getSnapshot();
+		model.deleteBugById(0);
+		assertEquals(2, snapshot.size());
+		assertEquals("Summary", snapshot.getBugById(0).getSummary());
+		assertEquals(1, model.getSnapshot().size());
+	}
+
 	/**
 	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel.getBugListByOwnerAsArray
 	 */
@@ -98,6 +150,33 @@ public class BugTrackerModelTest {
 	public final void testGetBugListByOwnerAsArray() {
 		Object[][] byOwner = model.getBugListByOwnerAsArray("me");
 		assertEquals(0, byOwner.length);
+		model.executeCommand(1, new Command(CommandValue.CONFIRM, null, null, null));
+		model.executeCommand(1, new Command(CommandValue.POSSESSION, "me", null, null));
+		byOwner = model.getBugListByOwnerAsArray("me");
+		assertEquals(1, byOwner.length);
+		assertEquals(1, byOwner[0][0]);
+		assertEquals("Assigned", byOwner[0][1]);
+		assertEquals("Summary2", byOwner[0][2]);
+		model.createNewBugList();
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel.getBugListBySearchAsArray
+	 */
+	@Test
+	public final void testGetBugListBySearchAsArray() {
+		model.createNewBugList();
+		model.addBugToList("Crash on save", "Reporter");
+		model.addBugToList("Typo in menu", "Reporter");
+		Object[][] results = model.getBugListBySearchAsArray("menu typo");
+		assertEquals(1, results.length);
+		assertEquals(1, results[0][0]);
+		assertEquals(1, model.searchBugs("crash", 5).size());
+		for (int i = 0; i < BugTrackerModel.SEARCH_PAGE_SIZE; i++) {
+			model.addBugToList("Crash " + i, "Reporter");
+		}
+		assertEquals(BugTrackerModel.SEARCH_PAGE_SIZE, model.getBugListBySearchAsArray("crash").length);
+		model.createNewBugList();
 	}
 
 	/**
@@ -116,6 +195,49 @@ public class BugTrackerModelTest {
 		Command c = new Command(CommandValue.VOTE, null, null, null);
 		model.executeCommand(0, c);
 		assertEquals(2, model.getBugById(0).getVotes());
+		int version = model.getBugById(0).getVersion();
+		assertFalse(model.executeCommand(0, version - 1, c));
+		assertTrue(model.executeCommand(0, version, c));
+		assertEquals(3, model.getBugById(0).getVotes());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel.executeCommandAsync
+	 * @throws Exception if the command fails
+	 */
+	@Test
+	public final void testExecuteCommandAsync() throws Exception {
+		model.executeCommandAsync(0, new Command(CommandValue.CONFIRM, null, null, null));
+		model.executeCommandAsync(0, new Command(CommandValue.POSSESSION, "me", null, null)).get(10, TimeUnit.SECONDS);
+		assertEquals("Assigned", model.getBugById(0).getState().getStateName());
+		assertEquals("me", model.getBugById(0).getOwner());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel.getBugPageAsArray
+	 */
+	@Test
+	public final void testGetBugPageAsArray() {
+		Object[][] page = model.getBugPageAsArray(null, 1, 1);
+		assertEquals(1, page.length);
+		assertEquals(1, page[0][0]);
+		page = model.getBugPageAfterAsArray(new BugQuery().withReporter("Reporter2"), -1, 30);
+		assertEquals(1, page[0][0]);
+		assertEquals("Summary2", page[0][2]);
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerModel.executeCommands
+	 */
+	@Test
+	public final void testExecuteCommands() {
+		Command c = new Command(CommandValue.VOTE, null, null, null);
+		int votes = model.getBugById(0).getVotes();
+		CommandBatch batch = new CommandBatch().add(0, c).add(-1, c);
+		model.executeCommands(batch);
+		assertEquals(CommandBatch.Outcome.APPLIED, batch.getOutcome(0));
+		assertEquals(CommandBatch.Outcome.NOT_FOUND, batch.getOutcome(1));
+		assertEquals(votes + 1, model.getBugById(0).getVotes());
 	}
 
 	/**
@@ -0,0 +1,143 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command;
+import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
+
+/**
+ * Test class for BugTrackerRegistry
+ * @author Josh Stetson
+ */
+public class BugTrackerRegistryTest {
+
+	/** BugTrackerRegistry object */
+	private BugTrackerRegistry registry;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerRegistryTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		registry = new BugTrackerRegistry();
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerRegistry.getModel
+	 */
+	@Test
+	public final void testGetModel() {
+		BugTrackerModel compiler = registry.getModel("Compiler");
+		BugTrackerModel editor = registry.getModel("Editor");
+		assertSame(compiler, registry.getModel("Compiler"));
+		assertNotSame(compiler, editor);
+		
+		//Each model has its own bugs and IDs
+		compiler.addBugToList("Summary", "Reporter");
+		compiler.addBugToList("Summary2", "Reporter");
+		editor.addBugToList("Summary3", "Reporter");
+		assertEquals(2, compiler.getBugListAsArray().length);
+		assertEquals(1, editor.getBugListAsArray().length);
+		assertEquals("Summary3", editor.getBugById(0).getSummary());
+		assertEquals("Summary", compiler.getBugById(0).getSummary());
+		try {
+			registry.getModel("");
+			fail("getModel() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals(2, registry.getNames().size());
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerRegistry.getModel
+	 * from many threads at once
+	 * @throws Exception
+	 */
+	@Test
+	public final void testGetModelConcurrent() throws Exception {
+		final AtomicReferenceArray<BugTrackerModel> found = new AtomicReferenceArray<BugTrackerModel>(8);
+		Thread[] threads = new Thread[found.length()];
+		for (int t = 0; t < threads.length; t++) {
+			final int index = t;
+			threads[t] = new Thread(new Runnable() {
+				public void run() {
+					found.set(index, registry.getModel("Shared"));
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (int t = 1; t < found.length(); t++) {
+			assertSame(found.get(0), found.get(t));
+		}
+	}
+
+	/**
+	 * Test that every model of a registry runs its asynchronous commands
+	 * on the registry's executor
+	 * @throws Exception if a command fails
+	 */
+	@Test
+	public final void testSharedExecutor() throws Exception {
+		final AtomicInteger tasks = new AtomicInteger();
+		registry = new BugTrackerRegistry(new Executor() {
+			public void execute(Runnable task) {
+				tasks.incrementAndGet();
+				task.run();
+			}
+		});
+		Command vote = new Command(CommandValue.VOTE, null, null, null);
+		BugTrackerModel one = registry.getModel("one");
+		BugTrackerModel two = registry.getModel("two");
+		one.addBugToList("Summary", "Reporter");
+		two.addBugToList("Summary", "Reporter");
+		one.executeCommandAsync(0, vote).get(10, TimeUnit.SECONDS);
+		two.executeCommandAsync(0, vote).get(10, TimeUnit.SECONDS);
+		assertEquals(2, tasks.get());
+		assertEquals(2, one.getBugById(0).getVotes());
+		assertEquals(2, two.getBugById(0).getVotes());
+		try {
+			new BugTrackerRegistry(null);
+			fail("BugTrackerRegistry() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerRegistry.removeModel
+	 */
+	@Test
+	public final void testRemoveModel() {
+		BugTrackerModel compiler = registry.getModel("Compiler");
+		registry.getModel("Editor");
+		assertTrue(registry.hasModel("Compiler"));
+		assertSame(compiler, registry.removeModel("Compiler"));
+		assertFalse(registry.hasModel("Compiler"));
+		assertNull(registry.removeModel("Compiler"));
+		assertEquals(1, registry.getNames().size());
+		assertNotSame(compiler, registry.getModel("Compiler"));
+		assertEquals("Compiler", registry.getNames().iterator().next());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.BugTrackerRegistry.getDefault
+	 */
+	@Test
+	public final void testGetDefault() {
+		assertSame(BugTrackerModel.getInstance(),
+				BugTrackerRegistry.getDefault().getModel(BugTrackerRegistry.DEFAULT_NAME));
+	}
+
+}
@@ -0,0 +1,63 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command;
+import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
+
+/**
+ * Test class for CommandBatch
+ * @author Josh Stetson
+ */
+public class CommandBatchTest {
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CommandBatch.add
+	 */
+	@Test
+	public final void testAdd() {
+		Command c = new Command(CommandValue.VOTE, null, null, null);
+		CommandBatch batch = new CommandBatch();
+		for (int i = 0; i < 20; i++) {
+			assertSame(batch, batch.add(i * 2, c));
+		}
+		assertEquals(20, batch.size());
+		assertEquals(38, batch.getBugId(19));
+		assertEquals(CommandBatch.ANY_VERSION, batch.getExpectedVersion(19));
+		assertEquals(4, batch.add(40, 4, c).getExpectedVersion(20));
+		assertEquals(40, batch.getBugId(20));
+		assertSame(c, batch.getCommand(19));
+		assertNull(batch.getOutcome(19));
+		assertEquals(0, batch.getCount(CommandBatch.Outcome.APPLIED));
+		try {
+			batch.add(0, null);
+			fail("add() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals(21, batch.size());
+		}
+		try {
+			batch.getBugId(21);
+			fail("getBugId() should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CommandBatch.getCount
+	 */
+	@Test
+	public final void testGetCount() {
+		Command c = new Command(CommandValue.VOTE, null, null, null);
+		CommandBatch batch = new CommandBatch().add(0, c).add(1, c).add(2, c);
+		batch.setOutcome(0, CommandBatch.Outcome.APPLIED);
+		batch.setOutcome(1, CommandBatch.Outcome.NOT_FOUND);
+		batch.setOutcome(2, CommandBatch.Outcome.APPLIED);
+		assertEquals(2, batch.getCount(CommandBatch.Outcome.APPLIED));
+		assertEquals(1, batch.getCount(CommandBatch.Outcome.NOT_FOUND));
+		assertEquals(0, batch.getCount(CommandBatch.Outcome.INVALID_COMMAND));
+	}
+
+}
@@ -0,0 +1,231 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command;
+import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
+import edu.ncsu.csc216.bug_tracker.bug.Command.Resolution;
+
+/**
+ * Test class for CommandPipeline
+ * @author Josh Stetson
+ */
+public class CommandPipelineTest {
+
+	/** Runs the pipeline's tasks */
+	private ExecutorService executor;
+	/** CommandPipeline object */
+	private CommandPipeline pipeline;
+	/** BugList the commands are sent to */
+	private BugList bugList;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.CommandPipelineTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		executor = Executors.newFixedThreadPool(4);
+		pipeline = new CommandPipeline(executor);
+		bugList = new BugList();
+	}
+
+	/**
+	 * Teardown method for edu.ncsu.csc216.bug_tracker.tracker.CommandPipelineTest
+	 * @throws Exception
+	 */
+	@After
+	public void tearDown() throws Exception {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CommandPipeline.CommandPipeline
+	 */
+	@Test
+	public final void testCommandPipeline() {
+		try {
+			new CommandPipeline(null);
+			fail("CommandPipeline() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals(0, pipeline.getQueueCount());
+		}
+		assertNotNull(CommandPipeline.defaultExecutor());
+	}
+
+	/**
+	 * Test that commands still run when the executor rejects the tasks
+	 * that work through the queues
+	 * @throws Exception if a command fails
+	 */
+	@Test
+	public final void testSubmitRejected() throws Exception {
+		bugList.addBug("Summary", "Reporter");
+		bugList.addBug("Summary", "Reporter");
+		//An executor that takes no tasks leaves the command to the caller
+		CommandPipeline rejecting = new CommandPipeline(new Executor() {
+			public void execute(Runnable r) {
+				throw new RejectedExecutionException();
+			}
+		});
+		CompletableFuture<Void> confirmed = rejecting.submit(bugList, 0, new Command(CommandValue.CONFIRM, null, null, null));
+		assertTrue(confirmed.isDone());
+		confirmed.get();
+		assertEquals("New", bugList.getBugById(0).getState().getStateName());
+		assertEquals(0, rejecting.getQueueCount());
+		
+		//An executor that takes the first task but not the one after a
+		//run leaves the rest of the queue to that first task
+		final List<Runnable> accepted = new ArrayList<Runnable>();
+		CommandPipeline once = new CommandPipeline(new Executor() {
+			public void execute(Runnable r) {
+				if (!accepted.isEmpty()) {
+					throw new RejectedExecutionException();
+				}
+				accepted.add(r);
+			}
+		});
+		List<CompletableFuture<Void>> futures = new ArrayList<CompletableFuture<Void>>();
+		for (int i = 0; i < 200; i++) {
+			futures.add(once.submit(bugList, 1, new Command(CommandValue.VOTE, null, null, null)));
+		}
+		assertEquals(1, accepted.size());
+		accepted.get(0).run();
+		for (CompletableFuture<Void> future : futures) {
+			assertTrue(future.isDone());
+		}
+		assertEquals(0, once.getQueueCount());
+		//Two votes confirm the bug, so every later vote was run and refused
+		assertEquals(3, bugList.getBugById(1).getVotes());
+		assertTrue(futures.get(199).isCompletedExceptionally());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CommandPipeline.submit
+	 * @throws Exception if a command fails
+	 */
+	@Test
+	public final void testSubmitInOrder() throws Exception {
+		int count = 500;
+		for (int i = 0; i < count; i++) {
+			bugList.addBug("Summary", "Reporter");
+		}
+		//Each command only works in the state the one before it leaves the bug in
+		Command[] steps = {new Command(CommandValue.CONFIRM, null, null, null),
+				new Command(CommandValue.POSSESSION, "Developer", null, null),
+				new Command(CommandValue.RESOLVED, null, Resolution.FIXED, null),
+				new Command(CommandValue.VERIFIED, null, null, null)};
+		List<CompletableFuture<Void>> futures = new ArrayList<CompletableFuture<Void>>();
+		for (Command step : steps) {
+			for (int i = 0; i < count; i++) {
+				futures.add(pipeline.submit(bugList, i, step));
+			}
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).get(10, TimeUnit.SECONDS);
+		assertEquals(count, bugList.getStateCount("Closed"));
+	}
+
+	/**
+	 * Test that a command that cannot be applied completes its future
+	 * with the exception and does not stop later commands
+	 * @throws Exception if the test is interrupted
+	 */
+	@Test
+	public final void testSubmitFailure() throws Exception {
+		bugList.addBug("Summary", "Reporter");
+		Command possession = new Command(CommandValue.POSSESSION, "Developer", null, null);
+		CompletableFuture<Void> failed = pipeline.submit(bugList, 0, possession);
+		CompletableFuture<Void> confirmed = pipeline.submit(bugList, 0, new Command(CommandValue.CONFIRM, null, null, null));
+		CompletableFuture<Void> assigned = pipeline.submit(bugList, 0, possession);
+		try {
+			failed.get(10, TimeUnit.SECONDS);
+			fail("get() should throw an exception");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof UnsupportedOperationException);
+		}
+		confirmed.get(10, TimeUnit.SECONDS);
+		assigned.get(10, TimeUnit.SECONDS);
+		assertEquals("Assigned", bugList.getBugById(0).getState().getStateName());
+		try {
+			pipeline.submit(bugList, 0, null);
+			fail("submit() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals("Developer", bugList.getBugById(0).getOwner());
+		}
+	}
+
+	/**
+	 * Test that an error thrown by a command completes its future and
+	 * does not strand the commands after it
+	 * @throws Exception if the test is interrupted
+	 */
+	@Test
+	public final void testSubmitError() throws Exception {
+		BugList failing = new BugList() {
+			@Override
+			public void executeCommand(int bugId, Command c) {
+				if (c.getCommand() == CommandValue.VOTE) {
+					throw new AssertionError("Vote failed");
+				}
+				super.executeCommand(bugId, c);
+			}
+		};
+		failing.addBug("Summary", "Reporter");
+		CompletableFuture<Void> voted = pipeline.submit(failing, 0, new Command(CommandValue.VOTE, null, null, null));
+		CompletableFuture<Void> confirmed = pipeline.submit(failing, 0, new Command(CommandValue.CONFIRM, null, null, null));
+		try {
+			voted.get(10, TimeUnit.SECONDS);
+			fail("get() should throw an exception");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof AssertionError);
+		}
+		confirmed.get(10, TimeUnit.SECONDS);
+		assertTrue(failing.getBugById(0).isConfirmed());
+	}
+
+	/**
+	 * Test that bugs with the same ID in different lists get their own
+	 * queues
+	 * @throws Exception if a command fails
+	 */
+	@Test
+	public final void testSubmitTwoLists() throws Exception {
+		BugList other = new BugList();
+		bugList.addBug("Summary", "Reporter");
+		other.addBug("Summary", "Reporter");
+		final List<Runnable> accepted = new ArrayList<Runnable>();
+		CommandPipeline held = new CommandPipeline(new Executor() {
+			public void execute(Runnable r) {
+				accepted.add(r);
+			}
+		});
+		CompletableFuture<Void> first = held.submit(bugList, 0, new Command(CommandValue.CONFIRM, null, null, null));
+		CompletableFuture<Void> second = held.submit(other, 0, new Command(CommandValue.CONFIRM, null, null, null));
+		assertEquals(2, held.getQueueCount());
+		assertEquals(2, accepted.size());
+		for (Runnable r : accepted) {
+			r.run();
+		}
+		first.get();
+		second.get();
+		assertTrue(bugList.getBugById(0).isConfirmed());
+		assertTrue(other.getBugById(0).isConfirmed());
+		assertEquals(0, held.getQueueCount());
+	}
+
+}
@@ -0,0 +1,248 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import java.util.BitSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for CompressedBitmap
+ * @author Josh Stetson
+ */
+public class CompressedBitmapTest {
+
+	/** Sparse CompressedBitmap object */
+	private CompressedBitmap sparse;
+	/** Dense CompressedBitmap object */
+	private CompressedBitmap dense;
+	/** Values expected in sparse */
+	private BitSet sparseBits;
+	/** Values expected in dense */
+	private BitSet denseBits;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmapTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		Random random = new Random(216);
+		sparse = new CompressedBitmap();
+		dense = new CompressedBitmap();
+		sparseBits = new BitSet();
+		denseBits = new BitSet();
+		for (int i = 0; i < 3000; i++) {
+			int value = random.nextInt(300000);
+			sparse.add(value);
+			sparseBits.set(value);
+		}
+		for (int i = 0; i < 200000; i++) {
+			if (random.nextInt(3) > 0) {
+				dense.add(i);
+				denseBits.set(i);
+			}
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmap.add
+	 */
+	@Test
+	public final void testAdd() {
+		assertEquals(sparseBits.cardinality(), sparse.cardinality());
+		assertEquals(denseBits.cardinality(), dense.cardinality());
+		for (int i = 0; i < 300000; i++) {
+			assertEquals(sparseBits.get(i), sparse.contains(i));
+			assertEquals(denseBits.get(i), dense.contains(i));
+		}
+		int first = sparseBits.nextSetBit(0);
+		assertFalse(sparse.add(first));
+		assertTrue(sparse.add(-1));
+		assertTrue(sparse.contains(-1));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmap.remove
+	 */
+	@Test
+	public final void testRemove() {
+		for (int i = 0; i < 200000; i += 2) {
+			assertEquals(denseBits.get(i), dense.remove(i));
+			denseBits.clear(i);
+		}
+		for (int i = 0; i < 200000; i += 3) {
+			assertEquals(denseBits.get(i), dense.remove(i));
+			denseBits.clear(i);
+		}
+		assertEquals(denseBits.cardinality(), dense.cardinality());
+		for (int i = 0; i < 200000; i++) {
+			assertEquals(denseBits.get(i), dense.contains(i));
+		}
+		for (int i = sparseBits.nextSetBit(0); i >= 0; i = sparseBits.nextSetBit(i + 1)) {
+			assertTrue(sparse.remove(i));
+		}
+		assertEquals(0, sparse.cardinality());
+		assertFalse(sparse.iterator().hasNext());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmap.and
+	 */
+	@Test
+	public final void testAnd() {
+		BitSet expected = (BitSet) sparseBits.clone();
+		expected.and(denseBits);
+		assertMatches(expected, sparse.and(dense));
+		assertMatches(expected, dense.and(sparse));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmap.or
+	 */
+	@Test
+	public final void testOr() {
+		BitSet expected = (BitSet) sparseBits.clone();
+		expected.or(denseBits);
+		assertMatches(expected, sparse.or(dense));
+		assertMatches(expected, dense.or(sparse));
+		assertMatches(sparseBits, sparse);
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmap.andNot
+	 */
+	@Test
+	public final void testAndNot() {
+		BitSet expected = (BitSet) denseBits.clone();
+		expected.andNot(sparseBits);
+		assertMatches(expected, dense.andNot(sparse));
+		expected = (BitSet) sparseBits.clone();
+		expected.andNot(denseBits);
+		assertMatches(expected, sparse.andNot(dense));
+	}
+
+	/**
+	 * Test that sets whose chunks are all arrays combine correctly,
+	 * including a union too large to stay an array, and that the results
+	 * can still be changed
+	 */
+	@Test
+	public final void testSparseSets() {
+		Random random = new Random(316);
+		CompressedBitmap other = new CompressedBitmap();
+		BitSet otherBits = new BitSet();
+		for (int i = 0; i < 3000; i++) {
+			int value = random.nextInt(300000);
+			other.add(value);
+			otherBits.set(value);
+		}
+		//Put the values of both sets in the first chunk to overflow an array
+		for (int i = 0; i < 3000; i++) {
+			int value = random.nextInt(65536);
+			sparse.add(value);
+			sparseBits.set(value);
+			value = random.nextInt(65536);
+			other.add(value);
+			otherBits.set(value);
+		}
+		BitSet expected = (BitSet) sparseBits.clone();
+		expected.and(otherBits);
+		assertMatches(expected, sparse.and(other));
+		expected = (BitSet) sparseBits.clone();
+		expected.or(otherBits);
+		CompressedBitmap union = sparse.or(other);
+		assertMatches(expected, union);
+		expected = (BitSet) sparseBits.clone();
+		expected.andNot(otherBits);
+		CompressedBitmap difference = sparse.andNot(other);
+		assertMatches(expected, difference);
+		for (int i = 0; i < 300000; i += 1000) {
+			difference.add(i);
+			expected.set(i);
+			union.remove(i);
+		}
+		assertMatches(expected, difference);
+		assertFalse(union.contains(0));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmap.iterator
+	 */
+	@Test
+	public final void testIterator() {
+		assertMatches(sparseBits, sparse);
+		assertMatches(denseBits, dense);
+	}
+
+	/**
+	 * Checks that a bitmap holds exactly the values of a BitSet, in order
+	 * @param expected values expected
+	 * @param actual bitmap to check
+	 */
+	private void assertMatches(BitSet expected, CompressedBitmap actual) {
+		assertEquals(expected.cardinality(), actual.cardinality());
+		PrimitiveIterator.OfInt it = actual.iterator();
+		for (int i = expected.nextSetBit(0); i >= 0; i = expected.nextSetBit(i + 1)) {
+			assertTrue(it.hasNext());
+			assertEquals(i, it.nextInt());
+		}
+		assertFalse(it.hasNext());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmap.select
+	 */
+	@Test
+	public final void testSelect() {
+		int rank = 0;
+		for (int i = denseBits.nextSetBit(0); i >= 0; i = denseBits.nextSetBit(i + 1)) {
+			if (rank % 97 == 0) {
+				assertEquals(i, dense.select(rank));
+			}
+			rank++;
+		}
+		rank = 0;
+		for (int i = sparseBits.nextSetBit(0); i >= 0; i = sparseBits.nextSetBit(i + 1)) {
+			assertEquals(i, sparse.select(rank));
+			rank++;
+		}
+		try {
+			sparse.select(rank);
+			fail("select() should throw an exception");
+		} catch (IndexOutOfBoundsException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.CompressedBitmap.iterator(int)
+	 */
+	@Test
+	public final void testIteratorFrom() {
+		for (int from = 0; from < 310000; from += 4999) {
+			PrimitiveIterator.OfInt it = dense.iterator(from);
+			int expected = denseBits.nextSetBit(from);
+			for (int k = 0; k < 100 && expected >= 0; k++) {
+				assertEquals(expected, it.nextInt());
+				expected = denseBits.nextSetBit(expected + 1);
+			}
+			it = sparse.iterator(from);
+			expected = sparseBits.nextSetBit(from);
+			for (int k = 0; k < 100 && expected >= 0; k++) {
+				assertEquals(expected, it.nextInt());
+				expected = sparseBits.nextSetBit(expected + 1);
+			}
+			if (expected < 0) {
+				assertFalse(it.hasNext());
+			}
+		}
+		PrimitiveIterator.OfInt it = dense.iterator(dense.select(500));
+		assertEquals(dense.select(500), it.nextInt());
+		assertEquals(dense.select(501), it.nextInt());
+	}
+
+}
@@ -0,0 +1,93 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for IntIntMap
+ * @author Josh Stetson
+ */
+public class IntIntMapTest {
+
+	/** IntIntMap object */
+	private IntIntMap map;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.IntIntMapTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		map = new IntIntMap();
+		map.put(0, 10);
+		map.put(1, 0);
+		map.put(-5, 50);
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.IntIntMap.get
+	 */
+	@Test
+	public final void testGet() {
+		assertEquals(10, map.get(0));
+		assertEquals(0, map.get(1));
+		assertEquals(50, map.get(-5));
+		assertEquals(IntIntMap.NO_VALUE, map.get(2));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.IntIntMap.put
+	 */
+	@Test
+	public final void testPut() {
+		assertEquals(0, map.put(1, 11));
+		assertEquals(11, map.get(1));
+		assertEquals(3, map.size());
+		for (int i = 2; i < 10000; i++) {
+			assertEquals(IntIntMap.NO_VALUE, map.put(i, i * 2));
+		}
+		assertEquals(10001, map.size());
+		for (int i = 2; i < 10000; i++) {
+			assertEquals(i * 2, map.get(i));
+		}
+		try {
+			map.put(3, -1);
+			fail("put() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			assertEquals(6, map.get(3));
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.IntIntMap.remove
+	 */
+	@Test
+	public final void testRemove() {
+		for (int i = 2; i < 1000; i++) {
+			map.put(i, i);
+		}
+		for (int i = 0; i < 1000; i += 2) {
+			assertEquals(i == 0 ? 10 : i, map.remove(i));
+		}
+		assertEquals(IntIntMap.NO_VALUE, map.remove(0));
+		assertEquals(501, map.size());
+		for (int i = 1; i < 1000; i += 2) {
+			assertTrue(map.containsKey(i));
+			assertFalse(map.containsKey(i - 1));
+		}
+		assertEquals(50, map.get(-5));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.IntIntMap.clear
+	 */
+	@Test
+	public final void testClear() {
+		map.clear();
+		assertEquals(0, map.size());
+		assertEquals(IntIntMap.NO_VALUE, map.get(0));
+	}
+
+}
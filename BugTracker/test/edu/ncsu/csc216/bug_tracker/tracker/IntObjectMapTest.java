@@ -0,0 +1,93 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for IntObjectMap
+ * @author Josh Stetson
+ */
+public class IntObjectMapTest {
+
+	/** IntObjectMap object */
+	private IntObjectMap<String> map;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.IntObjectMapTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		map = new IntObjectMap<String>();
+		map.put(0, "Zero");
+		map.put(1, "One");
+		map.put(-5, "Minus five");
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.IntObjectMap.get
+	 */
+	@Test
+	public final void testGet() {
+		assertEquals("Zero", map.get(0));
+		assertEquals("One", map.get(1));
+		assertEquals("Minus five", map.get(-5));
+		assertNull(map.get(2));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.IntObjectMap.put
+	 */
+	@Test
+	public final void testPut() {
+		assertEquals("One", map.put(1, "Uno"));
+		assertEquals("Uno", map.get(1));
+		assertEquals(3, map.size());
+		for (int i = 2; i < 10000; i++) {
+			assertNull(map.put(i, "Bug " + i));
+		}
+		assertEquals(10001, map.size());
+		for (int i = 2; i < 10000; i++) {
+			assertEquals("Bug " + i, map.get(i));
+		}
+		try {
+			map.put(3, null);
+			fail("put() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.IntObjectMap.remove
+	 */
+	@Test
+	public final void testRemove() {
+		for (int i = 2; i < 1000; i++) {
+			map.put(i, "Bug " + i);
+		}
+		for (int i = 0; i < 1000; i += 2) {
+			assertEquals(i == 0 ? "Zero" : "Bug " + i, map.remove(i));
+		}
+		assertNull(map.remove(0));
+		assertEquals(501, map.size());
+		for (int i = 1; i < 1000; i += 2) {
+			assertTrue(map.containsKey(i));
+			assertFalse(map.containsKey(i - 1));
+		}
+		assertEquals("Minus five", map.get(-5));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.IntObjectMap.clear
+	 */
+	@Test
+	public final void testClear() {
+		map.clear();
+		assertEquals(0, map.size());
+		assertNull(map.get(0));
+	}
+
+}
@@ -0,0 +1,58 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import java.util.Random;
+
+import edu.ncsu.csc216.bug_tracker.bug.NameTable;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Times searches of a TextIndex for a query of one word found in most
+ * bugs and one found in few, asking for one page of results and then
+ * for every match.  Run with the number of bugs as the only argument.
+ * @author Josh Stetson
+ */
+public class TextIndexBenchmark {
+
+	/** Number of times each search is timed */
+	private static final int ROUNDS = 50;
+	/** Words of the summaries, the first ones far more common than the rest */
+	private static final String[] WORDS = {"crash", "error", "save", "file", "menu", "font",
+		"toolbar", "printer", "locale", "unicode"};
+
+	/**
+	 * Builds a TextIndex of bugs with random summaries and times the searches
+	 * @param args number of bugs to create, 200000 if not given
+	 */
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+		TextIndex index = new TextIndex();
+		NameTable names = new NameTable();
+		Random random = new Random(216);
+		for (int i = 0; i < size; i++) {
+			StringBuilder summary = new StringBuilder();
+			for (int w = 0; w < 4; w++) {
+				//Squaring the draw makes the early words common and the late ones rare
+				double draw = random.nextDouble();
+				summary.append(WORDS[(int) (draw * draw * WORDS.length)]).append(' ');
+			}
+			index.addBug(new TrackedBug(i, summary.toString(), "Reporter", names));
+		}
+		String query = "crash unicode";
+		int pageCount = 0;
+		long pageTime = 0;
+		int allCount = 0;
+		long allTime = 0;
+		for (int round = 0; round < ROUNDS; round++) {
+			long start = System.nanoTime();
+			pageCount = index.search(query, BugTrackerModel.SEARCH_PAGE_SIZE).size();
+			pageTime += System.nanoTime() - start;
+			start = System.nanoTime();
+			allCount = index.search(query, size).size();
+			allTime += System.nanoTime() - start;
+		}
+		System.out.println(size + " bugs, \"" + query + "\": " + pageCount + " / " + allCount + " results");
+		System.out.println("one page:    " + pageTime / ROUNDS / 1000 + " us per search");
+		System.out.println("all matches: " + allTime / ROUNDS / 1000 + " us per search");
+	}
+
+}
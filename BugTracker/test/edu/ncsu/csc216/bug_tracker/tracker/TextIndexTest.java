@@ -0,0 +1,139 @@
+package edu.ncsu.csc216.bug_tracker.tracker;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.ncsu.csc216.bug_tracker.bug.Command;
+import edu.ncsu.csc216.bug_tracker.bug.Command.CommandValue;
+import edu.ncsu.csc216.bug_tracker.bug.NameTable;
+import edu.ncsu.csc216.bug_tracker.bug.TrackedBug;
+
+/**
+ * Test class for TextIndex
+ * @author Josh Stetson
+ */
+public class TextIndexTest {
+
+	/** TextIndex object */
+	private TextIndex index;
+	private TrackedBug crash;
+	private TrackedBug crashSave;
+	private TrackedBug typo;
+	/** Table of the bugs' names */
+	private NameTable names;
+
+	/**
+	 * Setup method for edu.ncsu.csc216.bug_tracker.tracker.TextIndexTest
+	 * @throws Exception
+	 */
+	@Before
+	public void setUp() throws Exception {
+		names = new NameTable();
+		crash = new TrackedBug(0, "Crash when opening a file", "Reporter", names);
+		crashSave = new TrackedBug(1, "Crash on save, crash on exit", "Reporter", names);
+		typo = new TrackedBug(2, "Typo in the File menu", "Reporter", names);
+		index = new TextIndex();
+		index.addBug(crash);
+		index.addBug(crashSave);
+		index.addBug(typo);
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.TextIndex.tokenize
+	 */
+	@Test
+	public final void testTokenize() {
+		List<String> words = TextIndex.tokenize("Crash on save, CRASH-on exit!");
+		assertEquals(6, words.size());
+		assertEquals("crash", words.get(0));
+		assertEquals("crash", words.get(3));
+		assertEquals("exit", words.get(5));
+		assertEquals(0, TextIndex.tokenize(null).size());
+		assertEquals(0, TextIndex.tokenize(" ,. ").size());
+		//Words are lower cased the same way whatever the default locale
+		Locale locale = Locale.getDefault();
+		try {
+			Locale.setDefault(new Locale("tr", "TR"));
+			assertEquals("title", TextIndex.tokenize("TITLE").get(0));
+		} finally {
+			Locale.setDefault(locale);
+		}
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.TextIndex.search
+	 */
+	@Test
+	public final void testSearch() {
+		List<TrackedBug> results = index.search("crash", 10);
+		assertEquals(2, results.size());
+		assertEquals(crashSave, results.get(0));
+		assertEquals(crash, results.get(1));
+		
+		//Rarer words rank higher than common words
+		results = index.search("file menu", 10);
+		assertEquals(2, results.size());
+		assertEquals(typo, results.get(0));
+		assertEquals(crash, results.get(1));
+		
+		assertEquals(1, index.search("FILE menu", 1).size());
+		assertEquals(0, index.search("nothing", 10).size());
+		assertEquals(0, index.search("crash", 0).size());
+		try {
+			index.search(null, 10);
+			fail("search() should throw an exception");
+		} catch (IllegalArgumentException e) {
+			// Test should catch the exception and pass here
+		}
+	}
+
+	/**
+	 * Test that a search stopping early on a rare word still finds the
+	 * best matches
+	 */
+	@Test
+	public final void testSearchRareWordFirst() {
+		for (int i = 3; i < 500; i++) {
+			index.addBug(new TrackedBug(i, "Common " + (i % 7 == 0 ? "rare" : "word"), "Reporter", names));
+		}
+		List<TrackedBug> results = index.search("common rare", 5);
+		assertEquals(5, results.size());
+		int[] expected = {7, 14, 21, 28, 35};
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], results.get(i).getBugId());
+		}
+		//Without the rare word every common bug scores the same, so ID decides
+		results = index.search("common", 2);
+		assertEquals(3, results.get(0).getBugId());
+		assertEquals(4, results.get(1).getBugId());
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.TextIndex.addNote
+	 */
+	@Test
+	public final void testAddNote() {
+		typo.update(new Command(CommandValue.VOTE, null, null, "Also a crash"));
+		index.addNote(typo, "Also a crash");
+		assertEquals(3, index.search("crash", 10).size());
+		assertEquals(typo, index.search("also", 10).get(0));
+	}
+
+	/**
+	 * Test method for edu.ncsu.csc216.bug_tracker.tracker.TextIndex.removeBug
+	 */
+	@Test
+	public final void testRemoveBug() {
+		index.removeBug(crashSave);
+		List<TrackedBug> results = index.search("crash", 10);
+		assertEquals(1, results.size());
+		assertEquals(crash, results.get(0));
+		assertEquals(0, index.search("exit", 10).size());
+	}
+
+}